@@ -0,0 +1,116 @@
+package com.resume.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 异步任务线程池配置（同时开启定时任务）
+ */
+@Configuration
+@EnableScheduling
+public class AsyncConfig {
+
+    /**
+     * 定时任务线程池（@Scheduled任务和OSS回收等共用）
+     * 声明其他TaskScheduler后Spring Boot不再自动配置，需显式提供
+     */
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${spring.task.scheduling.pool.size:2}") int threads) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(threads);
+        scheduler.setThreadNamePrefix("scheduling-");
+        return scheduler;
+    }
+
+    /**
+     * 简历自动保存定时写入线程池，与其他定时任务隔离，避免长时间的回收或补提任务推迟草稿写入
+     */
+    @Bean(name = "autosaveScheduler")
+    public ThreadPoolTaskScheduler autosaveScheduler(@Value("${resume.autosave.scheduler-threads:2}") int threads) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(threads);
+        scheduler.setThreadNamePrefix("autosave-");
+        // 关闭时由 ResumeDraftServiceImpl.flushAll 写入剩余草稿，不再等待已安排的定时任务
+        scheduler.setWaitForTasksToCompleteOnShutdown(false);
+        return scheduler;
+    }
+
+    /**
+     * 批量导出任务调度线程池（每个任务占用一个线程负责汇总写入ZIP）
+     */
+    @Bean(name = "exportJobExecutor")
+    public ThreadPoolTaskExecutor exportJobExecutor(@Value("${resume.export.max-concurrent-jobs:2}") int maxJobs) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxJobs);
+        executor.setMaxPoolSize(maxJobs);
+        executor.setQueueCapacity(20);
+        executor.setThreadNamePrefix("export-job-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    /**
+     * PDF渲染工作线程池（固定大小，所有导出任务共享）
+     */
+    @Bean(name = "exportWorkerExecutor")
+    public ThreadPoolTaskExecutor exportWorkerExecutor(@Value("${resume.export.worker-threads:4}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setThreadNamePrefix("export-worker-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    /**
+     * OSS物理文件清理线程池（删除操作在事务提交后异步执行）
+     */
+    @Bean(name = "ossCleanupExecutor")
+    public ThreadPoolTaskExecutor ossCleanupExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(10000);
+        executor.setThreadNamePrefix("oss-cleanup-");
+        // 队列满时由提交线程自行删除，保证文件不被遗漏
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    /**
+     * 简历分面统计全量构建线程池（按主键区间分批并行查询解析）
+     */
+    @Bean(name = "facetRebuildExecutor")
+    public ThreadPoolTaskExecutor facetRebuildExecutor(@Value("${resume.facet.rebuild-threads:4}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("facet-rebuild-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    /**
+     * 上传文件文本提取线程池（队列满时拒绝，由定时任务补提，不阻塞上传请求）
+     */
+    @Bean(name = "fileIngestExecutor")
+    public ThreadPoolTaskExecutor fileIngestExecutor(@Value("${file.ingest.threads:2}") int threads,
+                                                     @Value("${file.ingest.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("file-ingest-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
@@ -3,6 +3,7 @@ package com.resume.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.resume.vo.Result;
 import com.resume.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
@@ -43,8 +44,11 @@ public class JwtInterceptor implements HandlerInterceptor {
         if (token != null && token.startsWith("Bearer ")) {
             token = token.substring(7);
             try {
-                String username = jwtUtil.getUsernameFromToken(token);
-                String role = jwtUtil.getRoleFromToken(token);
+                // 只验签一次，Claims保存到请求属性中供后续使用
+                Claims claims = jwtUtil.getClaims(request, token);
+                String username = claims.getSubject();
+                Object roleClaim = claims.get("role");
+                String role = roleClaim != null ? roleClaim.toString() : null;
                 if (username != null && !username.isEmpty() && role != null) {
                     // 管理端接口必须admin角色
                     if (uri.startsWith("/api/admin") && !"admin".equals(role)) {
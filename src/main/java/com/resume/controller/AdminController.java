@@ -2,15 +2,17 @@ package com.resume.controller;
 
 import com.resume.dto.ChangePasswordDTO;
 import com.resume.dto.LoginDTO;
+import com.resume.dto.UserQueryDTO;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.resume.entity.AdminUser;
 import com.resume.entity.User;
-import com.resume.entity.Resume;
 import com.resume.service.AdminUserService;
 import com.resume.service.UserService;
-import com.resume.service.ResumeService;
+import com.resume.service.UserPrincipalService;
 import com.resume.util.JwtUtil;
 import com.resume.vo.Result;
+import com.resume.vo.UserSummaryVO;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -38,7 +40,7 @@ public class AdminController {
     private UserService userService;
 
     @Autowired
-    private ResumeService resumeService;
+    private UserPrincipalService userPrincipalService;
 
     /**
      * 管理员登录
@@ -87,18 +89,11 @@ public class AdminController {
     }
 
     /**
-     * 获取用户列表
+     * 分页获取用户列表（支持用户名前缀搜索、角色过滤、排序，可选统计简历数量）
      */
     @GetMapping("/user/list")
-    public Result<List<?>> getUserList() {
-        // 直接返回 user 表（因为 admin_user 表不存在）
-        try {
-            List<User> users = userService.list();
-            return Result.success(users);
-        } catch (Exception e) {
-            // 如果 user 表也有问题，返回空列表
-            return Result.success(new ArrayList<>());
-        }
+    public Result<IPage<UserSummaryVO>> getUserList(UserQueryDTO query) {
+        return Result.success(userService.getUserSummaryPage(query));
     }
 
     /**
@@ -123,6 +118,8 @@ public class AdminController {
             return Result.error("用户不存在");
         }
         
+        String oldUsername = u.getUsername();
+
         // 检查用户名是否已存在（如果要修改用户名）
         if (updateUser.getUsername() != null && !updateUser.getUsername().equals(u.getUsername())) {
             QueryWrapper<User> usernameQuery = new QueryWrapper<>();
@@ -141,7 +138,11 @@ public class AdminController {
         }
         
         boolean ok = userService.updateById(u);
-        if (ok) return Result.success("用户信息修改成功");
+        if (ok) {
+            userPrincipalService.invalidate(oldUsername);
+            userPrincipalService.invalidate(u.getUsername());
+            return Result.success("用户信息修改成功");
+        }
         return Result.error("用户信息修改失败");
     }
 
@@ -161,23 +162,40 @@ public class AdminController {
             return Result.error("不能删除自己");
         }
         
-        // 删除用户关联的所有简历
-        try {
-            List<Resume> userResumes = resumeService.getResumesByUserId(id);
-            for (Resume resume : userResumes) {
-                resumeService.deleteResume(resume.getId());
-            }
-        } catch (Exception e) {
-            // 如果删除简历失败，记录日志但不阻止用户删除
-            System.err.println("删除用户简历时出错: " + e.getMessage());
+        // 简历、文件记录与用户在同一事务中删除
+        if (userService.deleteUserCascade(id)) {
+            return Result.success("用户删除成功");
         }
-        
-        // 删除用户
-        boolean ok = userService.removeById(id);
-        if (ok) return Result.success("用户删除成功");
         return Result.error("用户删除失败");
     }
 
+    /**
+     * 批量删除用户（用于清理垃圾账号）
+     */
+    @PostMapping("/user/batch-delete")
+    public Result<?> batchDeleteUsers(@RequestBody Map<String, List<Integer>> body, HttpServletRequest request) {
+        List<Integer> ids = body.get("ids");
+        if (ids == null || ids.isEmpty()) {
+            return Result.error("用户ID不能为空");
+        }
+        String token = request.getHeader("Authorization");
+        String currentUsername = jwtUtil.getUsernameFromToken(token.substring(7));
+
+        // 跳过当前管理员自己
+        QueryWrapper<User> queryWrapper = new QueryWrapper<>();
+        queryWrapper.eq("username", currentUsername).eq("role", "admin");
+        User currentUser = userService.getOne(queryWrapper);
+        List<Integer> targets = new ArrayList<>(ids);
+        if (currentUser != null) {
+            targets.removeIf(currentUser.getId()::equals);
+        }
+
+        int deleted = userService.deleteUsersCascade(targets);
+        Map<String, Object> data = new HashMap<>();
+        data.put("deleted", deleted);
+        return Result.success("批量删除完成", data);
+    }
+
     /**
      * 重置用户密码（管理员操作）
      */
@@ -196,7 +214,10 @@ public class AdminController {
         }
         u.setPassword(encrypted);
         boolean ok = userService.updateById(u);
-        if (ok) return Result.success("密码重置成功");
+        if (ok) {
+            userPrincipalService.invalidateUser(id);
+            return Result.success("密码重置成功");
+        }
         return Result.error("密码重置失败");
     }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.resume.controller;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.resume.entity.UserFile;
+import com.resume.entity.UserFileText;
+import com.resume.service.UserFileService;
+import com.resume.service.UserFileTextService;
+import com.resume.vo.Result;
+import com.resume.vo.UserFileSearchHit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 用户上传文件管理控制器（管理员）
+ */
+@RestController
+@RequestMapping("/api/admin/file")
+public class FileAdminController {
+
+    @Autowired
+    private UserFileService userFileService;
+
+    @Autowired
+    private UserFileTextService userFileTextService;
+
+    /**
+     * 按提取的文本全文检索用户上传的简历文件
+     */
+    @GetMapping("/search")
+    public Result<Page<UserFileSearchHit>> searchFiles(@RequestParam String keyword,
+                                                       @RequestParam(defaultValue = "1") int current,
+                                                       @RequestParam(defaultValue = "10") int size) {
+        return Result.success(userFileTextService.search(keyword, current, size));
+    }
+
+    /**
+     * 获取用户上传文件的提取文本和页数
+     */
+    @GetMapping("/{userId}/text")
+    public Result<UserFileText> getFileText(@PathVariable Integer userId) {
+        UserFile userFile = userFileService.getUserFile(userId);
+        if (userFile == null) {
+            return Result.error("用户未上传文件");
+        }
+        UserFileText text = userFileTextService.getText(userFile.getFilePath());
+        if (text == null) {
+            return Result.error("文件尚未提取文本");
+        }
+        return Result.success(text);
+    }
+
+    /**
+     * 重新提取用户上传文件的文本
+     */
+    @PostMapping("/{userId}/extract")
+    public Result<?> extractFileText(@PathVariable Integer userId) {
+        UserFile userFile = userFileService.getUserFile(userId);
+        if (userFile == null) {
+            return Result.error("用户未上传文件");
+        }
+        userFileTextService.submit(userFile.getFilePath(), true);
+        return Result.success("文本提取已开始");
+    }
+}
@@ -3,22 +3,17 @@ package com.resume.controller;
 import com.resume.entity.UserFile;
 import com.resume.service.UserFileService;
 import com.resume.service.LocalOssService;
+import com.resume.service.UserPrincipalService;
+import com.resume.util.HttpFileSender;
 import com.resume.vo.Result;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.FileSystemResource;
-import org.springframework.core.io.Resource;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.servlet.http.HttpServletRequest;
-import java.io.File;
+import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 
 /**
  * 文件上传下载控制器
@@ -34,13 +29,10 @@ public class FileController {
     private LocalOssService localOssService;
     
     @Autowired
-    private com.resume.util.JwtUtil jwtUtil;
+    private UserPrincipalService userPrincipalService;
     
     @Autowired
-    private com.resume.service.UserService userService;
-    
-    @Autowired
-    private com.resume.mapper.UserFileMapper userFileMapper;
+    private HttpFileSender httpFileSender;
     
     /**
      * 上传文件
@@ -68,26 +60,8 @@ public class FileController {
                 return Result.error("文件大小不能超过5MB");
             }
             
-            // 删除用户之前的文件
-            userFileService.deleteUserFile(userId);
-            
-            // 使用本地OSS上传文件
-            String fileUrl = localOssService.uploadFile(file, "user-files");
-            
-            // 保存文件信息到数据库
-            UserFile userFile = new UserFile();
-            userFile.setUserId(userId);
-            userFile.setOriginalName(originalFilename);
-            userFile.setFileName(originalFilename);
-            userFile.setFilePath(fileUrl);
-            userFile.setFileSize(file.getSize());
-            userFile.setFileType(fileExtension);
-            userFile.setUploadTime(java.time.LocalDateTime.now());
-            userFile.setCreateTime(java.time.LocalDateTime.now());
-            userFile.setUpdateTime(java.time.LocalDateTime.now());
-            
-            // 保存到数据库
-            userFileMapper.insert(userFile);
+            // 先保存新文件再切换记录，旧文件在后台释放
+            UserFile userFile = userFileService.replaceUserFile(userId, file);
             
             return Result.success("文件上传成功", userFile);
         } catch (Exception e) {
@@ -115,41 +89,26 @@ public class FileController {
     }
     
     /**
-     * 下载文件
+     * 下载文件（支持Range分段请求和条件请求）
      */
     @GetMapping("/download")
-    public ResponseEntity<Resource> downloadFile(HttpServletRequest request) {
-        try {
-            Integer userId = getUserIdFromToken(request);
-            UserFile userFile = userFileService.getUserFile(userId);
-            
-            if (userFile == null) {
-                return ResponseEntity.notFound().build();
-            }
-            
-            // 使用本地OSS获取文件路径
-            Path filePath = localOssService.getFilePath(userFile.getFilePath());
-            File file = filePath.toFile();
-            
-            if (!file.exists()) {
-                return ResponseEntity.notFound().build();
-            }
-            
-            Resource resource = new FileSystemResource(file);
-            
-            // 根据文件扩展名设置Content-Type
-            String contentType = getContentTypeForFile(userFile.getOriginalName());
-            
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION, 
-                            "attachment; filename=\"" + userFile.getOriginalName() + "\"")
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .body(resource);
-                    
-        } catch (Exception e) {
-            e.printStackTrace();
-            return ResponseEntity.status(500).build();
+    public void downloadFile(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Integer userId = getUserIdFromToken(request);
+        UserFile userFile = userFileService.getUserFile(userId);
+
+        if (userFile == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
         }
+
+        // 使用本地OSS获取文件路径
+        Path filePath = localOssService.getFilePath(userFile.getFilePath());
+
+        // 文件属于当前用户，不允许共享缓存
+        response.setHeader("Cache-Control", "private, no-cache");
+        // 根据文件扩展名设置Content-Type
+        httpFileSender.send(filePath, getContentTypeForFile(userFile.getOriginalName()),
+                "attachment; filename=\"" + userFile.getOriginalName() + "\"", request, response);
     }
     
     /**
@@ -165,13 +124,8 @@ public class FileController {
                 return Result.error("未找到用户文件");
             }
             
-            // 使用本地OSS删除文件
-            boolean fileDeleted = localOssService.deleteFile(userFile.getFilePath());
-            
-            // 从数据库删除记录
-            boolean dbDeleted = userFileService.deleteUserFile(userId);
-            
-            if (fileDeleted && dbDeleted) {
+            // 删除记录并释放物理文件
+            if (userFileService.deleteUserFile(userId)) {
                 return Result.success("文件删除成功");
             } else {
                 return Result.error("文件删除失败");
@@ -186,18 +140,7 @@ public class FileController {
      * 从Token中获取用户ID
      */
     private Integer getUserIdFromToken(HttpServletRequest request) {
-        String token = request.getHeader("Authorization");
-        if (token != null && token.startsWith("Bearer ")) {
-            token = token.substring(7);
-            String username = jwtUtil.getUsernameFromToken(token);
-            com.resume.entity.User user = userService.lambdaQuery()
-                    .eq(com.resume.entity.User::getUsername, username)
-                    .one();
-            if (user != null) {
-                return user.getId();
-            }
-        }
-        throw new RuntimeException("未登录或登录已过期");
+        return userPrincipalService.getCurrentUserId(request);
     }
     
     /**
@@ -0,0 +1,37 @@
+package com.resume.controller;
+
+import com.resume.service.OssReaperService;
+import com.resume.vo.OssReaperStatsVO;
+import com.resume.vo.Result;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * OSS存储管理控制器（管理员）
+ */
+@RestController
+@RequestMapping("/api/admin/oss")
+public class OssAdminController {
+
+    @Autowired
+    private OssReaperService ossReaperService;
+
+    /**
+     * 获取孤儿文件回收统计（扫描数、隔离数、回收字节数等）
+     */
+    @GetMapping("/reaper")
+    public Result<OssReaperStatsVO> getReaperStats() {
+        return Result.success(ossReaperService.getStats());
+    }
+
+    /**
+     * 立即在后台执行一轮孤儿文件回收
+     */
+    @PostMapping("/reaper/run")
+    public Result<?> runReaper() {
+        if (ossReaperService.reapAsync()) {
+            return Result.success("孤儿文件回收已开始");
+        }
+        return Result.error("孤儿文件回收正在执行中");
+    }
+}
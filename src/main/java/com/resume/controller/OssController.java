@@ -1,16 +1,15 @@
 package com.resume.controller;
 
+import com.resume.service.FilePreviewService;
 import com.resume.service.LocalOssService;
+import com.resume.util.HttpFileSender;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.FileSystemResource;
-import org.springframework.core.io.Resource;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.bind.annotation.*;
 
 import javax.servlet.http.HttpServletRequest;
-import java.io.File;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.nio.file.Path;
 
 /**
@@ -22,47 +21,75 @@ public class OssController {
     
     @Autowired
     private LocalOssService localOssService;
+
+    @Autowired
+    private HttpFileSender httpFileSender;
+
+    @Autowired
+    private FilePreviewService filePreviewService;
+
+    @Value("${local.oss.base-url:http://localhost:8080/oss}")
+    private String baseUrl;
     
     /**
-     * 访问OSS文件
+     * 访问OSS文件（支持Range分段请求和条件请求）
      */
     @GetMapping("/**")
-    public ResponseEntity<Resource> getFile(HttpServletRequest request) {
+    public void getFile(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String fileUrl = getFileUrl(request);
+        if (fileUrl == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        // 文件是否存在由输出时读取文件属性一并判断
+        Path actualFilePath = localOssService.getFilePath(fileUrl);
+        String fileName = actualFilePath.getFileName().toString();
+
+        // 根据文件扩展名设置Content-Type
+        httpFileSender.send(actualFilePath, getContentType(fileName),
+                "inline; filename=\"" + fileName + "\"", request, response);
+    }
+    
+    /**
+     * 获取PDF/DOCX文件的预览（页数、第一页文本和摘要），如 /oss/blobs/ab/cd/xxx.pdf?preview
+     * 首次请求时生成；原文件按内容寻址（blobs/）或唯一命名，内容不会变化，预览可长期缓存
+     */
+    @GetMapping(value = "/**", params = "preview")
+    public void getPreview(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String fileUrl = getFileUrl(request);
+        if (fileUrl == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        Path preview;
         try {
-            // 从请求路径中提取文件路径
-            String requestPath = request.getRequestURI();
-            String filePath = requestPath.replace("/oss/", "");
-            
-            // 构建完整的文件URL
-            String fileUrl = "http://localhost:8080/oss/" + filePath;
-            
-            // 检查文件是否存在
-            if (!localOssService.fileExists(fileUrl)) {
-                return ResponseEntity.notFound().build();
-            }
-            
-            // 获取文件路径
-            Path actualFilePath = localOssService.getFilePath(fileUrl);
-            File file = actualFilePath.toFile();
-            
-            if (!file.exists()) {
-                return ResponseEntity.notFound().build();
+            preview = filePreviewService.getPreview(fileUrl);
+        } catch (IOException e) {
+            // 解析失败的预览不保存，稍后可重试
+            System.err.println(e.getMessage());
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+        if (preview == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        response.setHeader("Cache-Control", "public, max-age=31536000, immutable");
+        httpFileSender.send(preview, "application/json;charset=UTF-8", null, request, response);
+    }
+
+    /**
+     * 由请求路径构建完整的文件URL（与上传时返回的地址一致，均以 local.oss.base-url 为前缀）
+     * 以"."开头的目录（上传临时目录 .tmp、孤儿文件隔离区 .quarantine）不对外提供，返回null
+     */
+    private String getFileUrl(HttpServletRequest request) {
+        String filePath = request.getRequestURI().substring(request.getContextPath().length() + "/oss/".length());
+        for (String segment : filePath.split("/")) {
+            if (segment.startsWith(".")) {
+                return null;
             }
-            
-            Resource resource = new FileSystemResource(file);
-            
-            // 根据文件扩展名设置Content-Type
-            String contentType = getContentType(file.getName());
-            
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + file.getName() + "\"")
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .body(resource);
-                    
-        } catch (Exception e) {
-            e.printStackTrace();
-            return ResponseEntity.status(500).build();
         }
+        return baseUrl + "/" + filePath;
     }
     
     /**
@@ -75,6 +102,8 @@ public class OssController {
                 return "application/pdf";
             case "docx":
                 return "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+            case "zip":
+                return "application/zip";
             default:
                 return "application/octet-stream";
         }
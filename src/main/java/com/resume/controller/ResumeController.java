@@ -1,23 +1,46 @@
 package com.resume.controller;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
-import com.alibaba.fastjson.JSON;
-import com.alibaba.fastjson.JSONObject;
-import com.itextpdf.text.*;
-import com.itextpdf.text.pdf.BaseFont;
-import com.itextpdf.text.pdf.PdfWriter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itextpdf.text.DocumentException;
+import com.resume.dto.BulkExportDTO;
 import com.resume.dto.ResumeDTO;
 import com.resume.entity.Resume;
+import com.resume.service.ResumeDocxRenderer;
+import com.resume.service.ResumeDraftService;
+import com.resume.service.ResumeExportJobService;
+import com.resume.service.ResumeFacetService;
+import com.resume.service.ResumePdfCache;
+import com.resume.service.ResumePdfRenderer;
+import com.resume.service.ResumeSearchService;
 import com.resume.service.ResumeService;
+import com.resume.service.ResumeVersionService;
+import com.resume.util.ResumeFields;
+import com.resume.vo.ExportJobVO;
+import com.resume.vo.ResumeFacetVO;
+import com.resume.vo.ResumeSearchHit;
+import com.resume.vo.ResumeVersionVO;
 import com.resume.vo.Result;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.util.StreamUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 简历控制器
@@ -25,18 +48,66 @@ import java.util.List;
 @RestController
 @RequestMapping("/api/admin/resume")
 public class ResumeController {
+
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    private static final int STREAM_FLUSH_INTERVAL = 100;
     
     @Autowired
     private ResumeService resumeService;
+
+    @Autowired
+    private ResumePdfRenderer resumePdfRenderer;
+
+    @Autowired
+    private ResumePdfCache resumePdfCache;
+
+    @Autowired
+    private ResumeDocxRenderer resumeDocxRenderer;
+
+    @Autowired
+    private ResumeExportJobService resumeExportJobService;
+
+    @Autowired
+    private ResumeSearchService resumeSearchService;
+
+    @Autowired
+    private ResumeFacetService resumeFacetService;
+
+    @Autowired
+    private ResumeVersionService resumeVersionService;
+
+    @Autowired
+    private ResumeDraftService resumeDraftService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
     
 
     /**
      * 分页查询简历列表（可按用户名过滤）
+     * mode=cursor 时使用游标分页：按 (create_time, id) 定位，不扫描偏移量，仅在 withTotal=true 时统计总数
+     * view=summary 时只返回摘要字段，不包含简历内容
      */
     @GetMapping("/list")
-    public Result<Page<Resume>> getResumeList(@RequestParam(defaultValue = "1") int current,
-                                              @RequestParam(defaultValue = "10") int size,
-                                              @RequestParam(required = false) String username) {
+    public Result<?> getResumeList(@RequestParam(defaultValue = "1") int current,
+                                   @RequestParam(defaultValue = "10") int size,
+                                   @RequestParam(required = false) String username,
+                                   @RequestParam(defaultValue = "page") String mode,
+                                   @RequestParam(required = false) String cursor,
+                                   @RequestParam(defaultValue = "false") boolean withTotal,
+                                   @RequestParam(defaultValue = "full") String view) {
+        boolean summary = "summary".equals(view);
+        if ("cursor".equals(mode)) {
+            int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+            if (summary) {
+                return Result.success(resumeService.getResumeSummaryListByCursor(cursor, pageSize, username, withTotal));
+            }
+            return Result.success(resumeService.getResumeListByCursor(cursor, pageSize, username, withTotal));
+        }
+        if (summary) {
+            return Result.success(resumeService.getResumeSummaryList(current, size, username));
+        }
         Page<Resume> page;
         if (username != null && !username.isEmpty()) {
             page = resumeService.getResumeListByUsername(current, size, username);
@@ -47,14 +118,81 @@ public class ResumeController {
     }
     
     /**
-     * 获取所有简历
+     * 获取所有简历（view=summary 时只返回摘要字段）
      */
     @GetMapping("/all")
-    public Result<List<Resume>> getAllResumes() {
+    public Result<?> getAllResumes(@RequestParam(defaultValue = "full") String view) {
+        if ("summary".equals(view)) {
+            return Result.success(resumeService.getAllResumeSummaries());
+        }
         List<Resume> resumes = resumeService.getAllResumes();
         return Result.success(resumes);
     }
     
+    /**
+     * 以NDJSON流式输出所有简历，每行一条记录，可通过fields指定输出字段（如 fields=id,name,createTime）
+     */
+    @GetMapping(value = "/all", params = "format=ndjson")
+    public void streamAllResumes(@RequestParam(required = false) String fields, HttpServletResponse response) throws IOException {
+        List<String> projection = ResumeFields.parse(fields);
+
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            int[] count = {0};
+            resumeService.streamAllResumes(projection, resume -> {
+                try {
+                    generator.writeObject(ResumeFields.project(resume, projection));
+                    generator.writeRaw('\n');
+                    // 定期刷出，客户端可以边接收边处理
+                    if (++count[0] % STREAM_FLUSH_INTERVAL == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+    
+    /**
+     * 按技能、学校、公司、技术栈等关键词全文检索简历，结果按相关度排序
+     */
+    @GetMapping("/search")
+    public Result<Page<ResumeSearchHit>> searchResumes(@RequestParam String keyword,
+                                                       @RequestParam(defaultValue = "1") int current,
+                                                       @RequestParam(defaultValue = "10") int size) {
+        return Result.success(resumeSearchService.search(keyword, current, size));
+    }
+
+    /**
+     * 在后台重建全文检索索引
+     */
+    @PostMapping("/search/rebuild")
+    public Result<?> rebuildSearchIndex() {
+        if (resumeSearchService.rebuildAsync()) {
+            return Result.success("索引重建已开始");
+        }
+        return Result.error("索引正在重建中");
+    }
+
+    /**
+     * 按技能、学历、学校、所在地统计简历数，可同时按这些维度筛选
+     */
+    @GetMapping("/facets")
+    public Result<ResumeFacetVO> getResumeFacets(@RequestParam(required = false) String skill,
+                                                 @RequestParam(required = false) String degree,
+                                                 @RequestParam(required = false) String school,
+                                                 @RequestParam(required = false) String location,
+                                                 @RequestParam(defaultValue = "20") int limit) {
+        Map<String, String> filters = new HashMap<>();
+        filters.put(ResumeFacetService.SKILL, skill);
+        filters.put(ResumeFacetService.DEGREE, degree);
+        filters.put(ResumeFacetService.SCHOOL, school);
+        filters.put(ResumeFacetService.LOCATION, location);
+        return Result.success(resumeFacetService.getFacets(filters, limit));
+    }
+
     /**
      * 根据ID获取简历详情
      */
@@ -87,14 +225,21 @@ public class ResumeController {
      */
     @PutMapping("/{id}")
     public Result<?> updateResume(@PathVariable Integer id, @RequestBody @Validated ResumeDTO resumeDTO) {
+        // 用户未写入的自动保存草稿先落库，覆盖前的内容保留在历史版本中
+        resumeDraftService.flush(id);
         Resume resume = resumeService.getResumeById(id);
         if (resume != null) {
+            Integer version = resume.getVersion();
             BeanUtils.copyProperties(resumeDTO, resume);
             resume.setId(id);
             resume.setThemeId(resumeDTO.getThemeId());
+            // 未带版本号时按刚读取的版本校验，只防止读写之间的并发修改
+            if (resumeDTO.getVersion() == null) {
+                resume.setVersion(version);
+            }
             boolean success = resumeService.updateResume(resume);
             if (success) {
-                return Result.success("简历更新成功");
+                return Result.success("简历更新成功", resume);
             }
             return Result.error("简历更新失败");
         }
@@ -106,106 +251,161 @@ public class ResumeController {
      */
     @DeleteMapping("/{id}")
     public Result<?> deleteResume(@PathVariable Integer id) {
+        resumeDraftService.discard(id);
         boolean success = resumeService.deleteResume(id);
         if (success) {
             return Result.success("简历删除成功");
         }
         return Result.error("简历删除失败");
     }
+
+
+    /**
+     * 查看简历的历史版本列表
+     */
+    @GetMapping("/{id}/versions")
+    public Result<List<ResumeVersionVO>> getResumeVersions(@PathVariable Integer id) {
+        resumeDraftService.flush(id);
+        return Result.success(resumeVersionService.listVersions(id));
+    }
+
+    /**
+     * 查看简历某个历史版本的完整内容
+     */
+    @GetMapping("/{id}/versions/{versionNo}")
+    public Result<ResumeVersionVO> getResumeVersion(@PathVariable Integer id, @PathVariable int versionNo) {
+        ResumeVersionVO version = resumeVersionService.getVersion(id, versionNo);
+        if (version == null) {
+            return Result.error("版本不存在");
+        }
+        return Result.success(version);
+    }
+
+    /**
+     * 将简历回滚到某个历史版本
+     */
+    @PostMapping("/{id}/versions/{versionNo}/rollback")
+    public Result<?> rollbackResume(@PathVariable Integer id, @PathVariable int versionNo) {
+        resumeDraftService.flush(id);
+        Resume resume = resumeService.rollbackResume(id, versionNo);
+        if (resume == null) {
+            return Result.error("简历或版本不存在");
+        }
+        return Result.success("简历已回滚", resume);
+    }
     
 
     @GetMapping("/{id}/export/pdf")
-    public void exportPdf(@PathVariable Integer id, HttpServletResponse response) throws IOException, DocumentException {
+    public void exportPdf(@PathVariable Integer id, HttpServletRequest request, HttpServletResponse response) throws IOException, DocumentException {
+        // 先写入用户未保存的自动保存草稿，导出最新内容
+        resumeDraftService.flush(id);
         Resume resume = resumeService.getById(id);
         if (resume == null) {
             throw new RuntimeException("简历不存在");
         }
 
-        // 解析JSON内容获取个人信息
-        JSONObject content = JSON.parseObject(resume.getContent());
-        JSONObject personalInfo = content.getJSONObject("personalInfo");
-        
-        // 构建文件名：姓名-岗位.pdf
-        String name = personalInfo.getString("name");
-        String title = personalInfo.getString("title");
-        String fileName = name + "-" + title + ".pdf";
-        
-        // 对文件名进行URL编码以支持中文
-        fileName = java.net.URLEncoder.encode(fileName, "UTF-8");
+        // 内容未变化时直接返回304，浏览器每次都需重新验证
+        response.setHeader("Cache-Control", "private, no-cache");
+        if (new ServletWebRequest(request, response).checkNotModified("\"" + resumePdfCache.fingerprint(resume) + "\"")) {
+            return;
+        }
+
+        // 构建文件名：姓名-岗位.pdf，并进行URL编码以支持中文
+        String fileName = java.net.URLEncoder.encode(resumePdfRenderer.buildFileName(resume), "UTF-8");
 
         // 设置响应头
         response.setContentType("application/pdf");
         response.setCharacterEncoding("UTF-8");
         // 设置为强制下载
         response.setHeader("Content-Disposition", "attachment; filename=\"" + fileName + "\"; filename*=UTF-8''" + fileName);
-        // 防止缓存
-        response.setHeader("Cache-Control", "no-cache, no-store, must-revalidate");
-        response.setHeader("Pragma", "no-cache");
-        response.setHeader("Expires", "0");
 
-        // 创建PDF文档
-        Document document = new Document(PageSize.A4);
-        PdfWriter.getInstance(document, response.getOutputStream());
-        document.open();
+        // 打开缓存文件后再读取大小和内容，期间缓存失效或淘汰不影响本次下载
+        try (FileChannel pdf = resumePdfCache.openOrRender(resume)) {
+            response.setContentLengthLong(pdf.size());
+            StreamUtils.copy(Channels.newInputStream(pdf), response.getOutputStream());
+        }
+    }
 
-        try {
-            // 使用iText内置中文字体
-            BaseFont baseFont = BaseFont.createFont("STSong-Light", "UniGB-UCS2-H", BaseFont.NOT_EMBEDDED);
-            Font titleFont = new Font(baseFont, 18, Font.BOLD);
-            Font subtitleFont = new Font(baseFont, 14, Font.BOLD);
-            Font normalFont = new Font(baseFont, 12, Font.NORMAL);
-
-            // 添加个人信息
-            document.add(new Paragraph(personalInfo.getString("name"), titleFont));
-            document.add(new Paragraph(personalInfo.getString("title"), subtitleFont));
-            document.add(new Paragraph("联系方式：" + personalInfo.getString("phone"), normalFont));
-            document.add(new Paragraph("邮箱：" + personalInfo.getString("email"), normalFont));
-            document.add(new Paragraph("所在地：" + personalInfo.getString("location"), normalFont));
-            document.add(new Paragraph("\n"));
-
-            // 添加个人简介
-            document.add(new Paragraph("个人简介", subtitleFont));
-            document.add(new Paragraph(content.getString("summary"), normalFont));
-            document.add(new Paragraph("\n"));
-
-            // 添加教育背景
-            document.add(new Paragraph("教育背景", subtitleFont));
-            List<JSONObject> education = content.getJSONArray("education").toJavaList(JSONObject.class);
-            for (JSONObject edu : education) {
-                document.add(new Paragraph(edu.getString("school") + " - " + edu.getString("major"), normalFont));
-                document.add(new Paragraph(edu.getString("degree"), normalFont));
-                document.add(new Paragraph(edu.getString("startDate") + " 至 " + edu.getString("endDate"), normalFont));
-                document.add(new Paragraph("\n"));
-            }
+    /**
+     * 导出Word（DOCX）
+     */
+    @GetMapping("/{id}/export/docx")
+    public void exportDocx(@PathVariable Integer id, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        resumeDraftService.flush(id);
+        Resume resume = resumeService.getById(id);
+        if (resume == null) {
+            throw new RuntimeException("简历不存在");
+        }
 
-            // 添加工作经历
-            document.add(new Paragraph("工作经历", subtitleFont));
-            List<JSONObject> workExperience = content.getJSONArray("workExperience").toJavaList(JSONObject.class);
-            for (JSONObject work : workExperience) {
-                document.add(new Paragraph(work.getString("company") + " - " + work.getString("position"), normalFont));
-                document.add(new Paragraph(work.getString("startDate") + " 至 " + work.getString("endDate"), normalFont));
-                document.add(new Paragraph(work.getString("description"), normalFont));
-                document.add(new Paragraph("\n"));
-            }
+        response.setHeader("Cache-Control", "private, no-cache");
+        if (new ServletWebRequest(request, response).checkNotModified("\"docx-" + resumePdfCache.fingerprint(resume) + "\"")) {
+            return;
+        }
 
-            // 添加项目经历
-            document.add(new Paragraph("项目经历", subtitleFont));
-            List<JSONObject> projectExperience = content.getJSONArray("projectExperience").toJavaList(JSONObject.class);
-            for (JSONObject project : projectExperience) {
-                document.add(new Paragraph(project.getString("name") + " - " + project.getString("role"), normalFont));
-                document.add(new Paragraph(project.getString("startDate") + " 至 " + project.getString("endDate"), normalFont));
-                document.add(new Paragraph("技术栈：" + String.join(", ", project.getJSONArray("technologies").toJavaList(String.class)), normalFont));
-                document.add(new Paragraph(project.getString("description"), normalFont));
-                document.add(new Paragraph("\n"));
-            }
+        // 构建文件名：姓名-岗位.docx，并进行URL编码以支持中文
+        String fileName = java.net.URLEncoder.encode(resumeDocxRenderer.buildFileName(resume), "UTF-8");
+
+        response.setContentType(ResumeDocxRenderer.CONTENT_TYPE);
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + fileName + "\"; filename*=UTF-8''" + fileName);
 
-            // 添加技能特长
-            document.add(new Paragraph("技能特长", subtitleFont));
-            List<String> skills = content.getJSONArray("skills").toJavaList(String.class);
-            document.add(new Paragraph(String.join("、", skills), normalFont));
-            document.add(new Paragraph("\n"));
+        // 边生成边写出，不在内存中缓存整个文件
+        resumeDocxRenderer.render(resume, response.getOutputStream());
+    }
+
+    /**
+     * 提交批量导出任务（按用户名和/或简历ID筛选），立即返回任务ID
+     */
+    @PostMapping("/export/jobs")
+    public Result<ExportJobVO> submitExportJob(@RequestBody BulkExportDTO bulkExportDTO) {
+        return Result.success(resumeExportJobService.submit(bulkExportDTO));
+    }
+
+    /**
+     * 查询批量导出任务进度，完成后返回下载地址
+     */
+    @GetMapping("/export/jobs/{jobId}")
+    public Result<ExportJobVO> getExportJob(@PathVariable String jobId) {
+        ExportJobVO job = resumeExportJobService.getJob(jobId);
+        if (job == null) {
+            return Result.error("导出任务不存在或已过期");
+        }
+        return Result.success(job);
+    }
+
+    /**
+     * 下载批量导出任务生成的ZIP文件
+     */
+    @GetMapping("/export/jobs/{jobId}/download")
+    public void downloadExportJob(@PathVariable String jobId, HttpServletResponse response) throws IOException {
+        Path zip = resumeExportJobService.getFile(jobId);
+        if (zip == null) {
+            throw new RuntimeException("导出文件不存在或已过期");
+        }
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(zip, StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            throw new RuntimeException("导出文件不存在或已过期");
+        }
+        try {
+            response.setContentType("application/zip");
+            response.setHeader("Cache-Control", "private, no-store");
+            response.setHeader("Content-Disposition", "attachment; filename=\"" + zip.getFileName() + "\"");
+            response.setContentLengthLong(channel.size());
+            StreamUtils.copy(Channels.newInputStream(channel), response.getOutputStream());
         } finally {
-            document.close();
+            channel.close();
+        }
+    }
+
+    /**
+     * 取消批量导出任务
+     */
+    @DeleteMapping("/export/jobs/{jobId}")
+    public Result<?> cancelExportJob(@PathVariable String jobId) {
+        if (resumeExportJobService.cancel(jobId)) {
+            return Result.success("导出任务已取消");
         }
+        return Result.error("导出任务不存在或已结束");
     }
-} 
\ No newline at end of file
+}
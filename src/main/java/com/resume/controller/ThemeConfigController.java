@@ -4,6 +4,10 @@ import com.resume.entity.ThemeConfig;
 import com.resume.service.ThemeConfigService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import java.util.List;
 
 @RestController
@@ -13,27 +17,32 @@ public class ThemeConfigController {
     private ThemeConfigService themeConfigService;
 
     @GetMapping("/list")
-    public List<ThemeConfig> list() {
-        return themeConfigService.list();
+    public List<ThemeConfig> list(HttpServletRequest request, HttpServletResponse response) {
+        // 主题未变化时返回304
+        response.setHeader("Cache-Control", "private, no-cache");
+        if (new ServletWebRequest(request, response).checkNotModified(themeConfigService.getThemesETag())) {
+            return null;
+        }
+        return themeConfigService.getAllThemes();
     }
 
     @GetMapping("/{id}")
     public ThemeConfig getById(@PathVariable Integer id) {
-        return themeConfigService.getById(id);
+        return themeConfigService.getThemeById(id);
     }
 
     @PostMapping("/add")
     public boolean add(@RequestBody ThemeConfig themeConfig) {
-        return themeConfigService.save(themeConfig);
+        return themeConfigService.addTheme(themeConfig);
     }
 
     @PutMapping("/update")
     public boolean update(@RequestBody ThemeConfig themeConfig) {
-        return themeConfigService.updateById(themeConfig);
+        return themeConfigService.updateTheme(themeConfig);
     }
 
     @DeleteMapping("/delete/{id}")
     public boolean delete(@PathVariable Integer id) {
-        return themeConfigService.removeById(id);
+        return themeConfigService.deleteTheme(id);
     }
 }
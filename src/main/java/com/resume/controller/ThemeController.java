@@ -5,7 +5,10 @@ import com.resume.service.ThemeConfigService;
 import com.resume.vo.Result;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import java.util.List;
 
 @RestController
@@ -18,7 +21,10 @@ public class ThemeController {
      * 管理端：获取所有主题配置
      */
     @GetMapping("/api/admin/themes")
-    public Result<List<ThemeConfig>> getAllThemes() {
+    public Result<List<ThemeConfig>> getAllThemes(HttpServletRequest request, HttpServletResponse response) {
+        if (notModified(request, response)) {
+            return null;
+        }
         List<ThemeConfig> themes = themeConfigService.getAllThemes();
         return Result.success(themes);
     }
@@ -27,9 +33,20 @@ public class ThemeController {
      * 用户端：获取所有主题配置（供用户选择主题）
      */
     @GetMapping("/api/user/themes")
-    public Result<List<ThemeConfig>> getUserThemes() {
+    public Result<List<ThemeConfig>> getUserThemes(HttpServletRequest request, HttpServletResponse response) {
+        if (notModified(request, response)) {
+            return null;
+        }
         List<ThemeConfig> themes = themeConfigService.getAllThemes();
         return Result.success(themes);
     }
+
+    /**
+     * 主题未变化时返回304，浏览器每次都需重新验证
+     */
+    private boolean notModified(HttpServletRequest request, HttpServletResponse response) {
+        response.setHeader("Cache-Control", "private, no-cache");
+        return new ServletWebRequest(request, response).checkNotModified(themeConfigService.getThemesETag());
+    }
     
-} 
\ No newline at end of file
+} 
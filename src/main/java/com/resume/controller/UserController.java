@@ -4,17 +4,29 @@ import com.resume.entity.User;
 import com.resume.entity.Resume;
 import com.resume.dto.ResumeDTO;
 import com.resume.service.UserService;
+import com.resume.service.ResumeDocxRenderer;
+import com.resume.service.ResumeDraftService;
+import com.resume.service.ResumePdfCache;
+import com.resume.service.ResumePdfRenderer;
 import com.resume.service.ResumeService;
+import com.resume.service.ResumeVersionService;
+import com.resume.service.UserPrincipalService;
 import com.resume.util.JwtUtil;
 import com.resume.vo.Result;
+import com.resume.vo.ResumeDraftVO;
+import com.resume.vo.ResumeVersionVO;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.util.StreamUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -35,6 +47,24 @@ public class UserController {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private UserPrincipalService userPrincipalService;
+
+    @Autowired
+    private ResumePdfRenderer resumePdfRenderer;
+
+    @Autowired
+    private ResumePdfCache resumePdfCache;
+
+    @Autowired
+    private ResumeDocxRenderer resumeDocxRenderer;
+
+    @Autowired
+    private ResumeVersionService resumeVersionService;
+
+    @Autowired
+    private ResumeDraftService resumeDraftService;
+
     /**
      * 用户注册
      */
@@ -88,12 +118,16 @@ public class UserController {
     }
 
     /**
-     * 获取当前用户的所有简历
+     * 获取当前用户的所有简历（view=summary 时只返回摘要字段）
      */
     @GetMapping("/resume/list")
-    public Result<List<Resume>> getUserResumes(HttpServletRequest request) {
+    public Result<?> getUserResumes(@RequestParam(defaultValue = "full") String view, HttpServletRequest request) {
     Integer userId = getUserIdFromToken(request);
+        if ("summary".equals(view)) {
+            return Result.success(resumeService.getResumeSummariesByUserId(userId));
+        }
         List<Resume> resumes = resumeService.getResumesByUserId(userId);
+        resumes.forEach(resumeDraftService::withDraft);
         return Result.success(resumes);
     }
 
@@ -128,15 +162,39 @@ public class UserController {
             resume.setName(resumeDTO.getName());
             resume.setContent(resumeDTO.getContent());
             resume.setThemeId(resumeDTO.getThemeId());
+            // 客户端带版本号时按其读取时的版本校验，版本不一致返回409
+            if (resumeDTO.getVersion() != null) {
+                resume.setVersion(resumeDTO.getVersion());
+            }
+            // 整体覆盖，未写入的自动保存草稿作废
+            resumeDraftService.discard(id);
             boolean success = resumeService.updateResume(resume);
             if (success) {
-                return Result.success("简历更新成功");
+                return Result.success("简历更新成功", resume);
             }
             return Result.error("简历更新失败");
         }
         return Result.error("无权操作或简历不存在");
     }
 
+    /**
+     * 自动保存（RFC 6902 JSON补丁），只修改简历内容
+     */
+    @PatchMapping(value = "/resume/{id}", consumes = ResumeDraftService.JSON_PATCH)
+    public Result<ResumeDraftVO> patchResume(@PathVariable Integer id, @RequestBody String patch, HttpServletRequest request) {
+        Integer userId = getUserIdFromToken(request);
+        return Result.success(resumeDraftService.patch(id, userId, patch, false));
+    }
+
+    /**
+     * 自动保存（RFC 7386 JSON合并补丁），只修改简历内容
+     */
+    @PatchMapping(value = "/resume/{id}", consumes = ResumeDraftService.MERGE_PATCH)
+    public Result<ResumeDraftVO> mergePatchResume(@PathVariable Integer id, @RequestBody String patch, HttpServletRequest request) {
+        Integer userId = getUserIdFromToken(request);
+        return Result.success(resumeDraftService.patch(id, userId, patch, true));
+    }
+
     /**
      * 获取当前用户的主简历（首页展示用）
      */
@@ -146,7 +204,7 @@ public class UserController {
         List<Resume> resumes = resumeService.getResumesByUserId(userId);
         if (resumes != null && !resumes.isEmpty()) {
             // 默认返回第一个简历（如有主简历逻辑可替换）
-            return Result.success(resumes.get(0));
+            return Result.success(resumeDraftService.withDraft(resumes.get(0)));
         }
         return Result.error("暂无简历数据");
     }
@@ -162,6 +220,7 @@ public class UserController {
         System.out.println("请求删除简历id: " + id);
         System.out.println("查到简历: " + (resume != null ? resume.getId() : "null") + ", userId: " + (resume != null ? resume.getUserId() : "null"));
         if (resume != null && resume.getUserId().equals(userId)) {
+            resumeDraftService.discard(id);
             boolean success = resumeService.deleteResume(id);
             if (success) {
                 return Result.success("简历删除成功");
@@ -171,6 +230,67 @@ public class UserController {
         return Result.error("无权操作或简历不存在");
     }
 
+    /**
+     * 查看简历的历史版本列表
+     */
+    @GetMapping("/resume/{id}/versions")
+    public Result<?> getResumeVersions(@PathVariable Integer id, HttpServletRequest request) {
+        Integer userId = getUserIdFromToken(request);
+        Resume resume = resumeService.getResumeById(id);
+        if (resume == null || !resume.getUserId().equals(userId)) {
+            return Result.error("无权操作或简历不存在");
+        }
+        resumeDraftService.flush(id);
+        return Result.success(resumeVersionService.listVersions(id));
+    }
+
+    /**
+     * 查看简历某个历史版本的完整内容
+     */
+    @GetMapping("/resume/{id}/versions/{versionNo}")
+    public Result<?> getResumeVersion(@PathVariable Integer id, @PathVariable int versionNo, HttpServletRequest request) {
+        Integer userId = getUserIdFromToken(request);
+        Resume resume = resumeService.getResumeById(id);
+        if (resume == null || !resume.getUserId().equals(userId)) {
+            return Result.error("无权操作或简历不存在");
+        }
+        ResumeVersionVO version = resumeVersionService.getVersion(id, versionNo);
+        if (version == null) {
+            return Result.error("版本不存在");
+        }
+        return Result.success(version);
+    }
+
+    /**
+     * 将简历回滚到某个历史版本（回滚本身也会生成一个新版本）
+     */
+    @PostMapping("/resume/{id}/versions/{versionNo}/rollback")
+    public Result<?> rollbackResume(@PathVariable Integer id, @PathVariable int versionNo, HttpServletRequest request) {
+        Integer userId = getUserIdFromToken(request);
+        Resume resume = resumeService.getResumeById(id);
+        if (resume == null || !resume.getUserId().equals(userId)) {
+            return Result.error("无权操作或简历不存在");
+        }
+        resumeDraftService.discard(id);
+        Resume rolledBack = resumeService.rollbackResume(id, versionNo);
+        if (rolledBack == null) {
+            return Result.error("版本不存在");
+        }
+        return Result.success("简历已回滚", rolledBack);
+    }
+
+
+    /**
+     * 写入简历的自动保存草稿，并返回写入后的简历（调用方须已校验归属）
+     */
+    private Resume flushDraft(Resume resume) {
+        resumeDraftService.flush(resume.getId());
+        Resume latest = resumeService.getResumeById(resume.getId());
+        if (latest == null) {
+            throw new RuntimeException("无权操作或简历不存在");
+        }
+        return latest;
+    }
 
     /**
      * 导出PDF
@@ -182,171 +302,56 @@ public class UserController {
         if (resume == null || !resume.getUserId().equals(userId)) {
             throw new RuntimeException("无权操作或简历不存在");
         }
+        // 校验归属后再写入未保存的自动保存草稿，导出最新内容
+        resume = flushDraft(resume);
 
-        // 解析JSON内容获取个人信息
-        com.alibaba.fastjson.JSONObject content = com.alibaba.fastjson.JSON.parseObject(resume.getContent());
-        com.alibaba.fastjson.JSONObject personalInfo = content.getJSONObject("personalInfo");
-        
-        // 构建文件名：姓名-岗位.pdf
-        String name = personalInfo.getString("name");
-        String title = personalInfo.getString("title");
-        String fileName = name + "-" + title + ".pdf";
-        
-        // 对文件名进行URL编码以支持中文
-        fileName = java.net.URLEncoder.encode(fileName, "UTF-8");
+        // 内容未变化时直接返回304，浏览器每次都需重新验证
+        response.setHeader("Cache-Control", "private, no-cache");
+        if (new ServletWebRequest(request, response).checkNotModified("\"" + resumePdfCache.fingerprint(resume) + "\"")) {
+            return;
+        }
+
+        // 构建文件名：姓名-岗位.pdf，并进行URL编码以支持中文
+        String fileName = java.net.URLEncoder.encode(resumePdfRenderer.buildFileName(resume), "UTF-8");
 
         // 设置响应头
         response.setContentType("application/pdf");
         response.setCharacterEncoding("UTF-8");
         // 设置为强制下载
         response.setHeader("Content-Disposition", "attachment; filename=\"" + fileName + "\"; filename*=UTF-8''" + fileName);
-        // 防止缓存
-        response.setHeader("Cache-Control", "no-cache, no-store, must-revalidate");
-        response.setHeader("Pragma", "no-cache");
-        response.setHeader("Expires", "0");
-
-        // 创建PDF文档
-        com.itextpdf.text.Document document = new com.itextpdf.text.Document(com.itextpdf.text.PageSize.A4);
-        com.itextpdf.text.pdf.PdfWriter.getInstance(document, response.getOutputStream());
-        document.open();
-
-        try {
-            // 使用iText内置中文字体
-            com.itextpdf.text.pdf.BaseFont baseFont = com.itextpdf.text.pdf.BaseFont.createFont("STSong-Light", "UniGB-UCS2-H", com.itextpdf.text.pdf.BaseFont.NOT_EMBEDDED);
-            com.itextpdf.text.Font titleFont = new com.itextpdf.text.Font(baseFont, 20, com.itextpdf.text.Font.BOLD);
-            com.itextpdf.text.Font subtitleFont = new com.itextpdf.text.Font(baseFont, 16, com.itextpdf.text.Font.BOLD);
-            com.itextpdf.text.Font normalFont = new com.itextpdf.text.Font(baseFont, 12, com.itextpdf.text.Font.NORMAL);
-            com.itextpdf.text.Font smallFont = new com.itextpdf.text.Font(baseFont, 10, com.itextpdf.text.Font.NORMAL);
-
-            // 创建表格用于布局
-            com.itextpdf.text.pdf.PdfPTable mainTable = new com.itextpdf.text.pdf.PdfPTable(1);
-            mainTable.setWidthPercentage(100);
-            mainTable.setSpacingAfter(10);
-
-            // 个人信息部分 - 使用表格布局
-            com.itextpdf.text.pdf.PdfPTable personalTable = new com.itextpdf.text.pdf.PdfPTable(2);
-            personalTable.setWidthPercentage(100);
-            personalTable.setSpacingAfter(15);
-            
-            // 添加个人信息标题
-            com.itextpdf.text.pdf.PdfPCell titleCell = new com.itextpdf.text.pdf.PdfPCell(new com.itextpdf.text.Paragraph(personalInfo.getString("name"), titleFont));
-            titleCell.setColspan(2);
-            titleCell.setHorizontalAlignment(com.itextpdf.text.Element.ALIGN_CENTER);
-            titleCell.setBackgroundColor(com.itextpdf.text.BaseColor.LIGHT_GRAY);
-            titleCell.setPadding(10);
-            personalTable.addCell(titleCell);
-            
-            // 岗位信息
-            com.itextpdf.text.pdf.PdfPCell positionCell = new com.itextpdf.text.pdf.PdfPCell(new com.itextpdf.text.Paragraph(personalInfo.getString("title"), subtitleFont));
-            positionCell.setColspan(2);
-            positionCell.setHorizontalAlignment(com.itextpdf.text.Element.ALIGN_CENTER);
-            positionCell.setPadding(5);
-            personalTable.addCell(positionCell);
-            
-            // 联系方式信息 - 左右分布
-            personalTable.addCell(new com.itextpdf.text.pdf.PdfPCell(new com.itextpdf.text.Paragraph("姓名：" + personalInfo.getString("name"), normalFont)));
-            personalTable.addCell(new com.itextpdf.text.pdf.PdfPCell(new com.itextpdf.text.Paragraph("岗位：" + personalInfo.getString("title"), normalFont)));
-            personalTable.addCell(new com.itextpdf.text.pdf.PdfPCell(new com.itextpdf.text.Paragraph("电话：" + personalInfo.getString("phone"), normalFont)));
-            personalTable.addCell(new com.itextpdf.text.pdf.PdfPCell(new com.itextpdf.text.Paragraph("邮箱：" + personalInfo.getString("email"), normalFont)));
-            personalTable.addCell(new com.itextpdf.text.pdf.PdfPCell(new com.itextpdf.text.Paragraph("地址：" + personalInfo.getString("location"), normalFont)));
-            personalTable.addCell(new com.itextpdf.text.pdf.PdfPCell(new com.itextpdf.text.Paragraph("", normalFont))); // 空单元格
-            
-            mainTable.addCell(new com.itextpdf.text.pdf.PdfPCell(personalTable));
-
-            // 个人简介部分
-            com.itextpdf.text.pdf.PdfPCell summaryCell = new com.itextpdf.text.pdf.PdfPCell();
-            summaryCell.addElement(new com.itextpdf.text.Paragraph("个人简介", subtitleFont));
-            summaryCell.addElement(new com.itextpdf.text.Paragraph(content.getString("summary"), normalFont));
-            summaryCell.setPadding(10);
-            summaryCell.setBackgroundColor(com.itextpdf.text.BaseColor.WHITE);
-            summaryCell.setBorder(com.itextpdf.text.Rectangle.BOX);
-            summaryCell.setBorderColor(com.itextpdf.text.BaseColor.LIGHT_GRAY);
-            mainTable.addCell(summaryCell);
-
-            // 教育背景部分
-            java.util.List<com.alibaba.fastjson.JSONObject> education = content.getJSONArray("education").toJavaList(com.alibaba.fastjson.JSONObject.class);
-            if (!education.isEmpty()) {
-                com.itextpdf.text.pdf.PdfPCell educationCell = new com.itextpdf.text.pdf.PdfPCell();
-                educationCell.addElement(new com.itextpdf.text.Paragraph("教育背景", subtitleFont));
-                for (com.alibaba.fastjson.JSONObject edu : education) {
-                    educationCell.addElement(new com.itextpdf.text.Paragraph(edu.getString("school"), normalFont));
-                    educationCell.addElement(new com.itextpdf.text.Paragraph(edu.getString("major") + " (" + edu.getString("degree") + ")", smallFont));
-                    educationCell.addElement(new com.itextpdf.text.Paragraph(edu.getString("startDate") + " - " + edu.getString("endDate"), smallFont));
-                    educationCell.addElement(new com.itextpdf.text.Paragraph(" ")); // 空行
-                }
-                educationCell.setPadding(10);
-                educationCell.setBackgroundColor(com.itextpdf.text.BaseColor.WHITE);
-                educationCell.setBorder(com.itextpdf.text.Rectangle.BOX);
-                educationCell.setBorderColor(com.itextpdf.text.BaseColor.LIGHT_GRAY);
-                mainTable.addCell(educationCell);
-            }
-
-            // 工作经历部分
-            java.util.List<com.alibaba.fastjson.JSONObject> workExperience = content.getJSONArray("workExperience").toJavaList(com.alibaba.fastjson.JSONObject.class);
-            if (!workExperience.isEmpty()) {
-                com.itextpdf.text.pdf.PdfPCell workCell = new com.itextpdf.text.pdf.PdfPCell();
-                workCell.addElement(new com.itextpdf.text.Paragraph("工作经历", subtitleFont));
-                for (com.alibaba.fastjson.JSONObject work : workExperience) {
-                    workCell.addElement(new com.itextpdf.text.Paragraph(work.getString("company") + " - " + work.getString("position"), normalFont));
-                    workCell.addElement(new com.itextpdf.text.Paragraph(work.getString("startDate") + " - " + work.getString("endDate"), smallFont));
-                    workCell.addElement(new com.itextpdf.text.Paragraph(work.getString("description"), normalFont));
-                    workCell.addElement(new com.itextpdf.text.Paragraph(" ")); // 空行
-                }
-                workCell.setPadding(10);
-                workCell.setBackgroundColor(com.itextpdf.text.BaseColor.WHITE);
-                workCell.setBorder(com.itextpdf.text.Rectangle.BOX);
-                workCell.setBorderColor(com.itextpdf.text.BaseColor.LIGHT_GRAY);
-                mainTable.addCell(workCell);
-            }
 
-            // 项目经历部分
-            java.util.List<com.alibaba.fastjson.JSONObject> projectExperience = content.getJSONArray("projectExperience").toJavaList(com.alibaba.fastjson.JSONObject.class);
-            if (!projectExperience.isEmpty()) {
-                com.itextpdf.text.pdf.PdfPCell projectCell = new com.itextpdf.text.pdf.PdfPCell();
-                projectCell.addElement(new com.itextpdf.text.Paragraph("项目经历", subtitleFont));
-                for (com.alibaba.fastjson.JSONObject project : projectExperience) {
-                    projectCell.addElement(new com.itextpdf.text.Paragraph(project.getString("name") + " - " + project.getString("role"), normalFont));
-                    projectCell.addElement(new com.itextpdf.text.Paragraph(project.getString("startDate") + " - " + project.getString("endDate"), smallFont));
-                    
-                    // 处理技术栈
-                    String technologies = "";
-                    if (project.getJSONArray("technologies") != null) {
-                        technologies = String.join(", ", project.getJSONArray("technologies").toJavaList(String.class));
-                    } else if (project.getString("technologies") != null) {
-                        technologies = project.getString("technologies");
-                    }
-                    if (!technologies.isEmpty()) {
-                        projectCell.addElement(new com.itextpdf.text.Paragraph("技术栈：" + technologies, smallFont));
-                    }
-                    
-                    projectCell.addElement(new com.itextpdf.text.Paragraph(project.getString("description"), normalFont));
-                    projectCell.addElement(new com.itextpdf.text.Paragraph(" ")); // 空行
-                }
-                projectCell.setPadding(10);
-                projectCell.setBackgroundColor(com.itextpdf.text.BaseColor.WHITE);
-                projectCell.setBorder(com.itextpdf.text.Rectangle.BOX);
-                projectCell.setBorderColor(com.itextpdf.text.BaseColor.LIGHT_GRAY);
-                mainTable.addCell(projectCell);
-            }
+        // 打开缓存文件后再读取大小和内容，期间缓存失效或淘汰不影响本次下载
+        try (FileChannel pdf = resumePdfCache.openOrRender(resume)) {
+            response.setContentLengthLong(pdf.size());
+            StreamUtils.copy(Channels.newInputStream(pdf), response.getOutputStream());
+        }
+    }
 
-            // 技能特长部分
-            java.util.List<String> skills = content.getJSONArray("skills").toJavaList(String.class);
-            if (!skills.isEmpty()) {
-                com.itextpdf.text.pdf.PdfPCell skillsCell = new com.itextpdf.text.pdf.PdfPCell();
-                skillsCell.addElement(new com.itextpdf.text.Paragraph("技能特长", subtitleFont));
-                skillsCell.addElement(new com.itextpdf.text.Paragraph(String.join("、", skills), normalFont));
-                skillsCell.setPadding(10);
-                skillsCell.setBackgroundColor(com.itextpdf.text.BaseColor.WHITE);
-                skillsCell.setBorder(com.itextpdf.text.Rectangle.BOX);
-                skillsCell.setBorderColor(com.itextpdf.text.BaseColor.LIGHT_GRAY);
-                mainTable.addCell(skillsCell);
-            }
+    /**
+     * 导出Word（DOCX）
+     */
+    @GetMapping("/resume/{id}/export/docx")
+    public void exportDocx(@PathVariable Integer id, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Integer userId = getUserIdFromToken(request);
+        Resume resume = resumeService.getResumeById(id);
+        if (resume == null || !resume.getUserId().equals(userId)) {
+            throw new RuntimeException("无权操作或简历不存在");
+        }
+        resume = flushDraft(resume);
 
-            // 添加主表格到文档
-            document.add(mainTable);
-        } finally {
-            document.close();
+        response.setHeader("Cache-Control", "private, no-cache");
+        if (new ServletWebRequest(request, response).checkNotModified("\"docx-" + resumePdfCache.fingerprint(resume) + "\"")) {
+            return;
         }
+
+        // 构建文件名：姓名-岗位.docx，并进行URL编码以支持中文
+        String fileName = java.net.URLEncoder.encode(resumeDocxRenderer.buildFileName(resume), "UTF-8");
+
+        response.setContentType(ResumeDocxRenderer.CONTENT_TYPE);
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + fileName + "\"; filename*=UTF-8''" + fileName);
+
+        // 边生成边写出，不在内存中缓存整个文件
+        resumeDocxRenderer.render(resume, response.getOutputStream());
     }
 
 
@@ -368,6 +373,7 @@ public class UserController {
         user.setPassword(encrypted);
         boolean success = userService.updateById(user);
         if (success) {
+            userPrincipalService.invalidate(username);
             return Result.success("密码重置成功");
         }
         return Result.error("密码重置失败");
@@ -377,35 +383,6 @@ public class UserController {
      * 从Token中获取当前用户ID
      */
     private Integer getUserIdFromToken(HttpServletRequest request) {
-        String token = request.getHeader("Authorization");
-        
-        // 如果Header中没有token，尝试从查询参数获取
-        if (token == null || !token.startsWith("Bearer ")) {
-            token = request.getParameter("token");
-            System.out.println("从查询参数获取token: " + (token != null ? token.substring(0, Math.min(20, token.length())) + "..." : "null"));
-        } else {
-            token = token.substring(7);
-            System.out.println("从Header获取token: " + token.substring(0, Math.min(20, token.length())) + "...");
-        }
-        
-        if (token != null && !token.isEmpty()) {
-            try {
-                String username = jwtUtil.getUsernameFromToken(token);
-                System.out.println("从token解析用户名: " + username);
-                User user = userService.lambdaQuery().eq(User::getUsername, username).one();
-                if (user != null) {
-                    System.out.println("找到用户: " + user.getId());
-                    return user.getId();
-                } else {
-                    System.out.println("用户不存在: " + username);
-                }
-            } catch (Exception e) {
-                System.out.println("Token解析失败: " + e.getMessage());
-                e.printStackTrace();
-            }
-        } else {
-            System.out.println("Token为空");
-        }
-        throw new RuntimeException("未登录或登录已过期");
+        return userPrincipalService.getCurrentUserId(request);
     }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.resume.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 批量导出DTO（按用户名或简历ID列表筛选）
+ */
+@Data
+public class BulkExportDTO {
+    /** 用户名 */
+    private String username;
+    /** 简历ID列表 */
+    private List<Integer> ids;
+}
@@ -15,4 +15,6 @@ public class ResumeDTO {
     @NotBlank(message = "简历内容不能为空")
     private String content;
     private Integer themeId;
+    /** 读取简历时得到的版本号，更新时与数据库不一致返回409；为空时不校验 */
+    private Integer version;
 }
\ No newline at end of file
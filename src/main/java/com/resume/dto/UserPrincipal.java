@@ -0,0 +1,19 @@
+package com.resume.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 当前登录用户身份（用户名 → 用户ID/角色）
+ * 不可变对象，可安全地在缓存中共享
+ */
+@Getter
+@AllArgsConstructor
+public class UserPrincipal {
+    /** 用户ID */
+    private final Integer userId;
+    /** 用户名 */
+    private final String username;
+    /** 角色（admin/user） */
+    private final String role;
+}
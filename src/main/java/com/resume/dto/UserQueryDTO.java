@@ -0,0 +1,24 @@
+package com.resume.dto;
+
+import lombok.Data;
+
+/**
+ * 用户列表查询条件
+ */
+@Data
+public class UserQueryDTO {
+    /** 当前页 */
+    private int current = 1;
+    /** 每页条数 */
+    private int size = 10;
+    /** 用户名前缀 */
+    private String username;
+    /** 角色（admin/user） */
+    private String role;
+    /** 排序字段：id / username / createTime */
+    private String sortField = "id";
+    /** 排序方向：asc / desc */
+    private String sortOrder = "asc";
+    /** 是否统计每个用户的简历数量 */
+    private boolean withResumeCount;
+}
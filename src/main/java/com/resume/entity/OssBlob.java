@@ -0,0 +1,30 @@
+package com.resume.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 按内容寻址存储的OSS文件（相同内容只保存一份）
+ */
+@Data
+@TableName("oss_blob")
+public class OssBlob {
+    @TableId(type = IdType.AUTO)
+    private Integer id;
+    /** 文件内容的SHA-256 */
+    private String hash;
+    /** 相对OSS根目录的存储路径 */
+    private String filePath;
+    /** 文件大小(字节) */
+    private Long fileSize;
+    /** 引用次数，降为0时删除物理文件 */
+    private Integer refCount;
+    /** 创建时间 */
+    private LocalDateTime createTime;
+    /** 更新时间 */
+    private LocalDateTime updateTime;
+}
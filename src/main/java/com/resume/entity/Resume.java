@@ -3,6 +3,7 @@ package com.resume.entity;
 import com.baomidou.mybatisplus.annotation.IdType;
 import com.baomidou.mybatisplus.annotation.TableId;
 import com.baomidou.mybatisplus.annotation.TableName;
+import com.baomidou.mybatisplus.annotation.Version;
 import lombok.Data;
 
 import java.time.LocalDateTime;
@@ -27,4 +28,7 @@ public class Resume {
     private LocalDateTime createTime;
     /** 更新时间 */
     private LocalDateTime updateTime;
+    /** 乐观锁版本号，每次更新递增 */
+    @Version
+    private Integer version;
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.resume.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 简历历史版本
+ * 每隔若干版本保存一次完整内容（快照），其余版本只保存相对上一版本的JSON合并补丁
+ */
+@Data
+@TableName("resume_version")
+public class ResumeVersion {
+
+    public static final String TYPE_SNAPSHOT = "SNAPSHOT";
+    public static final String TYPE_DIFF = "DIFF";
+
+    @TableId(type = IdType.AUTO)
+    private Long id;
+    /** 简历ID */
+    private Integer resumeId;
+    /** 版本号，从1开始连续递增 */
+    private Integer versionNo;
+    /** 类型：SNAPSHOT/DIFF */
+    private String type;
+    /** 简历名称 */
+    private String name;
+    /** 快照为完整内容，补丁为相对上一版本的RFC 7386合并补丁 */
+    private String content;
+    /** 主题ID */
+    private Integer themeId;
+    /** 创建时间 */
+    private LocalDateTime createTime;
+}
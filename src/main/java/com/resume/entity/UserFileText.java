@@ -0,0 +1,40 @@
+package com.resume.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 上传文件的提取文本（按文件地址保存，内容相同的文件只提取一次）
+ */
+@Data
+@TableName("user_file_text")
+public class UserFileText {
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_DONE = "DONE";
+    public static final String STATUS_FAILED = "FAILED";
+
+    @TableId(type = IdType.AUTO)
+    private Integer id;
+    /** 文件URL，与user_file.file_path对应 */
+    private String filePath;
+    /** 状态：PENDING/DONE/FAILED */
+    private String status;
+    /** 页数 */
+    private Integer pageCount;
+    /** 文本字符数（截断前） */
+    private Integer charCount;
+    /** 提取的文本 */
+    private String content;
+    /** 提取失败原因 */
+    private String errorMessage;
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime createTime;
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime updateTime;
+}
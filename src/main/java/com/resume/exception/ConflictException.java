@@ -0,0 +1,21 @@
+package com.resume.exception;
+
+/**
+ * 并发修改冲突异常（返回409）
+ */
+public class ConflictException extends BusinessException {
+
+    /**
+     * 数据库中的当前版本号
+     */
+    private final Integer currentVersion;
+
+    public ConflictException(String message, Integer currentVersion) {
+        super(message);
+        this.currentVersion = currentVersion;
+    }
+
+    public Integer getCurrentVersion() {
+        return currentVersion;
+    }
+}
@@ -2,13 +2,17 @@ package com.resume.exception;
 
 import com.resume.vo.Result;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.validation.BindException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 全局异常处理器
@@ -41,6 +45,17 @@ public class GlobalExceptionHandler {
         return Result.error("参数绑定失败");
     }
     
+    /**
+     * 处理并发修改冲突，返回409和当前版本号，客户端据此合并后重试
+     */
+    @ExceptionHandler(ConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public Result<Map<String, Integer>> handleConflictException(ConflictException e) {
+        log.warn("并发修改冲突：{}", e.getMessage());
+        return new Result<>(HttpStatus.CONFLICT.value(), e.getMessage(),
+                Collections.singletonMap("currentVersion", e.getCurrentVersion()));
+    }
+
     /**
      * 处理业务异常
      */
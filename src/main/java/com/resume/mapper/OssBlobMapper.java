@@ -0,0 +1,37 @@
+package com.resume.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.resume.entity.OssBlob;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
+
+/**
+ * OSS文件引用计数Mapper接口
+ */
+@Mapper
+public interface OssBlobMapper extends BaseMapper<OssBlob> {
+
+    /**
+     * 增加一次引用，记录不存在时新建（引用数为1）
+     */
+    @Insert("INSERT INTO oss_blob (hash, file_path, file_size, ref_count) VALUES (#{hash}, #{filePath}, #{fileSize}, 1) "
+            + "ON DUPLICATE KEY UPDATE ref_count = ref_count + 1")
+    int incrementRef(@Param("hash") String hash, @Param("filePath") String filePath, @Param("fileSize") long fileSize);
+
+    /**
+     * 减少一次引用
+     * @return 影响行数，记录不存在或引用数已为0时返回0
+     */
+    @Update("UPDATE oss_blob SET ref_count = ref_count - 1 WHERE file_path = #{filePath} AND ref_count > 0")
+    int decrementRef(@Param("filePath") String filePath);
+
+    /**
+     * 删除已无引用的记录
+     * @return 影响行数，仍有引用时返回0
+     */
+    @Delete("DELETE FROM oss_blob WHERE file_path = #{filePath} AND ref_count = 0")
+    int deleteUnreferenced(@Param("filePath") String filePath);
+}
@@ -1,12 +1,47 @@
 package com.resume.mapper;
 
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
 import com.resume.entity.Resume;
+import com.resume.vo.ResumeSummary;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultType;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.util.List;
 
 /**
  * 简历Mapper接口
  */
 @Mapper
 public interface ResumeMapper extends BaseMapper<Resume> {
-} 
\ No newline at end of file
+
+    String SUMMARY_COLUMNS = "id, user_id, name, theme_id, create_time, update_time";
+
+    /**
+     * 分页查询简历摘要（不查询content列）
+     */
+    @Select("SELECT " + SUMMARY_COLUMNS + " FROM resume ${ew.customSqlSegment}")
+    IPage<ResumeSummary> selectSummaryPage(IPage<ResumeSummary> page, @Param(Constants.WRAPPER) Wrapper<Resume> wrapper);
+
+    /**
+     * 查询简历摘要列表（不查询content列）
+     */
+    @Select("SELECT " + SUMMARY_COLUMNS + " FROM resume ${ew.customSqlSegment}")
+    List<ResumeSummary> selectSummaryList(@Param(Constants.WRAPPER) Wrapper<Resume> wrapper);
+
+    /**
+     * 流式查询简历，MySQL驱动逐行读取结果，不在内存中保留整个结果集
+     * 查询列必须通过 wrapper.select 指定
+     */
+    @Select("SELECT ${ew.sqlSelect} FROM resume ${ew.customSqlSegment}")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    @ResultType(Resume.class)
+    void streamResumes(@Param(Constants.WRAPPER) Wrapper<Resume> wrapper, ResultHandler<Resume> handler);
+}
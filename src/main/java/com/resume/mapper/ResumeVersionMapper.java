@@ -0,0 +1,12 @@
+package com.resume.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.resume.entity.ResumeVersion;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * 简历历史版本Mapper接口
+ */
+@Mapper
+public interface ResumeVersionMapper extends BaseMapper<ResumeVersion> {
+}
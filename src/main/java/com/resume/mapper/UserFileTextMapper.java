@@ -0,0 +1,37 @@
+package com.resume.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.resume.entity.UserFileText;
+import com.resume.vo.UserFileSearchHit;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+/**
+ * 上传文件提取文本Mapper接口
+ */
+@Mapper
+public interface UserFileTextMapper extends BaseMapper<UserFileText> {
+
+    /**
+     * 登记待提取的文件，已存在时不做修改
+     * @return 新登记时返回1
+     */
+    @Insert("INSERT IGNORE INTO user_file_text (file_path, status) VALUES (#{filePath}, 'PENDING')")
+    int insertPending(@Param("filePath") String filePath);
+
+    /**
+     * 按全文索引（ngram分词）检索仍被用户文件引用的文本，按相关度排序
+     * @param query 布尔模式检索串
+     * @param keyword 原始关键词，用于截取命中片段
+     */
+    @Select("SELECT f.id AS user_file_id, f.user_id, f.original_name, f.file_type, f.file_path, f.upload_time, t.page_count, "
+            + "SUBSTRING(t.content, GREATEST(LOCATE(#{keyword}, t.content) - 40, 1), 160) AS snippet, "
+            + "MATCH(t.content) AGAINST(#{query} IN BOOLEAN MODE) AS score "
+            + "FROM user_file_text t JOIN user_file f ON f.file_path = t.file_path "
+            + "WHERE t.status = 'DONE' AND MATCH(t.content) AGAINST(#{query} IN BOOLEAN MODE) "
+            + "ORDER BY score DESC, f.id DESC")
+    IPage<UserFileSearchHit> search(IPage<UserFileSearchHit> page, @Param("query") String query, @Param("keyword") String keyword);
+}
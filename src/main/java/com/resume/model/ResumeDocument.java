@@ -0,0 +1,196 @@
+package com.resume.model;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.JSONObject;
+import com.resume.exception.BusinessException;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 简历内容的类型化模型
+ * 由简历content的JSON一次解析得到，缺失的字段统一为空字符串或空列表；实例会被缓存共享，创建后不可修改
+ */
+@Getter
+public class ResumeDocument {
+
+    private final PersonalInfo personalInfo;
+    /** 个人简介 */
+    private final String summary;
+    /** 教育背景 */
+    private final List<Education> education;
+    /** 工作经历 */
+    private final List<WorkExperience> workExperience;
+    /** 项目经历 */
+    private final List<ProjectExperience> projectExperience;
+    /** 技能特长 */
+    private final List<String> skills;
+
+    private ResumeDocument(JSONObject content) {
+        JSONObject info = content.getJSONObject("personalInfo");
+        this.personalInfo = new PersonalInfo(info != null ? info : new JSONObject());
+        this.summary = text(content, "summary");
+        List<Education> education = new ArrayList<>();
+        for (JSONObject item : objects(content, "education")) {
+            education.add(new Education(item));
+        }
+        this.education = Collections.unmodifiableList(education);
+        List<WorkExperience> work = new ArrayList<>();
+        for (JSONObject item : objects(content, "workExperience")) {
+            work.add(new WorkExperience(item));
+        }
+        this.workExperience = Collections.unmodifiableList(work);
+        List<ProjectExperience> projects = new ArrayList<>();
+        for (JSONObject item : objects(content, "projectExperience")) {
+            projects.add(new ProjectExperience(item));
+        }
+        this.projectExperience = Collections.unmodifiableList(projects);
+        this.skills = strings(content.get("skills"));
+    }
+
+    /**
+     * 解析简历内容，内容不是合法的JSON对象时抛出业务异常
+     */
+    public static ResumeDocument parse(String content) {
+        JSONObject json;
+        try {
+            json = JSON.parseObject(content);
+        } catch (JSONException | ClassCastException e) {
+            throw new BusinessException("简历内容格式错误");
+        }
+        return new ResumeDocument(json != null ? json : new JSONObject());
+    }
+
+    /**
+     * 个人信息
+     */
+    @Getter
+    public static class PersonalInfo {
+        private final String name;
+        /** 求职岗位 */
+        private final String title;
+        private final String phone;
+        private final String email;
+        private final String location;
+
+        private PersonalInfo(JSONObject json) {
+            this.name = text(json, "name");
+            this.title = text(json, "title");
+            this.phone = text(json, "phone");
+            this.email = text(json, "email");
+            this.location = text(json, "location");
+        }
+    }
+
+    /**
+     * 教育经历
+     */
+    @Getter
+    public static class Education {
+        private final String school;
+        private final String major;
+        private final String degree;
+        private final String startDate;
+        private final String endDate;
+
+        private Education(JSONObject json) {
+            this.school = text(json, "school");
+            this.major = text(json, "major");
+            this.degree = text(json, "degree");
+            this.startDate = text(json, "startDate");
+            this.endDate = text(json, "endDate");
+        }
+    }
+
+    /**
+     * 工作经历
+     */
+    @Getter
+    public static class WorkExperience {
+        private final String company;
+        private final String position;
+        private final String startDate;
+        private final String endDate;
+        private final String description;
+
+        private WorkExperience(JSONObject json) {
+            this.company = text(json, "company");
+            this.position = text(json, "position");
+            this.startDate = text(json, "startDate");
+            this.endDate = text(json, "endDate");
+            this.description = text(json, "description");
+        }
+    }
+
+    /**
+     * 项目经历
+     */
+    @Getter
+    public static class ProjectExperience {
+        private final String name;
+        private final String role;
+        private final String startDate;
+        private final String endDate;
+        /** 技术栈（兼容数组和逗号分隔字符串两种格式） */
+        private final List<String> technologies;
+        private final String description;
+
+        private ProjectExperience(JSONObject json) {
+            this.name = text(json, "name");
+            this.role = text(json, "role");
+            this.startDate = text(json, "startDate");
+            this.endDate = text(json, "endDate");
+            this.technologies = technologies(json.get("technologies"));
+            this.description = text(json, "description");
+        }
+    }
+
+    private static String text(JSONObject json, String key) {
+        String value = json.getString(key);
+        return value != null ? value : "";
+    }
+
+    private static List<JSONObject> objects(JSONObject json, String key) {
+        List<JSONObject> result = new ArrayList<>();
+        Object value = json.get(key);
+        if (value instanceof JSONArray) {
+            for (Object item : (JSONArray) value) {
+                if (item instanceof JSONObject) {
+                    result.add((JSONObject) item);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static List<String> strings(Object value) {
+        List<String> result = new ArrayList<>();
+        if (value instanceof JSONArray) {
+            for (Object item : (JSONArray) value) {
+                if (item != null) {
+                    result.add(item.toString());
+                }
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private static List<String> technologies(Object value) {
+        if (value instanceof JSONArray) {
+            return strings(value);
+        }
+        List<String> result = new ArrayList<>();
+        if (value != null) {
+            for (String item : value.toString().split(",")) {
+                if (!item.trim().isEmpty()) {
+                    result.add(item.trim());
+                }
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+}
@@ -0,0 +1,19 @@
+package com.resume.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * 上传文件预览服务接口
+ * 预览包含页数、第一页文本和简短摘要，首次请求时生成，以 {文件名}{@link com.resume.storage.StorageBackend#SIDECAR_SUFFIX} 保存在原文件旁
+ */
+public interface FilePreviewService {
+
+    /**
+     * 获取预览文件，不存在时生成
+     * @param fileUrl 文件URL
+     * @return 预览文件路径，原文件不存在或不支持预览时返回null
+     * @throws IOException 文件解析失败（不保存预览，下次请求时重新生成）
+     */
+    Path getPreview(String fileUrl) throws IOException;
+}
@@ -39,4 +39,13 @@ public interface LocalOssService {
      * @return 是否存在
      */
     boolean fileExists(String fileUrl);
+
+    /**
+     * 在引用计数锁内确认内容寻址文件已无引用后，将其移动到指定位置（用于孤儿文件隔离）
+     * @param relativePath 文件key（相对存储根目录的路径）
+     * @param file 扫描到的文件（分片存储时位于某个存储卷上）
+     * @param target 移动目标
+     * @return 是否已移动，仍有引用或文件不存在时返回false
+     */
+    boolean quarantineBlob(String relativePath, Path file, Path target) throws IOException;
 }
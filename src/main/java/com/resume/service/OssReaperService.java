@@ -0,0 +1,28 @@
+package com.resume.service;
+
+import com.resume.vo.OssReaperStatsVO;
+
+/**
+ * OSS孤儿文件回收服务接口
+ * 定期扫描本地OSS目录，将数据库中已无引用的文件移入隔离区，隔离期满后再删除
+ */
+public interface OssReaperService {
+
+    /**
+     * 执行一轮回收（清理过期隔离文件、过期上传临时文件，扫描并隔离孤儿文件）
+     * @return 已有回收在执行时返回false
+     */
+    boolean reap();
+
+    /**
+     * 在后台执行一轮回收
+     * @return 已有回收在执行时返回false
+     */
+    boolean reapAsync();
+
+    /**
+     * 获取回收统计
+     * @return 统计信息
+     */
+    OssReaperStatsVO getStats();
+}
@@ -0,0 +1,24 @@
+package com.resume.service;
+
+import com.resume.entity.Resume;
+import com.resume.model.ResumeDocument;
+
+/**
+ * 简历文档服务接口
+ * 负责将简历内容解析为类型化的 {@link ResumeDocument}，并按简历ID和版本缓存解析结果
+ */
+public interface ResumeDocumentService {
+
+    /**
+     * 获取简历的类型化文档（同一版本只解析一次）
+     * @param resume 简历
+     * @return 简历文档
+     */
+    ResumeDocument getDocument(Resume resume);
+
+    /**
+     * 使简历的缓存文档失效
+     * @param resumeId 简历ID
+     */
+    void invalidate(Integer resumeId);
+}
@@ -0,0 +1,31 @@
+package com.resume.service;
+
+import com.resume.entity.Resume;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 简历DOCX渲染服务接口
+ */
+public interface ResumeDocxRenderer {
+
+    /**
+     * DOCX文件的Content-Type
+     */
+    String CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+
+    /**
+     * 将简历渲染为DOCX并写入输出流（不关闭输出流）
+     * @param resume 简历
+     * @param out 输出流
+     */
+    void render(Resume resume, OutputStream out) throws IOException;
+
+    /**
+     * 生成导出文件名：姓名-岗位.docx
+     * @param resume 简历
+     * @return 文件名（未编码）
+     */
+    String buildFileName(Resume resume);
+}
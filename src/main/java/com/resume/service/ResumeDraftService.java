@@ -0,0 +1,45 @@
+package com.resume.service;
+
+import com.resume.entity.Resume;
+import com.resume.vo.ResumeDraftVO;
+
+/**
+ * 简历自动保存服务
+ * 编辑器提交的补丁先应用到内存中的草稿上，短时间内的连续保存合并为一次数据库写入
+ */
+public interface ResumeDraftService {
+
+    /**
+     * JSON补丁（RFC 6902）
+     */
+    String JSON_PATCH = "application/json-patch+json";
+
+    /**
+     * JSON合并补丁（RFC 7386）
+     */
+    String MERGE_PATCH = "application/merge-patch+json";
+
+    /**
+     * 将补丁应用到简历内容的草稿上，没有草稿时以数据库中的内容为基础
+     * @param userId 当前用户，简历不属于该用户时抛出业务异常
+     * @param patch 补丁文本
+     * @param mergePatch true为RFC 7386合并补丁，false为RFC 6902补丁
+     */
+    ResumeDraftVO patch(Integer resumeId, Integer userId, String patch, boolean mergePatch);
+
+    /**
+     * 立即写入草稿（导出、查看历史等需要读取最新内容前调用）
+     * @return 没有草稿或写入成功时返回true
+     */
+    boolean flush(Integer resumeId);
+
+    /**
+     * 丢弃草稿（整体覆盖、回滚或删除简历前调用）
+     */
+    void discard(Integer resumeId);
+
+    /**
+     * 有未写入的草稿时用草稿内容替换resume的内容，用于展示
+     */
+    Resume withDraft(Resume resume);
+}
@@ -0,0 +1,40 @@
+package com.resume.service;
+
+import com.resume.dto.BulkExportDTO;
+import com.resume.vo.ExportJobVO;
+
+import java.nio.file.Path;
+
+/**
+ * 简历批量导出任务服务接口
+ */
+public interface ResumeExportJobService {
+
+    /**
+     * 提交批量导出任务
+     * @param filter 筛选条件
+     * @return 任务状态
+     */
+    ExportJobVO submit(BulkExportDTO filter);
+
+    /**
+     * 查询任务进度
+     * @param jobId 任务ID
+     * @return 任务状态，不存在返回null
+     */
+    ExportJobVO getJob(String jobId);
+
+    /**
+     * 获取已完成任务的ZIP文件
+     * @param jobId 任务ID
+     * @return 文件路径，任务不存在、未完成或已过期返回null
+     */
+    Path getFile(String jobId);
+
+    /**
+     * 取消任务
+     * @param jobId 任务ID
+     * @return 是否取消成功（已结束的任务无法取消）
+     */
+    boolean cancel(String jobId);
+}
@@ -0,0 +1,47 @@
+package com.resume.service;
+
+import com.resume.entity.Resume;
+import com.resume.vo.ResumeFacetVO;
+
+import java.util.Map;
+
+/**
+ * 简历分面统计服务接口
+ * 在内存中维护每份简历的技能、学历、学校、所在地，简历增删改时增量更新
+ */
+public interface ResumeFacetService {
+
+    /** 技能 */
+    String SKILL = "skill";
+    /** 学历 */
+    String DEGREE = "degree";
+    /** 学校 */
+    String SCHOOL = "school";
+    /** 所在地 */
+    String LOCATION = "location";
+
+    /**
+     * 新增或更新简历的分面数据
+     * @param resume 简历
+     */
+    void index(Resume resume);
+
+    /**
+     * 删除简历的分面数据
+     * @param resumeId 简历ID
+     */
+    void remove(Integer resumeId);
+
+    /**
+     * 统计各维度取值的简历数
+     * @param filters 筛选条件（维度 -> 取值），只统计同时满足所有条件的简历
+     * @param limit 每个维度最多返回的取值数
+     * @return 统计结果
+     */
+    ResumeFacetVO getFacets(Map<String, String> filters, int limit);
+
+    /**
+     * 从数据库分批并行扫描全部简历，重建分面数据
+     */
+    void rebuild();
+}
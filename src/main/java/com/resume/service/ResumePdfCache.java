@@ -0,0 +1,43 @@
+package com.resume.service;
+
+import com.itextpdf.text.DocumentException;
+import com.resume.entity.Resume;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+/**
+ * 简历PDF渲染缓存接口
+ * 以 简历ID + 内容摘要 为键，将渲染结果保存在本地缓存目录下（不在OSS公开目录内）
+ */
+public interface ResumePdfCache {
+
+    /**
+     * 计算简历当前内容对应的缓存摘要（同时用作ETag）
+     * @param resume 简历
+     * @return 摘要
+     */
+    String fingerprint(Resume resume);
+
+    /**
+     * 获取已渲染的PDF文件，未命中时渲染并写入缓存
+     * @param resume 简历
+     * @return PDF文件路径
+     */
+    Path getOrRender(Resume resume) throws IOException, DocumentException;
+
+    /**
+     * 打开已渲染的PDF文件，未命中或文件在打开前被删除时重新渲染
+     * 返回的通道在关闭前不受失效和淘汰影响，调用方负责关闭
+     * @param resume 简历
+     * @return 只读文件通道
+     */
+    FileChannel openOrRender(Resume resume) throws IOException, DocumentException;
+
+    /**
+     * 使简历的所有缓存失效
+     * @param resumeId 简历ID
+     */
+    void invalidate(Integer resumeId);
+}
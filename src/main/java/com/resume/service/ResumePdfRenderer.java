@@ -0,0 +1,27 @@
+package com.resume.service;
+
+import com.itextpdf.text.DocumentException;
+import com.resume.entity.Resume;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 简历PDF渲染服务接口
+ */
+public interface ResumePdfRenderer {
+
+    /**
+     * 将简历渲染为PDF并写入输出流（不关闭输出流）
+     * @param resume 简历
+     * @param out 输出流
+     */
+    void render(Resume resume, OutputStream out) throws IOException, DocumentException;
+
+    /**
+     * 生成导出文件名：姓名-岗位.pdf
+     * @param resume 简历
+     * @return 文件名（未编码）
+     */
+    String buildFileName(Resume resume);
+}
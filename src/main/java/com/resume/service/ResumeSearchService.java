@@ -0,0 +1,39 @@
+package com.resume.service;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.resume.entity.Resume;
+import com.resume.vo.ResumeSearchHit;
+
+/**
+ * 简历全文检索服务接口
+ * 在本地磁盘维护简历内容的倒排索引，简历增删改时增量更新
+ */
+public interface ResumeSearchService {
+
+    /**
+     * 新增或更新简历索引
+     * @param resume 简历（需包含ID和内容）
+     */
+    void index(Resume resume);
+
+    /**
+     * 删除简历索引
+     * @param resumeId 简历ID
+     */
+    void remove(Integer resumeId);
+
+    /**
+     * 按关键词检索简历，结果按相关度排序
+     * @param keyword 关键词（技能、学校、公司、技术栈等）
+     * @param current 页码
+     * @param size 每页数量
+     * @return 分页结果
+     */
+    Page<ResumeSearchHit> search(String keyword, int current, int size);
+
+    /**
+     * 在后台从数据库重建索引
+     * @return 是否已开始重建（已有重建任务在执行时返回false）
+     */
+    boolean rebuildAsync();
+}
@@ -3,8 +3,11 @@ package com.resume.service;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.resume.dto.ResumeDTO;
 import com.resume.entity.Resume;
+import com.resume.vo.CursorPage;
+import com.resume.vo.ResumeSummary;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * 简历服务接口
@@ -14,9 +17,48 @@ public interface ResumeService {
     List<Resume> getAllResumes();
     Resume getResumeById(Integer id);
     boolean saveResume(Resume resume);
+    /**
+     * 更新简历，resume.version不为空时校验版本号，成功后版本号递增
+     * @throws com.resume.exception.ConflictException 版本号与数据库不一致
+     */
     boolean updateResume(Resume resume);
     boolean deleteResume(Integer id);
+    /**
+     * 简历删除后清理其PDF缓存、解析缓存、检索索引、分面统计和历史版本缓存
+     * （删除单份简历和级联删除用户共用；自动保存草稿由调用方丢弃）
+     */
+    void evictDeleted(Integer id);
+    /**
+     * 将简历恢复为指定历史版本的名称、内容和主题
+     * @return 恢复后的简历，简历或版本不存在时返回null
+     */
+    Resume rollbackResume(Integer id, int versionNo);
     Resume getById(Integer id);
     List<Resume> getResumesByUserId(Integer userId);
     Page<Resume> getResumeListByUsername(int current, int size, String username);
+    List<Integer> getResumeIdsByUsername(String username);
+    /**
+     * 游标分页查询简历列表，按 (create_time, id) 倒序
+     * @param cursor 上一页返回的游标，为空时从第一页开始
+     * @param size 每页条数
+     * @param username 用户名过滤，可为空
+     * @param withTotal 是否统计总数
+     */
+    CursorPage<Resume> getResumeListByCursor(String cursor, int size, String username, boolean withTotal);
+    /**
+     * 流式遍历所有简历（按创建时间倒序），只查询指定字段
+     * @param fields 字段名列表，见 {@link com.resume.util.ResumeFields}
+     * @param consumer 逐条处理回调
+     */
+    void streamAllResumes(List<String> fields, Consumer<Resume> consumer);
+    /**
+     * 分页查询简历摘要（不含content），可按用户名过滤
+     */
+    Page<ResumeSummary> getResumeSummaryList(int current, int size, String username);
+    /**
+     * 游标分页查询简历摘要（不含content）
+     */
+    CursorPage<ResumeSummary> getResumeSummaryListByCursor(String cursor, int size, String username, boolean withTotal);
+    List<ResumeSummary> getAllResumeSummaries();
+    List<ResumeSummary> getResumeSummariesByUserId(Integer userId);
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.resume.service;
+
+import com.resume.entity.Resume;
+import com.resume.vo.ResumeVersionVO;
+
+import java.util.List;
+
+/**
+ * 简历历史版本服务
+ */
+public interface ResumeVersionService {
+    /**
+     * 将简历当前的名称、内容和主题记录为新版本，与上一版本相同时不记录
+     */
+    void record(Resume resume);
+    /**
+     * 按版本号倒序列出历史版本（不含内容）
+     */
+    List<ResumeVersionVO> listVersions(Integer resumeId);
+    /**
+     * 还原指定版本的完整内容，版本不存在时返回null
+     */
+    ResumeVersionVO getVersion(Integer resumeId, int versionNo);
+    /**
+     * 简历删除后清除缓存（版本记录随简历级联删除）
+     */
+    void remove(Integer resumeId);
+}
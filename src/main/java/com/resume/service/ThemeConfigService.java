@@ -1,4 +1,3 @@
-
 package com.resume.service;
 
 import com.baomidou.mybatisplus.extension.service.IService;
@@ -10,8 +9,33 @@ import java.util.List;
  */
 public interface ThemeConfigService extends IService<ThemeConfig> {
     /**
-     * 获取所有主题配置
+     * 获取所有主题配置（读取内存快照，返回的列表不可修改）
      */
     List<ThemeConfig> getAllThemes();
 
-}
\ No newline at end of file
+    /**
+     * 根据ID获取主题配置（读取内存快照）
+     */
+    ThemeConfig getThemeById(Integer id);
+
+    /**
+     * 当前主题快照的ETag，主题变化时随之变化
+     */
+    String getThemesETag();
+
+    /**
+     * 新增主题并刷新快照
+     */
+    boolean addTheme(ThemeConfig themeConfig);
+
+    /**
+     * 修改主题并刷新快照
+     */
+    boolean updateTheme(ThemeConfig themeConfig);
+
+    /**
+     * 删除主题并刷新快照
+     */
+    boolean deleteTheme(Integer id);
+
+}
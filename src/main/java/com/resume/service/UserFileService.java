@@ -18,6 +18,15 @@ public interface UserFileService {
      */
     UserFile uploadFile(Integer userId, MultipartFile file);
     
+    /**
+     * 上传并替换用户的文件
+     * 先保存新文件并以一条语句写入或更新文件记录，成功后再异步释放旧文件；同一用户的上传串行执行
+     * @param userId 用户ID
+     * @param file 上传的文件
+     * @return 文件记录
+     */
+    UserFile replaceUserFile(Integer userId, MultipartFile file);
+    
     /**
      * 获取用户的文件
      * @param userId 用户ID
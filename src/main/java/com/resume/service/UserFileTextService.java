@@ -0,0 +1,47 @@
+package com.resume.service;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.resume.entity.UserFileText;
+import com.resume.vo.UserFileSearchHit;
+
+/**
+ * 上传文件文本提取服务接口
+ * 文件上传后登记并提交到后台线程池提取PDF/DOCX文本和页数，供管理员全文检索
+ */
+public interface UserFileTextService {
+
+    /**
+     * 提交文本提取任务，不阻塞调用线程；线程池已满时保留待提取状态，由定时任务补提
+     * @param fileUrl 文件URL
+     * @param force 是否重新提取已完成的文件
+     */
+    void submit(String fileUrl, boolean force);
+
+    /**
+     * 同步提取文本并保存结果
+     * @param fileUrl 文件URL
+     */
+    void extract(String fileUrl);
+
+    /**
+     * 获取文件的提取结果
+     * @param fileUrl 文件URL
+     * @return 提取结果，未登记时返回null
+     */
+    UserFileText getText(String fileUrl);
+
+    /**
+     * 全文检索上传的文件
+     * @param keyword 关键词
+     * @param current 页码
+     * @param size 每页数量
+     * @return 检索结果
+     */
+    Page<UserFileSearchHit> search(String keyword, int current, int size);
+
+    /**
+     * 文件已不被任何用户文件引用时删除其提取文本
+     * @param fileUrl 文件URL
+     */
+    void removeIfUnreferenced(String fileUrl);
+}
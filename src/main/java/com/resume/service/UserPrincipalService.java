@@ -0,0 +1,37 @@
+package com.resume.service;
+
+import com.resume.dto.UserPrincipal;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * 用户身份解析服务接口
+ */
+public interface UserPrincipalService {
+
+    /**
+     * 根据用户名解析用户身份（带缓存）
+     * @param username 用户名
+     * @return 用户身份，用户不存在返回null
+     */
+    UserPrincipal resolve(String username);
+
+    /**
+     * 从请求Token中获取当前用户ID
+     * @param request 请求
+     * @return 用户ID，未登录时抛出异常
+     */
+    Integer getCurrentUserId(HttpServletRequest request);
+
+    /**
+     * 按用户名使缓存失效
+     * @param username 用户名
+     */
+    void invalidate(String username);
+
+    /**
+     * 按用户ID使缓存失效
+     * @param userId 用户ID
+     */
+    void invalidateUser(Integer userId);
+}
@@ -1,7 +1,33 @@
 package com.resume.service;
 
+import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.resume.dto.UserQueryDTO;
 import com.resume.entity.User;
+import com.resume.vo.UserSummaryVO;
+
+import java.util.Collection;
 
 public interface UserService extends IService<User> {
+
+    /**
+     * 级联删除用户：简历、文件记录和用户在同一事务中删除，物理文件在事务提交后异步删除
+     * @param userId 用户ID
+     * @return 用户是否被删除
+     */
+    boolean deleteUserCascade(Integer userId);
+
+    /**
+     * 批量级联删除用户
+     * @param userIds 用户ID集合
+     * @return 实际删除的用户数
+     */
+    int deleteUsersCascade(Collection<Integer> userIds);
+
+    /**
+     * 分页查询用户列表（支持用户名前缀、角色过滤和排序，不返回密码）
+     * @param query 查询条件
+     * @return 用户分页
+     */
+    IPage<UserSummaryVO> getUserSummaryPage(UserQueryDTO query);
 }
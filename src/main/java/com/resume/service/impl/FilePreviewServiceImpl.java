@@ -0,0 +1,108 @@
+package com.resume.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resume.service.FilePreviewService;
+import com.resume.service.LocalOssService;
+import com.resume.storage.StorageBackend;
+import com.resume.util.DocumentTextExtractor;
+import com.resume.util.DocumentTextExtractor.ExtractedText;
+import com.resume.util.StripedLock;
+import com.resume.vo.FilePreviewVO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * 上传文件预览服务实现
+ * 文件按内容寻址或唯一命名保存，内容不会变化，预览生成一次后直接复用
+ */
+@Service
+public class FilePreviewServiceImpl implements FilePreviewService {
+
+    private static final int SNIPPET_CHARS = 200;
+
+    /**
+     * 第一页文本保留的最大字符数
+     */
+    @Value("${file.preview.first-page-chars:1500}")
+    private int firstPageChars;
+
+    @Autowired
+    private LocalOssService localOssService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * 同一文件的预览只生成一次
+     */
+    private final StripedLock previewLocks = new StripedLock(64);
+
+    @Override
+    public Path getPreview(String fileUrl) throws IOException {
+        Path source = localOssService.getFilePath(fileUrl);
+        String name = source.getFileName().toString().toLowerCase();
+        if (!name.endsWith(".pdf") && !name.endsWith(".docx")) {
+            return null;
+        }
+        // 原文件已删除或隔离时，残留的预览不再返回
+        if (!Files.isRegularFile(source)) {
+            return null;
+        }
+        Path preview = source.resolveSibling(source.getFileName() + StorageBackend.SIDECAR_SUFFIX);
+        if (Files.isRegularFile(preview)) {
+            return preview;
+        }
+        Lock lock = previewLocks.get(preview);
+        lock.lock();
+        try {
+            if (Files.isRegularFile(preview)) {
+                return preview;
+            }
+            FilePreviewVO vo = buildPreview(source, name);
+            // 先写临时文件再原子替换，读取方不会看到写了一半的预览
+            Path temp = Files.createTempFile(preview.getParent(), preview.getFileName().toString(), ".tmp");
+            try {
+                objectMapper.writeValue(temp.toFile(), vo);
+                Files.move(temp, preview, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            // 生成期间原文件被删除时，删除刚写入的预览
+            if (!Files.isRegularFile(source)) {
+                Files.deleteIfExists(preview);
+                return null;
+            }
+            return preview;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 解析文件生成预览，解析失败时抛出异常，不保存预览
+     */
+    private FilePreviewVO buildPreview(Path source, String name) throws IOException {
+        FilePreviewVO vo = new FilePreviewVO();
+        vo.setFileType(name.substring(name.lastIndexOf('.')));
+        vo.setFileSize(Files.size(source));
+        ExtractedText firstPage;
+        try {
+            firstPage = DocumentTextExtractor.extractFirstPage(source);
+        } catch (RuntimeException e) {
+            throw new IOException("生成文件预览失败: " + e.getMessage(), e);
+        }
+        String text = firstPage.getText();
+        vo.setPageCount(firstPage.getPageCount());
+        vo.setFirstPage(text.length() > firstPageChars ? text.substring(0, firstPageChars) : text);
+        String snippet = text.replaceAll("\\s+", " ").trim();
+        vo.setSnippet(snippet.length() > SNIPPET_CHARS ? snippet.substring(0, SNIPPET_CHARS) : snippet);
+        return vo;
+    }
+}
@@ -1,18 +1,29 @@
 package com.resume.service.impl;
 
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.resume.entity.OssBlob;
+import com.resume.mapper.OssBlobMapper;
 import com.resume.service.LocalOssService;
+import com.resume.storage.StorageBackend;
+import com.resume.util.StripedLock;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.UUID;
+import java.util.concurrent.locks.Lock;
 
 /**
  * 本地OSS存储服务实现
@@ -20,52 +31,75 @@ import java.util.UUID;
 @Service
 public class LocalOssServiceImpl implements LocalOssService {
     
-    @Value("${local.oss.root-path:./oss-storage}")
-    private String rootPath;
-    
     @Value("${local.oss.base-url:http://localhost:8080/oss}")
     private String baseUrl;
+
+    /**
+     * 是否按内容寻址存储（相同内容只保存一份，按引用计数删除）
+     */
+    @Value("${local.oss.dedup-enabled:true}")
+    private boolean dedupEnabled;
+
+    @Autowired
+    private OssBlobMapper ossBlobMapper;
+
+    @Autowired
+    private StorageBackend storageBackend;
     
     private static final long MAX_FILE_SIZE = 5 * 1024 * 1024; // 5MB
     private static final String[] ALLOWED_EXTENSIONS = {".docx", ".pdf"};
+
+    /**
+     * 内容寻址文件的存放目录（按哈希前两级分片）
+     */
+    private static final String BLOB_FOLDER = "blobs";
+
+    /**
+     * 同一内容的写入与删除按哈希串行执行
+     */
+    private final StripedLock blobLocks = new StripedLock(64);
     
     @Override
     public String uploadFile(MultipartFile file, String folder) {
         // 验证文件
         validateFile(file);
+        if (dedupEnabled) {
+            return uploadBlob(file);
+        }
         
+        Path tempFile = null;
         try {
-            // 创建目录结构
+            // 生成按日期分目录的文件key
             String datePath = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy/MM/dd"));
-            Path targetDir = Paths.get(rootPath, folder, datePath);
-            Files.createDirectories(targetDir);
-            
-            // 生成文件名
-            String originalName = file.getOriginalFilename();
-            String extension = getFileExtension(originalName);
-            String fileName = generateFileName(originalName);
+            String fileName = generateFileName(file.getOriginalFilename());
+            String key = folder + "/" + datePath + "/" + fileName;
             
             // 保存文件
-            Path filePath = targetDir.resolve(fileName);
-            Files.copy(file.getInputStream(), filePath);
+            tempFile = storageBackend.createTempFile();
+            try (InputStream in = file.getInputStream()) {
+                Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            storageBackend.store(tempFile, key);
+            tempFile = null;
             
             // 返回访问URL
-            return baseUrl + "/" + folder + "/" + datePath + "/" + fileName;
+            return toUrl(key);
             
         } catch (IOException e) {
             throw new RuntimeException("文件上传失败: " + e.getMessage());
+        } finally {
+            deleteTempFile(tempFile);
         }
     }
     
     @Override
     public boolean deleteFile(String fileUrl) {
+        String relativePath = getRelativePath(fileUrl);
+        if (relativePath.startsWith(BLOB_FOLDER + "/")) {
+            return releaseBlob(relativePath);
+        }
         try {
-            Path filePath = getFilePath(fileUrl);
-            if (Files.exists(filePath)) {
-                Files.delete(filePath);
-                return true;
-            }
-            return false;
+            return storageBackend.delete(relativePath);
         } catch (IOException e) {
             System.err.println("删除文件失败: " + e.getMessage());
             return false;
@@ -74,19 +108,125 @@ public class LocalOssServiceImpl implements LocalOssService {
     
     @Override
     public Path getFilePath(String fileUrl) {
-        // 从URL中提取相对路径
-        String relativePath = fileUrl.replace(baseUrl + "/", "");
-        // 处理Windows路径中的冒号问题
-        relativePath = relativePath.replace(":", "");
-        return Paths.get(rootPath, relativePath);
+        return storageBackend.resolve(getRelativePath(fileUrl));
     }
     
     @Override
     public boolean fileExists(String fileUrl) {
-        Path filePath = getFilePath(fileUrl);
-        return Files.exists(filePath);
+        return storageBackend.exists(getRelativePath(fileUrl));
     }
     
+    @Override
+    public boolean quarantineBlob(String relativePath, Path file, Path target) throws IOException {
+        Lock lock = blobLocks.get(relativePath);
+        lock.lock();
+        try {
+            // 与上传共用同一把锁，避免刚判定为孤儿的文件在移动前被新的上传引用
+            Long referenced = ossBlobMapper.selectCount(new QueryWrapper<OssBlob>()
+                    .eq("file_path", relativePath).gt("ref_count", 0));
+            if ((referenced != null && referenced > 0) || !Files.exists(file)) {
+                return false;
+            }
+            Files.createDirectories(target.getParent());
+            Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+            // 预览随原文件失效，移回隔离文件时会重新生成
+            Files.deleteIfExists(file.resolveSibling(file.getFileName() + StorageBackend.SIDECAR_SUFFIX));
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 按内容寻址保存：边写临时文件边计算SHA-256，内容已存在时丢弃临时文件，只增加引用计数
+     */
+    private String uploadBlob(MultipartFile file) {
+        String extension = getFileExtension(file.getOriginalFilename()).toLowerCase();
+        Path tempFile = null;
+        try {
+            tempFile = storageBackend.createTempFile();
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long size;
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                size = Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String hash = toHex(digest.digest());
+            String relativePath = BLOB_FOLDER + "/" + hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + extension;
+
+            Lock lock = blobLocks.get(relativePath);
+            lock.lock();
+            try {
+                // 内容已存在时后端直接丢弃临时文件
+                storageBackend.store(tempFile, relativePath);
+                tempFile = null;
+                ossBlobMapper.incrementRef(hash, relativePath, size);
+            } finally {
+                lock.unlock();
+            }
+            return toUrl(relativePath);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new RuntimeException("文件上传失败: " + e.getMessage());
+        } finally {
+            deleteTempFile(tempFile);
+        }
+    }
+
+    private void deleteTempFile(Path tempFile) {
+        if (tempFile != null) {
+            try {
+                Files.deleteIfExists(tempFile);
+            } catch (IOException e) {
+                System.err.println("删除上传临时文件失败: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 释放一次引用，最后一个引用释放后删除物理文件
+     */
+    private boolean releaseBlob(String relativePath) {
+        Lock lock = blobLocks.get(relativePath);
+        lock.lock();
+        try {
+            if (ossBlobMapper.decrementRef(relativePath) == 0) {
+                return false;
+            }
+            if (ossBlobMapper.deleteUnreferenced(relativePath) > 0) {
+                storageBackend.delete(relativePath);
+            }
+            return true;
+        } catch (IOException e) {
+            System.err.println("删除文件失败: " + e.getMessage());
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 由文件key生成访问URL
+     */
+    private String toUrl(String relativePath) {
+        return baseUrl + "/" + relativePath;
+    }
+
+    /**
+     * 从URL中提取文件key（相对存储根目录的路径）
+     */
+    private String getRelativePath(String fileUrl) {
+        String relativePath = fileUrl.replace(baseUrl + "/", "");
+        // 处理Windows路径中的冒号问题
+        return relativePath.replace(":", "");
+    }
+
+    private String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
     /**
      * 验证文件
      */
@@ -0,0 +1,496 @@
+package com.resume.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.resume.entity.OssBlob;
+import com.resume.entity.UserFile;
+import com.resume.mapper.OssBlobMapper;
+import com.resume.mapper.UserFileMapper;
+import com.resume.service.LocalOssService;
+import com.resume.service.OssReaperService;
+import com.resume.storage.AbstractStorageBackend;
+import com.resume.storage.StorageBackend;
+import com.resume.vo.OssReaperStatsVO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * OSS孤儿文件回收服务实现
+ * 只扫描用户文件目录和内容寻址目录：user-files下的文件按URL与user_file.file_path比对，
+ * blobs下的文件按相对路径与oss_blob中引用数大于0的记录比对。
+ * 孤儿文件先移入 .quarantine/{yyyyMMdd}/ 隔离（与原文件同卷以便原子移动；以"."开头的目录不经 /oss 对外提供），
+ * 期间重新被引用的会被恢复，隔离期满后删除。
+ * 原文件旁的预览文件不参与比对，原文件不存在时直接删除。
+ * 增量扫描：按分区（user-files下的日期目录 yyyy/MM/dd、blobs下的一级分片目录）排序后轮转处理，
+ * 每个卷在根目录的 .reaper-checkpoint 中记录最后一个已比对完成的分区，每次最多处理 partitions-per-run 个分区，
+ * 到达末尾后从头开始下一轮。隔离数达到单次上限时当前分区不计入检查点，下次从该分区继续。
+ * 选择轮转检查点而不是只扫描新日期目录，是因为旧目录中的文件也可能在之后失去引用（如数据库记录被删除而文件删除失败）
+ */
+@Service
+public class OssReaperServiceImpl implements OssReaperService {
+
+    private static final String USER_FILE_FOLDER = "user-files";
+
+    private static final String BLOB_FOLDER = "blobs";
+
+    private static final String QUARANTINE_FOLDER = ".quarantine";
+
+    private static final String CHECKPOINT_FILE = ".reaper-checkpoint";
+
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    @Value("${local.oss.base-url:http://localhost:8080/oss}")
+    private String baseUrl;
+
+    @Value("${local.oss.reaper.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 修改时间早于该值的文件才参与回收，避免误删正在上传、尚未写入数据库的文件
+     */
+    @Value("${local.oss.reaper.min-age-minutes:60}")
+    private long minAgeMinutes;
+
+    @Value("${local.oss.reaper.quarantine-days:7}")
+    private int quarantineDays;
+
+    /**
+     * 每批比对的文件数（一次IN查询）
+     */
+    @Value("${local.oss.reaper.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * 单次最多隔离的文件数，防止配置错误（如base-url变更）时整个目录被判定为孤儿
+     */
+    @Value("${local.oss.reaper.max-orphans-per-run:1000}")
+    private int maxOrphansPerRun;
+
+    /**
+     * 每个卷单次最多比对的分区数
+     */
+    @Value("${local.oss.reaper.partitions-per-run:64}")
+    private int partitionsPerRun;
+
+    @Autowired
+    private UserFileMapper userFileMapper;
+
+    @Autowired
+    private OssBlobMapper ossBlobMapper;
+
+    @Autowired
+    private LocalOssService localOssService;
+
+    @Autowired
+    private StorageBackend storageBackend;
+
+    @Autowired(required = false)
+    @Qualifier("taskScheduler")
+    private TaskScheduler taskScheduler;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong scannedFiles = new AtomicLong();
+    private final AtomicLong quarantinedFiles = new AtomicLong();
+    private final AtomicLong restoredFiles = new AtomicLong();
+    private final AtomicLong deletedFiles = new AtomicLong();
+    private final AtomicLong bytesReclaimed = new AtomicLong();
+
+    private volatile long quarantineFiles;
+    private volatile long quarantineBytes;
+    private volatile Long lastDurationMillis;
+    private volatile String lastError;
+    private volatile LocalDateTime lastStartTime;
+    private volatile LocalDateTime lastFinishTime;
+
+    /**
+     * 定时执行，两次执行之间间隔固定时长
+     */
+    @Scheduled(initialDelayString = "${local.oss.reaper.initial-delay-ms:600000}",
+            fixedDelayString = "${local.oss.reaper.interval-ms:21600000}")
+    public void scheduledReap() {
+        if (enabled) {
+            reap();
+        }
+    }
+
+    @Override
+    public boolean reapAsync() {
+        if (running.get() || taskScheduler == null) {
+            return false;
+        }
+        taskScheduler.schedule(this::reap, new Date());
+        return true;
+    }
+
+    @Override
+    public boolean reap() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        long start = System.currentTimeMillis();
+        lastStartTime = LocalDateTime.now();
+        runs.incrementAndGet();
+        String error = null;
+        try {
+            long modifiedBefore = start - minAgeMinutes * 60_000L;
+            String today = LocalDate.now().format(DAY_FORMAT);
+            long[] remaining = {0, 0};
+            int[] orphans = {0};
+            // 分片存储时每个卷各自维护隔离区，文件只在卷内移动
+            for (Path root : storageBackend.roots()) {
+                sweepQuarantine(root, remaining);
+                cleanTempFiles(root.resolve(AbstractStorageBackend.TEMP_FOLDER), modifiedBefore);
+                reconcile(root, root.resolve(QUARANTINE_FOLDER).resolve(today), modifiedBefore, orphans);
+            }
+            quarantineFiles = remaining[0];
+            quarantineBytes = remaining[1];
+            if (orphans[0] >= maxOrphansPerRun) {
+                System.err.println("OSS孤儿文件数达到单次上限，剩余文件下次处理: " + maxOrphansPerRun);
+            }
+        } catch (IOException | RuntimeException e) {
+            error = e.getMessage();
+            System.err.println("OSS孤儿文件回收失败: " + e.getMessage());
+        } finally {
+            lastError = error;
+            lastDurationMillis = System.currentTimeMillis() - start;
+            lastFinishTime = LocalDateTime.now();
+            running.set(false);
+        }
+        return true;
+    }
+
+    @Override
+    public OssReaperStatsVO getStats() {
+        OssReaperStatsVO vo = new OssReaperStatsVO();
+        vo.setRunning(running.get());
+        vo.setRuns(runs.get());
+        vo.setScannedFiles(scannedFiles.get());
+        vo.setQuarantinedFiles(quarantinedFiles.get());
+        vo.setRestoredFiles(restoredFiles.get());
+        vo.setDeletedFiles(deletedFiles.get());
+        vo.setBytesReclaimed(bytesReclaimed.get());
+        vo.setQuarantineFiles(quarantineFiles);
+        vo.setQuarantineBytes(quarantineBytes);
+        vo.setLastDurationMillis(lastDurationMillis);
+        vo.setLastError(lastError);
+        vo.setLastStartTime(lastStartTime);
+        vo.setLastFinishTime(lastFinishTime);
+        return vo;
+    }
+
+    /**
+     * 从检查点之后的分区开始比对，每完成一个分区推进检查点
+     */
+    private void reconcile(Path root, Path day, long modifiedBefore, int[] orphans) throws IOException {
+        List<String> partitions = listPartitions(root);
+        String checkpoint = readCheckpoint(root);
+        int start = 0;
+        while (start < partitions.size() && partitions.get(start).compareTo(checkpoint) <= 0) {
+            start++;
+        }
+        if (start == partitions.size()) {
+            // 上一轮已全部比对完成，从头开始新一轮
+            start = 0;
+            checkpoint = "";
+        }
+        int end = Math.min(partitions.size(), start + partitionsPerRun);
+        for (int i = start; i < end && orphans[0] < maxOrphansPerRun; i++) {
+            walk(root, root.resolve(partitions.get(i)), modifiedBefore, batch -> quarantine(batch, day, orphans));
+            if (orphans[0] >= maxOrphansPerRun) {
+                // 本分区可能未处理完，下次从该分区继续
+                break;
+            }
+            checkpoint = partitions.get(i);
+        }
+        saveCheckpoint(root, checkpoint);
+    }
+
+    /**
+     * 列出卷内所有分区的相对路径并排序（日期目录按字典序即为时间顺序）
+     */
+    private List<String> listPartitions(Path root) throws IOException {
+        List<String> partitions = new ArrayList<>();
+        collectPartitions(root, root.resolve(BLOB_FOLDER), 1, partitions);
+        collectPartitions(root, root.resolve(USER_FILE_FOLDER), 3, partitions);
+        Collections.sort(partitions);
+        return partitions;
+    }
+
+    private void collectPartitions(Path root, Path dir, int depth, List<String> partitions) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (Stream<Path> stream = Files.walk(dir, depth)) {
+            stream.filter(path -> path.getNameCount() - dir.getNameCount() == depth && Files.isDirectory(path))
+                    .forEach(path -> partitions.add(root.relativize(path).toString().replace('\\', '/')));
+        }
+    }
+
+    private String readCheckpoint(Path root) throws IOException {
+        Path file = root.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(file)) {
+            return "";
+        }
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8).trim();
+    }
+
+    private void saveCheckpoint(Path root, String checkpoint) throws IOException {
+        Path file = root.resolve(CHECKPOINT_FILE);
+        Path tmp = file.resolveSibling(CHECKPOINT_FILE + ".tmp");
+        Files.write(tmp, checkpoint.getBytes(StandardCharsets.UTF_8));
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 将一批文件中无引用的移入隔离区；移动前逐个再次确认，避免批量查询之后新写入的引用被忽略
+     */
+    private void quarantine(List<Candidate> batch, Path day, int[] orphans) throws IOException {
+        List<Candidate> files = new ArrayList<>();
+        for (Candidate candidate : batch) {
+            if (candidate.relativePath.endsWith(StorageBackend.SIDECAR_SUFFIX)) {
+                deleteSidecarIfOrphan(candidate);
+            } else {
+                files.add(candidate);
+            }
+        }
+        scannedFiles.addAndGet(files.size());
+        Set<String> referenced = findReferenced(files);
+        for (Candidate candidate : files) {
+            if (referenced.contains(candidate.relativePath) || orphans[0] >= maxOrphansPerRun) {
+                continue;
+            }
+            Path target = day.resolve(candidate.relativePath);
+            boolean moved;
+            if (candidate.relativePath.startsWith(BLOB_FOLDER + "/")) {
+                moved = localOssService.quarantineBlob(candidate.relativePath, candidate.file, target);
+            } else if (userFileMapper.selectCount(new QueryWrapper<UserFile>()
+                    .eq("file_path", toUrl(candidate.relativePath))) == 0) {
+                Files.createDirectories(target.getParent());
+                Files.move(candidate.file, target, StandardCopyOption.ATOMIC_MOVE);
+                moved = true;
+            } else {
+                moved = false;
+            }
+            if (moved) {
+                orphans[0]++;
+                quarantinedFiles.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 预览文件不参与引用比对，原文件已被删除或隔离时一并删除
+     */
+    private void deleteSidecarIfOrphan(Candidate sidecar) throws IOException {
+        String name = sidecar.file.getFileName().toString();
+        Path source = sidecar.file.resolveSibling(name.substring(0, name.length() - StorageBackend.SIDECAR_SUFFIX.length()));
+        if (!Files.exists(source) && Files.deleteIfExists(sidecar.file)) {
+            deletedFiles.incrementAndGet();
+            bytesReclaimed.addAndGet(sidecar.size);
+        }
+    }
+
+    /**
+     * 处理隔离区：重新被引用的文件移回原位置，隔离期满的删除，其余继续保留
+     */
+    private void sweepQuarantine(Path root, long[] remaining) throws IOException {
+        Path quarantineRoot = root.resolve(QUARANTINE_FOLDER);
+        if (Files.isDirectory(quarantineRoot)) {
+            LocalDate expireBefore = LocalDate.now().minusDays(quarantineDays);
+            List<Path> days = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(quarantineRoot)) {
+                stream.forEach(days::add);
+            }
+            for (Path day : days) {
+                LocalDate date;
+                try {
+                    date = LocalDate.parse(day.getFileName().toString(), DAY_FORMAT);
+                } catch (DateTimeParseException e) {
+                    continue;
+                }
+                boolean expired = date.isBefore(expireBefore);
+                walk(day, day, Long.MAX_VALUE, batch -> {
+                    Set<String> referenced = findReferenced(batch);
+                    for (Candidate candidate : batch) {
+                        if (referenced.contains(candidate.relativePath)) {
+                            restore(candidate, root.resolve(candidate.relativePath));
+                        } else if (expired) {
+                            Files.deleteIfExists(candidate.file);
+                            deletedFiles.incrementAndGet();
+                            bytesReclaimed.addAndGet(candidate.size);
+                        } else {
+                            remaining[0]++;
+                            remaining[1] += candidate.size;
+                        }
+                    }
+                });
+                deleteEmptyDirectories(day);
+            }
+        }
+    }
+
+    private void restore(Candidate candidate, Path original) throws IOException {
+        Files.createDirectories(original.getParent());
+        try {
+            Files.move(candidate.file, original, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // 原位置已重新上传了相同内容
+            Files.delete(candidate.file);
+        }
+        restoredFiles.incrementAndGet();
+    }
+
+    /**
+     * 删除上传中断遗留的临时文件
+     */
+    private void cleanTempFiles(Path tempDir, long modifiedBefore) throws IOException {
+        walk(tempDir, tempDir, modifiedBefore, batch -> {
+            for (Candidate candidate : batch) {
+                if (Files.deleteIfExists(candidate.file)) {
+                    deletedFiles.incrementAndGet();
+                    bytesReclaimed.addAndGet(candidate.size);
+                }
+            }
+        });
+    }
+
+    /**
+     * 查询一批文件中仍被引用的，返回其相对路径
+     */
+    private Set<String> findReferenced(List<Candidate> batch) {
+        List<String> blobPaths = new ArrayList<>();
+        List<String> fileUrls = new ArrayList<>();
+        for (Candidate candidate : batch) {
+            if (candidate.relativePath.startsWith(BLOB_FOLDER + "/")) {
+                blobPaths.add(candidate.relativePath);
+            } else {
+                fileUrls.add(toUrl(candidate.relativePath));
+            }
+        }
+        Set<String> referenced = new HashSet<>();
+        if (!blobPaths.isEmpty()) {
+            for (Object path : ossBlobMapper.selectObjs(new QueryWrapper<OssBlob>()
+                    .select("file_path").in("file_path", blobPaths).gt("ref_count", 0))) {
+                referenced.add(String.valueOf(path));
+            }
+        }
+        if (!fileUrls.isEmpty()) {
+            String prefix = baseUrl + "/";
+            for (Object url : userFileMapper.selectObjs(new QueryWrapper<UserFile>()
+                    .select("file_path").in("file_path", fileUrls))) {
+                String value = String.valueOf(url);
+                if (value.startsWith(prefix)) {
+                    referenced.add(value.substring(prefix.length()));
+                }
+            }
+        }
+        return referenced;
+    }
+
+    private String toUrl(String relativePath) {
+        return baseUrl + "/" + relativePath;
+    }
+
+    /**
+     * 遍历目录，文件每凑满一批交给处理器，内存中最多只保留一批
+     * @param base 计算相对路径的基准目录
+     * @param modifiedBefore 只处理修改时间早于该值的文件
+     */
+    private void walk(Path base, Path dir, long modifiedBefore, BatchHandler handler) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        List<Candidate> batch = new ArrayList<>();
+        Files.walkFileTree(dir, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                if (attrs.isRegularFile() && attrs.lastModifiedTime().toMillis() < modifiedBefore) {
+                    String relativePath = base.relativize(file).toString().replace('\\', '/');
+                    batch.add(new Candidate(file, relativePath, attrs.size()));
+                    if (batch.size() >= batchSize) {
+                        handler.handle(batch);
+                        batch.clear();
+                    }
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                // 遍历期间文件被正常删除
+                if (!(exc instanceof NoSuchFileException)) {
+                    System.err.println("扫描OSS文件失败: " + file + " " + exc.getMessage());
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        if (!batch.isEmpty()) {
+            handler.handle(batch);
+        }
+    }
+
+    private void deleteEmptyDirectories(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        Files.walkFileTree(dir, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult postVisitDirectory(Path directory, IOException exc) throws IOException {
+                try {
+                    Files.delete(directory);
+                } catch (DirectoryNotEmptyException e) {
+                    // 仍有文件，保留
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface BatchHandler {
+        void handle(List<Candidate> batch) throws IOException;
+    }
+
+    private static final class Candidate {
+        private final Path file;
+        private final String relativePath;
+        private final long size;
+
+        private Candidate(Path file, String relativePath, long size) {
+            this.file = file;
+            this.relativePath = relativePath;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.resume.service.impl;
+
+import com.resume.entity.Resume;
+import com.resume.model.ResumeDocument;
+import com.resume.service.ResumeDocumentService;
+import com.resume.util.LocalCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * 简历文档服务实现
+ * 缓存以简历ID为键，值中记录解析时的版本；版本由更新时间和内容摘要组成，不一致时重新解析
+ */
+@Service
+public class ResumeDocumentServiceImpl implements ResumeDocumentService {
+
+    @Value("${resume.document-cache.max-size:2000}")
+    private int maxSize;
+
+    @Value("${resume.document-cache.ttl-seconds:1800}")
+    private long ttlSeconds;
+
+    private LocalCache<Integer, Versioned> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = new LocalCache<>(maxSize, ttlSeconds * 1000);
+    }
+
+    @Override
+    public ResumeDocument getDocument(Resume resume) {
+        if (resume.getId() == null) {
+            return ResumeDocument.parse(resume.getContent());
+        }
+        String version = version(resume);
+        Versioned cached = cache.get(resume.getId());
+        if (cached != null && cached.version.equals(version)) {
+            return cached.document;
+        }
+        ResumeDocument document = ResumeDocument.parse(resume.getContent());
+        cache.put(resume.getId(), new Versioned(version, document));
+        return document;
+    }
+
+    @Override
+    public void invalidate(Integer resumeId) {
+        if (resumeId != null) {
+            cache.invalidate(resumeId);
+        }
+    }
+
+    private String version(Resume resume) {
+        String content = resume.getContent();
+        return resume.getUpdateTime() + "|" + (content != null ? content.length() + ":" + content.hashCode() : "null");
+    }
+
+    private static final class Versioned {
+        private final String version;
+        private final ResumeDocument document;
+
+        private Versioned(String version, ResumeDocument document) {
+            this.version = version;
+            this.document = document;
+        }
+    }
+}
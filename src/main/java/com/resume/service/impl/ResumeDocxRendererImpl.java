@@ -0,0 +1,320 @@
+package com.resume.service.impl;
+
+import com.resume.entity.Resume;
+import com.resume.model.ResumeDocument;
+import com.resume.service.ResumeDocumentService;
+import com.resume.service.ResumeDocxRenderer;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+
+import javax.annotation.PostConstruct;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 简历DOCX渲染服务实现
+ * 启动时用POI生成一次空白文档作为模板并缓存其各个部件；每次导出只按简历内容用StAX流式生成
+ * word/document.xml，其余部件原样写出，不构建POI对象模型
+ */
+@Service
+public class ResumeDocxRendererImpl implements ResumeDocxRenderer {
+
+    private static final String DOCUMENT_PART = "word/document.xml";
+    private static final String W = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+    private static final String XML_NS = "http://www.w3.org/XML/1998/namespace";
+    private static final String FONT = "宋体";
+    private static final String SUB_COLOR = "666666";
+
+    /**
+     * 所有条目统一使用固定时间，保证相同内容的输出在重启后仍完全一致（ETag不变）
+     * ZIP条目按本地时区记录时间，故按本地时区换算，使写出的日期字段与时区无关
+     */
+    private static final long ENTRY_TIME = LocalDateTime.of(2000, 1, 1, 0, 0)
+            .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+    @Autowired
+    private ResumeDocumentService resumeDocumentService;
+
+    private final XMLOutputFactory xmlOutputFactory = XMLOutputFactory.newInstance();
+
+    /**
+     * 模板中固定不变的部件
+     */
+    private List<TemplatePart> templateParts;
+
+
+    @PostConstruct
+    public void init() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (XWPFDocument template = new XWPFDocument()) {
+            template.createParagraph();
+            // 文档属性中的创建时间默认取当前时间，同样固定下来
+            template.getProperties().getCoreProperties().setCreated(Optional.of(Date.from(Instant.parse("2000-01-01T00:00:00Z"))));
+            template.write(buffer);
+        }
+        List<TemplatePart> parts = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(buffer.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (!DOCUMENT_PART.equals(entry.getName())) {
+                    parts.add(new TemplatePart(entry.getName(), StreamUtils.copyToByteArray(zip)));
+                }
+            }
+        }
+        templateParts = Collections.unmodifiableList(parts);
+    }
+
+    @Override
+    public void render(Resume resume, OutputStream out) throws IOException {
+        ResumeDocument document = resumeDocumentService.getDocument(resume);
+        // 输出流由调用方负责关闭
+        try (ZipOutputStream zip = new ZipOutputStream(StreamUtils.nonClosing(out))) {
+            for (TemplatePart part : templateParts) {
+                // 模板部件已预先计算CRC，直接以STORED方式写出，无需再次压缩
+                zip.putNextEntry(part.newEntry(ENTRY_TIME));
+                zip.write(part.data);
+                zip.closeEntry();
+            }
+            ZipEntry documentEntry = new ZipEntry(DOCUMENT_PART);
+            documentEntry.setTime(ENTRY_TIME);
+            zip.putNextEntry(documentEntry);
+            writeDocument(document, zip);
+            zip.closeEntry();
+        } catch (XMLStreamException e) {
+            throw new IOException("生成DOCX失败", e);
+        }
+    }
+
+    @Override
+    public String buildFileName(Resume resume) {
+        ResumeDocument.PersonalInfo personalInfo = resumeDocumentService.getDocument(resume).getPersonalInfo();
+        return personalInfo.getName() + "-" + personalInfo.getTitle() + ".docx";
+    }
+
+    private void writeDocument(ResumeDocument document, OutputStream out) throws XMLStreamException {
+        XMLStreamWriter xml = xmlOutputFactory.createXMLStreamWriter(out, "UTF-8");
+        xml.writeStartDocument("UTF-8", "1.0");
+        xml.setPrefix("w", W);
+        xml.writeStartElement(W, "document");
+        xml.writeNamespace("w", W);
+        xml.writeStartElement(W, "body");
+
+        ResumeDocument.PersonalInfo info = document.getPersonalInfo();
+        paragraph(xml, info.getName(), 40, true, null, "center", false);
+        paragraph(xml, info.getTitle(), 32, true, null, "center", false);
+        paragraph(xml, "电话：" + info.getPhone() + "    邮箱：" + info.getEmail() + "    地址：" + info.getLocation(),
+                21, false, SUB_COLOR, "center", false);
+
+        heading(xml, "个人简介");
+        paragraph(xml, document.getSummary(), 24, false, null, null, false);
+
+        if (!document.getEducation().isEmpty()) {
+            heading(xml, "教育背景");
+            for (ResumeDocument.Education edu : document.getEducation()) {
+                paragraph(xml, edu.getSchool(), 24, true, null, null, true);
+                paragraph(xml, edu.getMajor() + " (" + edu.getDegree() + ")", 20, false, SUB_COLOR, null, true);
+                paragraph(xml, edu.getStartDate() + " - " + edu.getEndDate(), 20, false, SUB_COLOR, null, false);
+            }
+        }
+
+        if (!document.getWorkExperience().isEmpty()) {
+            heading(xml, "工作经历");
+            for (ResumeDocument.WorkExperience item : document.getWorkExperience()) {
+                paragraph(xml, item.getCompany() + " - " + item.getPosition(), 24, true, null, null, true);
+                paragraph(xml, item.getStartDate() + " - " + item.getEndDate(), 20, false, SUB_COLOR, null, true);
+                paragraph(xml, item.getDescription(), 24, false, null, null, false);
+            }
+        }
+
+        if (!document.getProjectExperience().isEmpty()) {
+            heading(xml, "项目经历");
+            for (ResumeDocument.ProjectExperience project : document.getProjectExperience()) {
+                paragraph(xml, project.getName() + " - " + project.getRole(), 24, true, null, null, true);
+                paragraph(xml, project.getStartDate() + " - " + project.getEndDate(), 20, false, SUB_COLOR, null, true);
+                if (!project.getTechnologies().isEmpty()) {
+                    paragraph(xml, "技术栈：" + String.join(", ", project.getTechnologies()), 20, false, SUB_COLOR, null, true);
+                }
+                paragraph(xml, project.getDescription(), 24, false, null, null, false);
+            }
+        }
+
+        if (!document.getSkills().isEmpty()) {
+            heading(xml, "技能特长");
+            paragraph(xml, String.join("、", document.getSkills()), 24, false, null, null, false);
+        }
+
+        sectionProperties(xml);
+        xml.writeEndElement();
+        xml.writeEndElement();
+        xml.writeEndDocument();
+        xml.flush();
+        xml.close();
+    }
+
+    /**
+     * 部分标题：加粗、下边框，并与下一段保持在同一页
+     */
+    private void heading(XMLStreamWriter xml, String text) throws XMLStreamException {
+        xml.writeStartElement(W, "p");
+        xml.writeStartElement(W, "pPr");
+        xml.writeEmptyElement(W, "keepNext");
+        xml.writeStartElement(W, "pBdr");
+        xml.writeEmptyElement(W, "bottom");
+        xml.writeAttribute(W, "val", "single");
+        xml.writeAttribute(W, "sz", "6");
+        xml.writeAttribute(W, "space", "1");
+        xml.writeAttribute(W, "color", "999999");
+        xml.writeEndElement();
+        spacing(xml, 240, 120);
+        xml.writeEndElement();
+        run(xml, text, 28, true, null);
+        xml.writeEndElement();
+    }
+
+    /**
+     * 普通段落
+     * @param halfPoints 字号（半磅）
+     * @param keepNext 是否与下一段保持在同一页
+     */
+    private void paragraph(XMLStreamWriter xml, String text, int halfPoints, boolean bold, String color,
+                           String align, boolean keepNext) throws XMLStreamException {
+        xml.writeStartElement(W, "p");
+        xml.writeStartElement(W, "pPr");
+        if (keepNext) {
+            xml.writeEmptyElement(W, "keepNext");
+        }
+        spacing(xml, 0, keepNext ? 0 : 120);
+        if (align != null) {
+            xml.writeEmptyElement(W, "jc");
+            xml.writeAttribute(W, "val", align);
+        }
+        xml.writeEndElement();
+        run(xml, text, halfPoints, bold, color);
+        xml.writeEndElement();
+    }
+
+    private void spacing(XMLStreamWriter xml, int before, int after) throws XMLStreamException {
+        xml.writeEmptyElement(W, "spacing");
+        xml.writeAttribute(W, "before", String.valueOf(before));
+        xml.writeAttribute(W, "after", String.valueOf(after));
+    }
+
+    /**
+     * 文本块，文本中的换行转换为Word换行
+     */
+    private void run(XMLStreamWriter xml, String text, int halfPoints, boolean bold, String color) throws XMLStreamException {
+        xml.writeStartElement(W, "r");
+        xml.writeStartElement(W, "rPr");
+        xml.writeEmptyElement(W, "rFonts");
+        xml.writeAttribute(W, "ascii", FONT);
+        xml.writeAttribute(W, "hAnsi", FONT);
+        xml.writeAttribute(W, "eastAsia", FONT);
+        if (bold) {
+            xml.writeEmptyElement(W, "b");
+        }
+        if (color != null) {
+            xml.writeEmptyElement(W, "color");
+            xml.writeAttribute(W, "val", color);
+        }
+        xml.writeEmptyElement(W, "sz");
+        xml.writeAttribute(W, "val", String.valueOf(halfPoints));
+        xml.writeEmptyElement(W, "szCs");
+        xml.writeAttribute(W, "val", String.valueOf(halfPoints));
+        xml.writeEndElement();
+
+        String[] lines = sanitize(text).split("\r?\n", -1);
+        for (int i = 0; i < lines.length; i++) {
+            if (i > 0) {
+                xml.writeEmptyElement(W, "br");
+            }
+            xml.writeStartElement(W, "t");
+            xml.writeAttribute("xml", XML_NS, "space", "preserve");
+            xml.writeCharacters(lines[i]);
+            xml.writeEndElement();
+        }
+        xml.writeEndElement();
+    }
+
+    /**
+     * A4纸张，上下左右页边距2.54厘米
+     */
+    private void sectionProperties(XMLStreamWriter xml) throws XMLStreamException {
+        xml.writeStartElement(W, "sectPr");
+        xml.writeEmptyElement(W, "pgSz");
+        xml.writeAttribute(W, "w", "11906");
+        xml.writeAttribute(W, "h", "16838");
+        xml.writeEmptyElement(W, "pgMar");
+        xml.writeAttribute(W, "top", "1440");
+        xml.writeAttribute(W, "right", "1440");
+        xml.writeAttribute(W, "bottom", "1440");
+        xml.writeAttribute(W, "left", "1440");
+        xml.writeAttribute(W, "header", "720");
+        xml.writeAttribute(W, "footer", "720");
+        xml.writeAttribute(W, "gutter", "0");
+        xml.writeEndElement();
+    }
+
+    /**
+     * 去除XML中不允许出现的控制字符
+     */
+    private String sanitize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            boolean invalid = c < 0x20 && c != '\t' && c != '\n' && c != '\r';
+            if (invalid && sb == null) {
+                sb = new StringBuilder(text.length());
+                sb.append(text, 0, i);
+            } else if (!invalid && sb != null) {
+                sb.append(c);
+            }
+        }
+        return sb != null ? sb.toString() : text;
+    }
+
+    private static final class TemplatePart {
+        private final String name;
+        private final byte[] data;
+        private final long crc;
+
+        private TemplatePart(String name, byte[] data) {
+            this.name = name;
+            this.data = data;
+            CRC32 crc32 = new CRC32();
+            crc32.update(data);
+            this.crc = crc32.getValue();
+        }
+
+        private ZipEntry newEntry(long time) {
+            ZipEntry entry = new ZipEntry(name);
+            entry.setTime(time);
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(data.length);
+            entry.setCompressedSize(data.length);
+            entry.setCrc(crc);
+            return entry;
+        }
+    }
+}
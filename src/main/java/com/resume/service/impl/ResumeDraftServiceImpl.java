@@ -0,0 +1,317 @@
+package com.resume.service.impl;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.parser.Feature;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+import com.resume.entity.Resume;
+import com.resume.exception.BusinessException;
+import com.resume.exception.ConflictException;
+import com.resume.service.ResumeDraftService;
+import com.resume.service.ResumeService;
+import com.resume.util.JsonMergePatch;
+import com.resume.util.JsonPatch;
+import com.resume.util.StripedLock;
+import com.resume.vo.ResumeDraftVO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * 简历自动保存服务实现
+ * 草稿保存已解析的内容，补丁直接作用于解析结果；最后一次补丁后静默flush-delay-ms，
+ * 或距第一次未写入的补丁超过max-delay-ms时写入数据库
+ */
+@Service
+public class ResumeDraftServiceImpl implements ResumeDraftService {
+
+    /**
+     * 最后一次补丁后等待多久写入
+     */
+    @Value("${resume.autosave.flush-delay-ms:2000}")
+    private long flushDelayMs;
+
+    /**
+     * 持续编辑时最长多久写入一次
+     */
+    @Value("${resume.autosave.max-delay-ms:10000}")
+    private long maxDelayMs;
+
+    /**
+     * 同时缓存的草稿数上限，超出后新的补丁直接写入数据库
+     */
+    @Value("${resume.autosave.max-drafts:10000}")
+    private int maxDrafts;
+
+    /**
+     * 写入冲突的草稿保留多久，等待客户端下一次补丁时获知冲突，超时后丢弃
+     */
+    @Value("${resume.autosave.conflict-ttl-ms:300000}")
+    private long conflictTtlMs;
+
+    @Autowired
+    private ResumeService resumeService;
+
+    @Autowired(required = false)
+    @Qualifier("autosaveScheduler")
+    private TaskScheduler taskScheduler;
+
+    private final Map<Integer, Draft> drafts = new ConcurrentHashMap<>();
+
+    /**
+     * 同一简历的补丁和写入串行执行
+     */
+    private final StripedLock resumeLocks = new StripedLock(64);
+
+    @Override
+    public ResumeDraftVO patch(Integer resumeId, Integer userId, String patch, boolean mergePatch) {
+        Lock lock = resumeLocks.get(resumeId);
+        lock.lock();
+        try {
+            // 合并窗口内的后续补丁直接使用草稿，不再读取数据库
+            Draft draft = drafts.get(resumeId);
+            Object base;
+            Integer baseVersion;
+            if (draft != null) {
+                if (!draft.userId.equals(userId)) {
+                    throw new BusinessException("无权操作或简历不存在");
+                }
+                if (draft.conflictVersion != null) {
+                    // 草稿所基于的内容已被其他请求修改，客户端需重新读取后合并
+                    drafts.remove(resumeId);
+                    cancelScheduled(draft);
+                    throw new ConflictException("简历已被修改，请合并最新内容后重试", draft.conflictVersion);
+                }
+                base = draft.content;
+                baseVersion = draft.baseVersion;
+            } else {
+                Resume resume = resumeService.getResumeById(resumeId);
+                if (resume == null || !resume.getUserId().equals(userId)) {
+                    throw new BusinessException("无权操作或简历不存在");
+                }
+                base = parseContent(resume.getContent());
+                baseVersion = resume.getVersion();
+            }
+            Object content = mergePatch ? JsonMergePatch.apply(base, parseMergePatch(patch)) : JsonPatch.apply(base, JsonPatch.parse(patch));
+            if (!(content instanceof JSONObject)) {
+                throw new BusinessException("简历内容必须是JSON对象");
+            }
+            if (draft == null) {
+                draft = new Draft();
+                draft.userId = userId;
+                draft.baseVersion = baseVersion;
+                draft.firstPatchAt = System.currentTimeMillis();
+                drafts.put(resumeId, draft);
+            }
+            draft.content = content;
+            draft.revision++;
+            draft.lastPatchAt = System.currentTimeMillis();
+
+            ResumeDraftVO vo = new ResumeDraftVO();
+            vo.setResumeId(resumeId);
+            vo.setRevision(draft.revision);
+            vo.setVersion(baseVersion);
+            if (taskScheduler == null || drafts.size() > maxDrafts) {
+                Resume saved = write(resumeId);
+                vo.setSaved(saved != null);
+                vo.setVersion(saved != null ? saved.getVersion() : baseVersion);
+            } else if (draft.scheduled == null) {
+                schedule(resumeId, draft, draft.lastPatchAt + flushDelayMs);
+            }
+            return vo;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean flush(Integer resumeId) {
+        Lock lock = resumeLocks.get(resumeId);
+        lock.lock();
+        try {
+            return !drafts.containsKey(resumeId) || write(resumeId) != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 将草稿写入数据库，调用方须持有对应简历的锁
+     * @return 写入后的简历，简历已删除或版本冲突时返回null
+     */
+    private Resume write(Integer resumeId) {
+        Draft draft = drafts.get(resumeId);
+        if (draft == null || draft.conflictVersion != null) {
+            return null;
+        }
+        drafts.remove(resumeId);
+        cancelScheduled(draft);
+        Resume resume = resumeService.getResumeById(resumeId);
+        if (resume == null) {
+            // 简历已删除，草稿作废
+            return null;
+        }
+        resume.setContent(toJson(draft.content));
+        // 按第一个补丁时读取的版本校验，期间有其他修改时不覆盖
+        resume.setVersion(draft.baseVersion);
+        try {
+            return resumeService.updateResume(resume) ? resume : null;
+        } catch (ConflictException e) {
+            // 保留草稿并标记冲突，下一次补丁时通知客户端；客户端不再提交补丁时超时丢弃
+            if (taskScheduler != null) {
+                draft.conflictVersion = e.getCurrentVersion();
+                if (drafts.putIfAbsent(resumeId, draft) == null) {
+                    draft.scheduled = taskScheduler.schedule(() -> evictConflict(resumeId, draft),
+                            new Date(System.currentTimeMillis() + conflictTtlMs));
+                }
+            }
+            return null;
+        } catch (RuntimeException e) {
+            // 写入失败时保留草稿，稍后重试
+            drafts.putIfAbsent(resumeId, draft);
+            if (taskScheduler != null) {
+                schedule(resumeId, draft, System.currentTimeMillis() + maxDelayMs);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void discard(Integer resumeId) {
+        Lock lock = resumeLocks.get(resumeId);
+        lock.lock();
+        try {
+            Draft draft = drafts.remove(resumeId);
+            if (draft != null) {
+                cancelScheduled(draft);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Resume withDraft(Resume resume) {
+        Lock lock = resumeLocks.get(resume.getId());
+        lock.lock();
+        try {
+            Draft draft = drafts.get(resume.getId());
+            if (draft != null && draft.conflictVersion == null) {
+                resume.setContent(toJson(draft.content));
+            }
+            return resume;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 应用关闭前写入所有草稿
+     */
+    @PreDestroy
+    public void flushAll() {
+        for (Integer resumeId : new ArrayList<>(drafts.keySet())) {
+            try {
+                flush(resumeId);
+            } catch (RuntimeException e) {
+                System.err.println("写入简历草稿失败: " + resumeId + " " + e.getMessage());
+            }
+        }
+    }
+
+    private void schedule(Integer resumeId, Draft draft, long dueAt) {
+        draft.scheduled = taskScheduler.schedule(() -> onTimer(resumeId), new Date(dueAt));
+    }
+
+    private static void cancelScheduled(Draft draft) {
+        if (draft.scheduled != null) {
+            draft.scheduled.cancel(false);
+            draft.scheduled = null;
+        }
+    }
+
+    /**
+     * 丢弃超时仍未被客户端处理的冲突草稿
+     */
+    private void evictConflict(Integer resumeId, Draft draft) {
+        Lock lock = resumeLocks.get(resumeId);
+        lock.lock();
+        try {
+            drafts.remove(resumeId, draft);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 定时检查：仍在合并窗口内时推迟到窗口结束，否则写入
+     */
+    private void onTimer(Integer resumeId) {
+        Lock lock = resumeLocks.get(resumeId);
+        lock.lock();
+        try {
+            Draft draft = drafts.get(resumeId);
+            if (draft == null || draft.conflictVersion != null) {
+                return;
+            }
+            draft.scheduled = null;
+            long dueAt = Math.min(draft.lastPatchAt + flushDelayMs, draft.firstPatchAt + maxDelayMs);
+            if (System.currentTimeMillis() < dueAt) {
+                schedule(resumeId, draft, dueAt);
+                return;
+            }
+            write(resumeId);
+        } catch (RuntimeException e) {
+            System.err.println("写入简历草稿失败: " + resumeId + " " + e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Object parseContent(String content) {
+        try {
+            return content == null ? new JSONObject(true) : JSON.parse(content, Feature.OrderedField);
+        } catch (JSONException e) {
+            throw new BusinessException("简历内容格式错误");
+        }
+    }
+
+    private static Object parseMergePatch(String patch) {
+        try {
+            return JSON.parse(patch, Feature.OrderedField);
+        } catch (JSONException e) {
+            throw new BusinessException("JSON合并补丁格式错误");
+        }
+    }
+
+    private static String toJson(Object content) {
+        return JSON.toJSONString(content, SerializerFeature.WriteMapNullValue);
+    }
+
+    /**
+     * 未写入的草稿，只在持有对应简历的锁时访问
+     */
+    private static final class Draft {
+        private Integer userId;
+        /** 第一个补丁时数据库中的版本号 */
+        private Integer baseVersion;
+        /** 写入时发现的冲突版本号，不为空时草稿不再写入 */
+        private Integer conflictVersion;
+        private Object content;
+        private long revision;
+        private long firstPatchAt;
+        private long lastPatchAt;
+        private ScheduledFuture<?> scheduled;
+    }
+}
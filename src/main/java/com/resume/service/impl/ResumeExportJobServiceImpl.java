@@ -0,0 +1,406 @@
+package com.resume.service.impl;
+
+import com.resume.dto.BulkExportDTO;
+import com.resume.entity.Resume;
+import com.resume.exception.BusinessException;
+import com.resume.service.ResumeExportJobService;
+import com.resume.service.ResumePdfCache;
+import com.resume.service.ResumePdfRenderer;
+import com.resume.service.ResumeService;
+import com.resume.util.LocalCache;
+import com.resume.vo.ExportJobVO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 简历批量导出任务服务实现
+ * 渲染在共享的固定大小线程池中并行执行，每个任务由一个调度线程按完成顺序写入同一个ZIP文件，
+ * 同时在途的渲染数量不超过工作线程数的两倍，避免一次性占满内存
+ * ZIP文件保存在OSS公开目录之外的 {resume.export.path}/{yyyy/MM/dd}/ 下，只能通过管理员接口下载，
+ * 任务记录过期时删除对应文件，并定期清理超过保留时间的遗留文件
+ */
+@Service
+public class ResumeExportJobServiceImpl implements ResumeExportJobService {
+
+    private static final String FILE_PREFIX = "resume-export-";
+
+    @Autowired
+    private ResumeService resumeService;
+
+    @Autowired
+    private ResumePdfCache resumePdfCache;
+
+    @Autowired
+    private ResumePdfRenderer resumePdfRenderer;
+
+    @Autowired
+    @Qualifier("exportJobExecutor")
+    private ThreadPoolTaskExecutor exportJobExecutor;
+
+    @Autowired
+    @Qualifier("exportWorkerExecutor")
+    private ThreadPoolTaskExecutor exportWorkerExecutor;
+
+    @Value("${resume.export.path:./exports}")
+    private String exportPath;
+
+    @Value("${resume.export.max-resumes:5000}")
+    private int maxResumes;
+
+    /**
+     * 任务记录和ZIP文件的保留时间
+     */
+    @Value("${resume.export.retention-hours:24}")
+    private long retentionHours;
+
+    private LocalCache<String, ExportJob> jobs;
+
+    @PostConstruct
+    public void init() {
+        jobs = new LocalCache<>(1000, TimeUnit.HOURS.toMillis(retentionHours), (id, job) -> job.deleteFiles());
+    }
+
+    @Override
+    public ExportJobVO submit(BulkExportDTO filter) {
+        List<Integer> ids = resolveResumeIds(filter);
+        if (ids.isEmpty()) {
+            throw new BusinessException("没有符合条件的简历");
+        }
+        if (ids.size() > maxResumes) {
+            throw new BusinessException("单次最多导出" + maxResumes + "份简历");
+        }
+
+        ExportJob job = new ExportJob(UUID.randomUUID().toString().replace("-", ""), ids.size());
+        jobs.put(job.id, job);
+        try {
+            job.future = exportJobExecutor.submit(() -> run(job, ids));
+        } catch (TaskRejectedException e) {
+            jobs.invalidate(job.id);
+            throw new BusinessException("导出任务过多，请稍后再试");
+        }
+        return job.toVO();
+    }
+
+    @Override
+    public ExportJobVO getJob(String jobId) {
+        ExportJob job = jobs.get(jobId);
+        return job != null ? job.toVO() : null;
+    }
+
+    @Override
+    public Path getFile(String jobId) {
+        ExportJob job = jobs.get(jobId);
+        return job != null && "COMPLETED".equals(job.status) ? job.target : null;
+    }
+
+    @Override
+    public boolean cancel(String jobId) {
+        ExportJob job = jobs.get(jobId);
+        if (job == null || job.isFinished()) {
+            return false;
+        }
+        // 中断已提交的渲染，尚未开始执行的任务直接取消
+        job.cancelRenders();
+        if (job.future != null && job.future.cancel(false)) {
+            job.finish("CANCELLED", null);
+        }
+        return true;
+    }
+
+    /**
+     * 解析筛选条件，得到去重后的简历ID列表
+     */
+    private List<Integer> resolveResumeIds(BulkExportDTO filter) {
+        LinkedHashSet<Integer> ids = new LinkedHashSet<>();
+        if (filter != null && filter.getIds() != null) {
+            for (Integer id : filter.getIds()) {
+                if (id != null) {
+                    ids.add(id);
+                }
+            }
+        }
+        if (filter != null && filter.getUsername() != null && !filter.getUsername().isEmpty()) {
+            ids.addAll(resumeService.getResumeIdsByUsername(filter.getUsername()));
+        }
+        return new ArrayList<>(ids);
+    }
+
+    private void run(ExportJob job, List<Integer> ids) {
+        if (job.cancelled) {
+            job.finish("CANCELLED", null);
+            return;
+        }
+        job.status = "RUNNING";
+
+        String datePath = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy/MM/dd"));
+        String fileName = FILE_PREFIX + job.id + ".zip";
+        Path target = Paths.get(exportPath, datePath, fileName);
+        Path part = target.resolveSibling(fileName + ".part");
+        job.target = target;
+        job.part = part;
+
+        CompletionService<RenderedResume> completionService =
+                new ExecutorCompletionService<>(exportWorkerExecutor.getThreadPoolExecutor());
+        int window = exportWorkerExecutor.getMaxPoolSize() * 2;
+        int submitted = 0;
+        int received = 0;
+        try {
+            Files.createDirectories(target.getParent());
+            try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(part)))) {
+                // PDF本身已压缩，使用最快的压缩级别
+                zip.setLevel(Deflater.BEST_SPEED);
+                while (received < ids.size() && !job.cancelled) {
+                    while (submitted < ids.size() && submitted - received < window) {
+                        Integer id = ids.get(submitted++);
+                        job.addRender(completionService.submit(() -> render(id)));
+                    }
+                    Future<RenderedResume> future = completionService.take();
+                    job.renders.remove(future);
+                    received++;
+                    if (job.cancelled) {
+                        break;
+                    }
+                    try {
+                        writeEntry(zip, future.get());
+                        job.completed.incrementAndGet();
+                    } catch (CancellationException e) {
+                        // 任务被取消，循环条件随即退出
+                    } catch (ExecutionException e) {
+                        job.failed.incrementAndGet();
+                        System.err.println("导出简历失败: " + (e.getCause() != null ? e.getCause().getMessage() : e.getMessage()));
+                    }
+                }
+            }
+
+            if (job.cancelled) {
+                Files.deleteIfExists(part);
+                job.finish("CANCELLED", null);
+                return;
+            }
+            Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            job.fileUrl = "/api/admin/resume/export/jobs/" + job.id + "/download";
+            job.fileSize = Files.size(target);
+            job.finish("COMPLETED", null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            deleteQuietly(part);
+            job.finish("CANCELLED", null);
+        } catch (Exception e) {
+            System.err.println("批量导出任务失败: " + job.id + " " + e.getMessage());
+            deleteQuietly(part);
+            job.finish("FAILED", e.getMessage());
+        } finally {
+            // 异常退出时不再等待剩余的渲染
+            for (Future<?> render : job.renders) {
+                render.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * 在工作线程中渲染单份简历（优先使用渲染缓存）
+     */
+    private RenderedResume render(Integer id) throws Exception {
+        Resume resume = resumeService.getById(id);
+        if (resume == null) {
+            throw new BusinessException("简历不存在: " + id);
+        }
+        Path pdf = resumePdfCache.getOrRender(resume);
+        String entryName = id + "-" + resumePdfRenderer.buildFileName(resume).replaceAll("[\\\\/:*?\"<>|]", "_");
+        return new RenderedResume(resume, pdf, entryName);
+    }
+
+    private void writeEntry(ZipOutputStream zip, RenderedResume rendered) throws Exception {
+        zip.putNextEntry(new ZipEntry(rendered.entryName));
+        try {
+            Files.copy(rendered.pdf, zip);
+        } catch (NoSuchFileException e) {
+            // 缓存文件在写入前被淘汰，直接渲染到ZIP中
+            resumePdfRenderer.render(rendered.resume, zip);
+        }
+        zip.closeEntry();
+    }
+
+    /**
+     * 定时清理过期的任务记录，并删除超过保留时间的ZIP文件（包括进程重启前遗留、已无任务记录的文件）
+     */
+    @Scheduled(initialDelayString = "${resume.export.sweep-interval-ms:3600000}",
+            fixedDelayString = "${resume.export.sweep-interval-ms:3600000}")
+    public void sweepExpired() {
+        try {
+            jobs.cleanUp();
+            deleteExportFiles(Paths.get(exportPath), System.currentTimeMillis() - TimeUnit.HOURS.toMillis(retentionHours));
+        } catch (RuntimeException e) {
+            System.err.println("清理导出文件失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 删除目录下最后修改时间早于olderThan的导出文件
+     */
+    private void deleteExportFiles(Path dir, long olderThan) {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        List<Path> files;
+        try (Stream<Path> stream = Files.walk(dir, 4)) {
+            files = stream
+                    .filter(Files::isRegularFile)
+                    .filter(p -> p.getFileName().toString().startsWith(FILE_PREFIX))
+                    .filter(p -> lastModified(p) < olderThan)
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            System.err.println("扫描导出目录失败: " + e.getMessage());
+            return;
+        }
+        for (Path file : files) {
+            deleteQuietly(file);
+        }
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            System.err.println("删除导出文件失败: " + path);
+        }
+    }
+
+    private static final class RenderedResume {
+        private final Resume resume;
+        private final Path pdf;
+        private final String entryName;
+
+        private RenderedResume(Resume resume, Path pdf, String entryName) {
+            this.resume = resume;
+            this.pdf = pdf;
+            this.entryName = entryName;
+        }
+    }
+
+    /**
+     * 任务运行时状态
+     */
+    private static final class ExportJob {
+        private final String id;
+        private final int total;
+        private final AtomicInteger completed = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final LocalDateTime createTime = LocalDateTime.now();
+        private volatile String status = "PENDING";
+        private volatile boolean cancelled;
+        private volatile Future<?> future;
+        /** 已提交、尚未取回结果的渲染 */
+        private final Set<Future<?>> renders = ConcurrentHashMap.newKeySet();
+        private volatile Path target;
+        private volatile Path part;
+        private volatile String fileUrl;
+        private volatile Long fileSize;
+        private volatile String message;
+        private volatile LocalDateTime finishTime;
+
+        private ExportJob(String id, int total) {
+            this.id = id;
+            this.total = total;
+        }
+
+        /**
+         * 记录提交的渲染；任务已取消时立即中断
+         */
+        private synchronized void addRender(Future<?> render) {
+            renders.add(render);
+            if (cancelled) {
+                render.cancel(true);
+            }
+        }
+
+        /**
+         * 标记取消并中断所有在途的渲染，调度线程随即从等待中返回
+         */
+        private synchronized void cancelRenders() {
+            cancelled = true;
+            for (Future<?> render : renders) {
+                render.cancel(true);
+            }
+        }
+
+        /**
+         * 任务记录过期时删除ZIP文件
+         */
+        private void deleteFiles() {
+            cancelRenders();
+            deleteQuietly(part);
+            deleteQuietly(target);
+        }
+
+        private boolean isFinished() {
+            return finishTime != null;
+        }
+
+        private void finish(String status, String message) {
+            this.message = message;
+            this.finishTime = LocalDateTime.now();
+            this.status = status;
+        }
+
+        private ExportJobVO toVO() {
+            ExportJobVO vo = new ExportJobVO();
+            vo.setJobId(id);
+            vo.setStatus(status);
+            vo.setTotal(total);
+            vo.setCompleted(completed.get());
+            vo.setFailed(failed.get());
+            vo.setFileUrl(fileUrl);
+            vo.setFileSize(fileSize);
+            vo.setMessage(message);
+            vo.setCreateTime(createTime);
+            vo.setFinishTime(finishTime);
+            return vo;
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.resume.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.resume.entity.Resume;
+import com.resume.exception.BusinessException;
+import com.resume.mapper.ResumeMapper;
+import com.resume.model.ResumeDocument;
+import com.resume.service.ResumeDocumentService;
+import com.resume.service.ResumeFacetService;
+import com.resume.vo.FacetCount;
+import com.resume.vo.ResumeFacetVO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 简历分面统计服务实现
+ * 无筛选条件时直接读取增量维护的计数；有筛选条件时遍历内存中的分面数据，不访问数据库
+ */
+@Service
+public class ResumeFacetServiceImpl implements ResumeFacetService {
+
+    private static final String[] DIMENSIONS = {SKILL, DEGREE, SCHOOL, LOCATION};
+
+    private static final int MAX_LIMIT = 200;
+
+    @Value("${resume.facet.batch-size:1000}")
+    private int batchSize;
+
+    @Autowired
+    private ResumeMapper resumeMapper;
+
+    @Autowired
+    private ResumeDocumentService resumeDocumentService;
+
+    @Autowired
+    @Qualifier("facetRebuildExecutor")
+    private TaskExecutor facetRebuildExecutor;
+
+    private volatile FacetIndex facetIndex = new FacetIndex();
+
+    private volatile boolean ready;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    /**
+     * 重建期间的增量修改（value为null表示删除），重建完成后在新索引上重放
+     */
+    private List<Map.Entry<Integer, ResumeFacets>> pending;
+
+    /**
+     * 应用启动完成后在后台构建，不阻塞启动
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread thread = new Thread(this::rebuildQuietly, "facet-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void index(Resume resume) {
+        if (resume == null || resume.getId() == null) {
+            return;
+        }
+        try {
+            apply(resume.getId(), ResumeFacets.of(resumeDocumentService.getDocument(resume)));
+        } catch (BusinessException e) {
+            System.err.println("简历内容无法解析，跳过分面统计: " + resume.getId());
+        }
+    }
+
+    @Override
+    public void remove(Integer resumeId) {
+        if (resumeId != null) {
+            apply(resumeId, null);
+        }
+    }
+
+    @Override
+    public ResumeFacetVO getFacets(Map<String, String> filters, int limit) {
+        limit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        Map<String, String> conditions = new HashMap<>();
+        if (filters != null) {
+            for (Map.Entry<String, String> filter : filters.entrySet()) {
+                if (filter.getValue() != null && !filter.getValue().trim().isEmpty()) {
+                    conditions.put(filter.getKey(), filter.getValue().trim());
+                }
+            }
+        }
+
+        FacetIndex index = facetIndex;
+        long total;
+        Map<String, Map<String, Integer>> counts = new HashMap<>();
+        if (conditions.isEmpty()) {
+            total = index.entries.size();
+            for (String dimension : DIMENSIONS) {
+                Map<String, Integer> dimensionCounts = new HashMap<>();
+                index.counts.get(dimension).forEach((value, count) -> dimensionCounts.put(value, count.get()));
+                counts.put(dimension, dimensionCounts);
+            }
+        } else {
+            total = 0;
+            for (String dimension : DIMENSIONS) {
+                counts.put(dimension, new HashMap<>());
+            }
+            for (ResumeFacets facets : index.entries.values()) {
+                if (!facets.matches(conditions)) {
+                    continue;
+                }
+                total++;
+                for (String dimension : DIMENSIONS) {
+                    Map<String, Integer> dimensionCounts = counts.get(dimension);
+                    for (String value : facets.values.get(dimension)) {
+                        dimensionCounts.merge(value, 1, Integer::sum);
+                    }
+                }
+            }
+        }
+
+        Map<String, List<FacetCount>> result = new LinkedHashMap<>();
+        for (String dimension : DIMENSIONS) {
+            result.put(dimension, top(counts.get(dimension), limit));
+        }
+        ResumeFacetVO vo = new ResumeFacetVO();
+        vo.setTotal(total);
+        vo.setReady(ready);
+        vo.setFacets(result);
+        return vo;
+    }
+
+    @Override
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            synchronized (this) {
+                pending = new ArrayList<>();
+            }
+            FacetIndex fresh = new FacetIndex();
+            List<Map<String, Object>> range = resumeMapper.selectMaps(
+                    new QueryWrapper<Resume>().select("MIN(id) AS min_id", "MAX(id) AS max_id"));
+            Map<String, Object> bounds = range.isEmpty() ? null : range.get(0);
+            if (bounds != null && bounds.get("min_id") != null) {
+                int minId = ((Number) bounds.get("min_id")).intValue();
+                int maxId = ((Number) bounds.get("max_id")).intValue();
+                // 按主键区间分批，各批次并行查询和解析，结果按顺序合并
+                List<CompletableFuture<Map<Integer, ResumeFacets>>> batches = new ArrayList<>();
+                for (long from = minId; from <= maxId; from += batchSize) {
+                    int lower = (int) from;
+                    int upper = (int) Math.min(from + batchSize - 1, maxId);
+                    batches.add(CompletableFuture.supplyAsync(() -> loadBatch(lower, upper), facetRebuildExecutor));
+                }
+                for (CompletableFuture<Map<Integer, ResumeFacets>> batch : batches) {
+                    batch.join().forEach(fresh::put);
+                }
+            }
+            synchronized (this) {
+                for (Map.Entry<Integer, ResumeFacets> change : pending) {
+                    fresh.put(change.getKey(), change.getValue());
+                }
+                facetIndex = fresh;
+                ready = true;
+            }
+        } finally {
+            synchronized (this) {
+                pending = null;
+            }
+            rebuilding.set(false);
+        }
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            System.err.println("构建简历分面统计失败: " + e.getMessage());
+        }
+    }
+
+    private synchronized void apply(Integer resumeId, ResumeFacets facets) {
+        facetIndex.put(resumeId, facets);
+        if (pending != null) {
+            pending.add(new AbstractMap.SimpleEntry<>(resumeId, facets));
+        }
+    }
+
+    /**
+     * 加载一个主键区间内的简历，只查询ID和内容；直接解析而不经过文档缓存，避免全量扫描挤出热点数据
+     */
+    private Map<Integer, ResumeFacets> loadBatch(int fromId, int toId) {
+        QueryWrapper<Resume> queryWrapper = new QueryWrapper<>();
+        queryWrapper.select("id", "content").between("id", fromId, toId);
+        Map<Integer, ResumeFacets> result = new LinkedHashMap<>();
+        for (Resume resume : resumeMapper.selectList(queryWrapper)) {
+            try {
+                result.put(resume.getId(), ResumeFacets.of(ResumeDocument.parse(resume.getContent())));
+            } catch (BusinessException e) {
+                System.err.println("简历内容无法解析，跳过分面统计: " + resume.getId());
+            }
+        }
+        return result;
+    }
+
+    private List<FacetCount> top(Map<String, Integer> counts, int limit) {
+        List<FacetCount> result = new ArrayList<>();
+        counts.forEach((value, count) -> {
+            if (count > 0) {
+                result.add(new FacetCount(value, count));
+            }
+        });
+        result.sort((a, b) -> a.getCount() != b.getCount()
+                ? Long.compare(b.getCount(), a.getCount())
+                : a.getValue().compareTo(b.getValue()));
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    /**
+     * 分面数据及各取值的计数，修改由外部加锁串行执行，读取无需加锁
+     */
+    private static final class FacetIndex {
+        private final Map<Integer, ResumeFacets> entries = new ConcurrentHashMap<>();
+        private final Map<String, Map<String, AtomicInteger>> counts = new HashMap<>();
+
+        private FacetIndex() {
+            for (String dimension : DIMENSIONS) {
+                counts.put(dimension, new ConcurrentHashMap<>());
+            }
+        }
+
+        private void put(Integer resumeId, ResumeFacets facets) {
+            ResumeFacets old = facets != null ? entries.put(resumeId, facets) : entries.remove(resumeId);
+            if (old != null) {
+                adjust(old, -1);
+            }
+            if (facets != null) {
+                adjust(facets, 1);
+            }
+        }
+
+        private void adjust(ResumeFacets facets, int delta) {
+            for (String dimension : DIMENSIONS) {
+                Map<String, AtomicInteger> dimensionCounts = counts.get(dimension);
+                for (String value : facets.values.get(dimension)) {
+                    int count = dimensionCounts.computeIfAbsent(value, k -> new AtomicInteger()).addAndGet(delta);
+                    if (count <= 0) {
+                        dimensionCounts.remove(value);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 单份简历在各维度上的取值（去重）
+     */
+    private static final class ResumeFacets {
+        private final Map<String, Set<String>> values = new HashMap<>();
+
+        private static ResumeFacets of(ResumeDocument document) {
+            ResumeFacets facets = new ResumeFacets();
+            for (String dimension : DIMENSIONS) {
+                facets.values.put(dimension, new LinkedHashSet<>());
+            }
+            for (String skill : document.getSkills()) {
+                facets.add(SKILL, skill);
+            }
+            for (ResumeDocument.Education education : document.getEducation()) {
+                facets.add(DEGREE, education.getDegree());
+                facets.add(SCHOOL, education.getSchool());
+            }
+            facets.add(LOCATION, document.getPersonalInfo().getLocation());
+            for (String dimension : DIMENSIONS) {
+                facets.values.put(dimension, Collections.unmodifiableSet(facets.values.get(dimension)));
+            }
+            return facets;
+        }
+
+        private void add(String dimension, String value) {
+            if (value != null && !value.trim().isEmpty()) {
+                values.get(dimension).add(value.trim());
+            }
+        }
+
+        private boolean matches(Map<String, String> conditions) {
+            for (Map.Entry<String, String> condition : conditions.entrySet()) {
+                Set<String> dimensionValues = values.get(condition.getKey());
+                if (dimensionValues == null || !dimensionValues.contains(condition.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.resume.service.impl;
+
+import com.itextpdf.text.DocumentException;
+import com.resume.entity.Resume;
+import com.resume.service.ResumePdfCache;
+import com.resume.service.ResumePdfRenderer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 简历PDF渲染缓存实现
+ * 文件布局：{resume.pdf-cache.path}/{简历ID}/{摘要}.pdf，目录不在OSS公开目录内，只能通过鉴权后的导出接口下载
+ * 内存中维护按访问顺序排列的索引，总大小超过上限时淘汰最久未使用的文件
+ */
+@Service
+public class ResumePdfCacheImpl implements ResumePdfCache {
+
+    /**
+     * 打开文件时被并发失效或淘汰后最多重新渲染的次数
+     */
+    private static final int MAX_OPEN_ATTEMPTS = 3;
+
+    @Autowired
+    private ResumePdfRenderer resumePdfRenderer;
+
+    @Value("${resume.pdf-cache.path:./render-cache/pdf}")
+    private String cachePath;
+
+    @Value("${resume.pdf-cache.max-bytes:268435456}")
+    private long maxBytes;
+
+    private Path cacheDir;
+
+    /**
+     * 缓存文件索引（访问顺序），值为文件大小
+     */
+    private final LinkedHashMap<Path, Long> index = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long totalBytes;
+
+    @PostConstruct
+    public void init() {
+        cacheDir = Paths.get(cachePath).toAbsolutePath().normalize();
+        loadIndex();
+    }
+
+    @Override
+    public String fingerprint(Resume resume) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            md.update(String.valueOf(resume.getId()).getBytes(StandardCharsets.UTF_8));
+            md.update((byte) 0);
+            md.update(String.valueOf(resume.getContent()).getBytes(StandardCharsets.UTF_8));
+            md.update((byte) 0);
+            md.update(String.valueOf(resume.getThemeId()).getBytes(StandardCharsets.UTF_8));
+            md.update((byte) 0);
+            md.update(String.valueOf(resume.getUpdateTime()).getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder();
+            byte[] digest = md.digest();
+            // 取前16字节即可区分同一简历的不同版本
+            for (int i = 0; i < 16; i++) {
+                sb.append(String.format("%02x", digest[i]));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public Path getOrRender(Resume resume) throws IOException, DocumentException {
+        Path file = cacheDir.resolve(String.valueOf(resume.getId())).resolve(fingerprint(resume) + ".pdf");
+        if (touch(file)) {
+            return file;
+        }
+
+        // 未命中：先渲染到临时文件，再原子移动到目标位置，避免并发请求读到半个文件
+        Files.createDirectories(file.getParent());
+        Path tmp = file.resolveSibling(file.getFileName() + "." + UUID.randomUUID().toString().substring(0, 8) + ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                resumePdfRenderer.render(resume, out);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        record(file, Files.size(file));
+        return file;
+    }
+
+    @Override
+    public FileChannel openOrRender(Resume resume) throws IOException, DocumentException {
+        for (int attempt = 1; ; attempt++) {
+            Path file = getOrRender(resume);
+            try {
+                // 打开后即使文件被删除，已打开的通道仍可完整读取
+                return FileChannel.open(file, StandardOpenOption.READ);
+            } catch (NoSuchFileException e) {
+                if (attempt >= MAX_OPEN_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void invalidate(Integer resumeId) {
+        if (resumeId == null) {
+            return;
+        }
+        Path dir = cacheDir.resolve(String.valueOf(resumeId));
+        synchronized (this) {
+            Iterator<Map.Entry<Path, Long>> it = index.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Path, Long> e = it.next();
+                if (e.getKey().startsWith(dir)) {
+                    totalBytes -= e.getValue();
+                    it.remove();
+                }
+            }
+        }
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path f : files) {
+                Files.deleteIfExists(f);
+            }
+            Files.deleteIfExists(dir);
+        } catch (IOException e) {
+            System.err.println("删除PDF缓存失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 命中时刷新访问顺序；索引中存在但文件已被删除时移除索引
+     */
+    private synchronized boolean touch(Path file) {
+        Long size = index.get(file);
+        if (size == null) {
+            return false;
+        }
+        if (!Files.exists(file)) {
+            index.remove(file);
+            totalBytes -= size;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 记录新文件并按总大小淘汰最久未使用的文件
+     */
+    private void record(Path file, long size) {
+        List<Path> evicted = new ArrayList<>();
+        synchronized (this) {
+            Long previous = index.put(file, size);
+            totalBytes += size - (previous != null ? previous : 0);
+            Iterator<Map.Entry<Path, Long>> it = index.entrySet().iterator();
+            while (totalBytes > maxBytes && it.hasNext()) {
+                Map.Entry<Path, Long> eldest = it.next();
+                if (eldest.getKey().equals(file)) {
+                    continue;
+                }
+                totalBytes -= eldest.getValue();
+                evicted.add(eldest.getKey());
+                it.remove();
+            }
+        }
+        for (Path path : evicted) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                System.err.println("淘汰PDF缓存失败: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 启动时按最后修改时间恢复索引
+     */
+    private void loadIndex() {
+        if (!Files.isDirectory(cacheDir)) {
+            return;
+        }
+        try (Stream<Path> stream = Files.walk(cacheDir, 2)) {
+            List<Path> files = stream
+                    .filter(Files::isRegularFile)
+                    .filter(p -> {
+                        // 清理上次异常退出遗留的临时文件
+                        if (p.getFileName().toString().endsWith(".tmp")) {
+                            p.toFile().delete();
+                            return false;
+                        }
+                        return p.getFileName().toString().endsWith(".pdf");
+                    })
+                    .sorted(Comparator.comparingLong(this::lastModified))
+                    .collect(Collectors.toList());
+            for (Path file : files) {
+                BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                record(file, attrs.size());
+            }
+        } catch (IOException e) {
+            System.err.println("加载PDF缓存索引失败: " + e.getMessage());
+        }
+    }
+
+    private long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.resume.service.impl;
+
+import com.itextpdf.text.BaseColor;
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Element;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.PageSize;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.Rectangle;
+import com.itextpdf.text.pdf.BaseFont;
+import com.itextpdf.text.pdf.PdfPCell;
+import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfWriter;
+import com.resume.entity.Resume;
+import com.resume.model.ResumeDocument;
+import com.resume.service.ResumeDocumentService;
+import com.resume.service.ResumePdfRenderer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 简历PDF渲染服务实现
+ * 字体只在启动时加载一次；内容来自已解析的简历文档；各部分逐个写入文档，写满的页面立即输出，不在内存中构建整棵表格树
+ */
+@Service
+public class ResumePdfRendererImpl implements ResumePdfRenderer {
+
+    private static final BaseColor BORDER_COLOR = BaseColor.LIGHT_GRAY;
+
+    @Autowired
+    private ResumeDocumentService resumeDocumentService;
+
+    private Font titleFont;
+    private Font subtitleFont;
+    private Font normalFont;
+    private Font smallFont;
+
+    @PostConstruct
+    public void init() throws IOException, DocumentException {
+        // 使用iText内置中文字体
+        BaseFont baseFont = BaseFont.createFont("STSong-Light", "UniGB-UCS2-H", BaseFont.NOT_EMBEDDED);
+        titleFont = new Font(baseFont, 20, Font.BOLD);
+        subtitleFont = new Font(baseFont, 16, Font.BOLD);
+        normalFont = new Font(baseFont, 12, Font.NORMAL);
+        smallFont = new Font(baseFont, 10, Font.NORMAL);
+    }
+
+    @Override
+    public void render(Resume resume, OutputStream out) throws IOException, DocumentException {
+        ResumeDocument content = resumeDocumentService.getDocument(resume);
+
+        Document document = new Document(PageSize.A4);
+        PdfWriter writer = PdfWriter.getInstance(document, out);
+        // 输出流由调用方负责关闭
+        writer.setCloseStream(false);
+        document.open();
+        try {
+            document.add(personalSection(content.getPersonalInfo()));
+
+            addSection(document, "个人简介", singleEntry(content.getSummary()));
+
+            List<PdfPCell> education = new ArrayList<>();
+            for (ResumeDocument.Education edu : content.getEducation()) {
+                education.add(entryCell(
+                        new Paragraph(edu.getSchool(), normalFont),
+                        new Paragraph(edu.getMajor() + " (" + edu.getDegree() + ")", smallFont),
+                        new Paragraph(edu.getStartDate() + " - " + edu.getEndDate(), smallFont)));
+            }
+            addSection(document, "教育背景", education);
+
+            List<PdfPCell> work = new ArrayList<>();
+            for (ResumeDocument.WorkExperience item : content.getWorkExperience()) {
+                work.add(entryCell(
+                        new Paragraph(item.getCompany() + " - " + item.getPosition(), normalFont),
+                        new Paragraph(item.getStartDate() + " - " + item.getEndDate(), smallFont),
+                        new Paragraph(item.getDescription(), normalFont)));
+            }
+            addSection(document, "工作经历", work);
+
+            List<PdfPCell> projects = new ArrayList<>();
+            for (ResumeDocument.ProjectExperience project : content.getProjectExperience()) {
+                PdfPCell cell = entryCell(
+                        new Paragraph(project.getName() + " - " + project.getRole(), normalFont),
+                        new Paragraph(project.getStartDate() + " - " + project.getEndDate(), smallFont));
+                if (!project.getTechnologies().isEmpty()) {
+                    cell.addElement(new Paragraph("技术栈：" + String.join(", ", project.getTechnologies()), smallFont));
+                }
+                cell.addElement(new Paragraph(project.getDescription(), normalFont));
+                projects.add(cell);
+            }
+            addSection(document, "项目经历", projects);
+
+            if (!content.getSkills().isEmpty()) {
+                addSection(document, "技能特长", singleEntry(String.join("、", content.getSkills())));
+            }
+        } finally {
+            document.close();
+        }
+    }
+
+    @Override
+    public String buildFileName(Resume resume) {
+        ResumeDocument.PersonalInfo personalInfo = resumeDocumentService.getDocument(resume).getPersonalInfo();
+        return personalInfo.getName() + "-" + personalInfo.getTitle() + ".pdf";
+    }
+
+    /**
+     * 个人信息部分 - 使用表格布局
+     */
+    private PdfPTable personalSection(ResumeDocument.PersonalInfo personalInfo) {
+        PdfPTable table = new PdfPTable(2);
+        table.setWidthPercentage(100);
+        table.setSpacingAfter(15);
+
+        PdfPCell titleCell = new PdfPCell(new Paragraph(personalInfo.getName(), titleFont));
+        titleCell.setColspan(2);
+        titleCell.setHorizontalAlignment(Element.ALIGN_CENTER);
+        titleCell.setBackgroundColor(BaseColor.LIGHT_GRAY);
+        titleCell.setPadding(10);
+        table.addCell(titleCell);
+
+        PdfPCell positionCell = new PdfPCell(new Paragraph(personalInfo.getTitle(), subtitleFont));
+        positionCell.setColspan(2);
+        positionCell.setHorizontalAlignment(Element.ALIGN_CENTER);
+        positionCell.setPadding(5);
+        table.addCell(positionCell);
+
+        // 联系方式信息 - 左右分布
+        table.addCell(new PdfPCell(new Paragraph("姓名：" + personalInfo.getName(), normalFont)));
+        table.addCell(new PdfPCell(new Paragraph("岗位：" + personalInfo.getTitle(), normalFont)));
+        table.addCell(new PdfPCell(new Paragraph("电话：" + personalInfo.getPhone(), normalFont)));
+        table.addCell(new PdfPCell(new Paragraph("邮箱：" + personalInfo.getEmail(), normalFont)));
+        table.addCell(new PdfPCell(new Paragraph("地址：" + personalInfo.getLocation(), normalFont)));
+        table.addCell(new PdfPCell(new Paragraph("", normalFont)));
+        return table;
+    }
+
+    /**
+     * 写入一个部分：标题行 + 每个条目一行，行可跨页拆分，写完即可输出
+     */
+    private void addSection(Document document, String title, List<PdfPCell> entries) throws DocumentException {
+        if (entries.isEmpty()) {
+            return;
+        }
+        PdfPTable table = new PdfPTable(1);
+        table.setWidthPercentage(100);
+        table.setSpacingAfter(10);
+        table.setSplitLate(false);
+
+        PdfPCell header = new PdfPCell(new Paragraph(title, subtitleFont));
+        header.setPadding(10);
+        header.setPaddingBottom(4);
+        header.setBorder(Rectangle.LEFT | Rectangle.RIGHT | Rectangle.TOP);
+        header.setBorderColor(BORDER_COLOR);
+        table.addCell(header);
+
+        for (int i = 0; i < entries.size(); i++) {
+            PdfPCell cell = entries.get(i);
+            int border = Rectangle.LEFT | Rectangle.RIGHT;
+            if (i == entries.size() - 1) {
+                border |= Rectangle.BOTTOM;
+            }
+            cell.setBorder(border);
+            table.addCell(cell);
+        }
+        document.add(table);
+    }
+
+    private List<PdfPCell> singleEntry(String text) {
+        List<PdfPCell> cells = new ArrayList<>();
+        cells.add(entryCell(new Paragraph(text, normalFont)));
+        return cells;
+    }
+
+    private PdfPCell entryCell(Paragraph... paragraphs) {
+        PdfPCell cell = new PdfPCell();
+        for (Paragraph paragraph : paragraphs) {
+            cell.addElement(paragraph);
+        }
+        cell.setPaddingLeft(10);
+        cell.setPaddingRight(10);
+        cell.setPaddingBottom(8);
+        cell.setBackgroundColor(BaseColor.WHITE);
+        cell.setBorderColor(BORDER_COLOR);
+        return cell;
+    }
+}
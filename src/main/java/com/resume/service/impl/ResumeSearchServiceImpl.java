@@ -0,0 +1,407 @@
+package com.resume.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.resume.entity.Resume;
+import com.resume.exception.BusinessException;
+import com.resume.mapper.ResumeMapper;
+import com.resume.model.ResumeDocument;
+import com.resume.service.ResumeDocumentService;
+import com.resume.service.ResumeSearchService;
+import com.resume.vo.ResumeSearchHit;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.cn.smart.SmartChineseAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermInSetQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopScoreDocCollector;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 简历全文检索服务实现（Lucene本地索引，中文使用smartcn分词）
+ * 增量更新写入IndexWriter后立即刷新近实时搜索器，磁盘提交由后台线程定期合并执行
+ */
+@Service
+public class ResumeSearchServiceImpl implements ResumeSearchService {
+
+    private static final String F_ID = "id";
+    private static final String F_USER_ID = "userId";
+    private static final String F_NAME = "name";
+    private static final String F_CANDIDATE = "candidate";
+    private static final String F_TITLE = "title";
+    private static final String F_SKILLS = "skills";
+    private static final String F_TECHNOLOGIES = "technologies";
+    private static final String F_EDUCATION = "education";
+    private static final String F_WORK = "work";
+    private static final String F_PROJECTS = "projects";
+    private static final String F_SUMMARY = "summary";
+
+    /**
+     * 检索字段及权重：技能、技术栈最高，其次是学校、公司和岗位
+     */
+    private static final Map<String, Float> FIELD_BOOSTS = new HashMap<>();
+
+    static {
+        FIELD_BOOSTS.put(F_SKILLS, 3f);
+        FIELD_BOOSTS.put(F_TECHNOLOGIES, 3f);
+        FIELD_BOOSTS.put(F_EDUCATION, 2f);
+        FIELD_BOOSTS.put(F_WORK, 2f);
+        FIELD_BOOSTS.put(F_CANDIDATE, 2f);
+        FIELD_BOOSTS.put(F_NAME, 1f);
+        FIELD_BOOSTS.put(F_PROJECTS, 1f);
+        FIELD_BOOSTS.put(F_SUMMARY, 1f);
+    }
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * 最多可翻阅的结果条数，避免深分页收集大量结果
+     */
+    private static final int MAX_RESULT_WINDOW = 1000;
+
+    @Value("${resume.search.index-path:./search-index}")
+    private String indexPath;
+
+    @Value("${resume.search.commit-interval-seconds:5}")
+    private long commitIntervalSeconds;
+
+    @Value("${resume.search.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    @Autowired
+    private ResumeMapper resumeMapper;
+
+    @Autowired
+    private ResumeDocumentService resumeDocumentService;
+
+    private final Analyzer analyzer = new SmartChineseAnalyzer();
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    /**
+     * 重建期间写入过的简历ID，重建结束时据此清理索引中已不存在的简历
+     */
+    private final Object rebuildMonitor = new Object();
+    private Set<Integer> rebuildSeen;
+
+    /**
+     * 重建期间被增量更新或删除过的简历ID，流式读取到这些简历时跳过，避免旧数据覆盖更新后的索引
+     */
+    private Set<Integer> rebuildTouched;
+
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void init() throws IOException {
+        Path path = Paths.get(indexPath);
+        Files.createDirectories(path);
+        directory = FSDirectory.open(path);
+        IndexWriterConfig config = new IndexWriterConfig(analyzer);
+        config.setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        writer = new IndexWriter(directory, config);
+        searcherManager = new SearcherManager(writer, null);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "search-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::commitQuietly, commitIntervalSeconds, commitIntervalSeconds, TimeUnit.SECONDS);
+        if (rebuildOnStartup) {
+            // 未提交的增量更新可能因进程退出而丢失，启动时与数据库数量不一致则在后台重建
+            scheduler.execute(this::rebuildIfStale);
+        }
+    }
+
+    @PreDestroy
+    public void destroy() throws IOException {
+        scheduler.shutdownNow();
+        searcherManager.close();
+        // close 会提交未提交的修改
+        writer.close();
+        directory.close();
+    }
+
+    @Override
+    public void index(Resume resume) {
+        if (resume == null || resume.getId() == null) {
+            return;
+        }
+        try {
+            indexDocument(resume, false);
+            searcherManager.maybeRefresh();
+        } catch (IOException | RuntimeException e) {
+            // 索引失败不影响简历保存，下次重建时修复
+            System.err.println("更新简历索引失败: " + resume.getId() + ", " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void remove(Integer resumeId) {
+        if (resumeId == null) {
+            return;
+        }
+        try {
+            synchronized (rebuildMonitor) {
+                if (rebuildSeen != null) {
+                    rebuildSeen.remove(resumeId);
+                    rebuildTouched.add(resumeId);
+                }
+                writer.deleteDocuments(new Term(F_ID, resumeId.toString()));
+            }
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            System.err.println("删除简历索引失败: " + resumeId + ", " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Page<ResumeSearchHit> search(String keyword, int current, int size) {
+        if (keyword == null || keyword.trim().isEmpty()) {
+            throw new BusinessException("搜索关键词不能为空");
+        }
+        current = Math.max(1, current);
+        size = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        if ((long) current * size > MAX_RESULT_WINDOW) {
+            throw new BusinessException("最多只能查看前" + MAX_RESULT_WINDOW + "条搜索结果");
+        }
+        Page<ResumeSearchHit> page = new Page<>(current, size);
+        Query query = parse(keyword.trim());
+
+        IndexSearcher searcher;
+        try {
+            searcher = searcherManager.acquire();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            // 统计精确的命中总数，供前端分页
+            TopScoreDocCollector collector = TopScoreDocCollector.create(current * size, Integer.MAX_VALUE);
+            searcher.search(query, collector);
+            TopDocs topDocs = collector.topDocs((current - 1) * size, size);
+            List<ResumeSearchHit> records = new ArrayList<>();
+            for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                records.add(toHit(searcher.doc(scoreDoc.doc), scoreDoc.score));
+            }
+            page.setTotal(topDocs.totalHits.value);
+            page.setRecords(records);
+            return page;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            try {
+                searcherManager.release(searcher);
+            } catch (IOException e) {
+                System.err.println("释放搜索器失败: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public boolean rebuildAsync() {
+        if (rebuilding.get()) {
+            return false;
+        }
+        scheduler.execute(this::rebuildQuietly);
+        return true;
+    }
+
+    /**
+     * 从数据库流式读取全部简历重建索引
+     * 重建过程中不清空旧索引，逐条覆盖后再删除数据库中已不存在的简历，期间检索不受影响；
+     * 重建期间增量更新或删除过的简历以增量结果为准，不再被流式读取的旧数据覆盖
+     */
+    void rebuild() throws IOException {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            synchronized (rebuildMonitor) {
+                rebuildSeen = new HashSet<>();
+                rebuildTouched = new HashSet<>();
+            }
+            QueryWrapper<Resume> queryWrapper = new QueryWrapper<>();
+            queryWrapper.select("id", "user_id", "name", "content", "update_time");
+            resumeMapper.streamResumes(queryWrapper, context -> {
+                Resume resume = context.getResultObject();
+                try {
+                    indexDocument(resume, true);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (BusinessException e) {
+                    System.err.println("简历内容无法解析，跳过索引: " + resume.getId());
+                }
+            });
+            synchronized (rebuildMonitor) {
+                List<BytesRef> ids = new ArrayList<>(rebuildSeen.size());
+                for (Integer id : rebuildSeen) {
+                    ids.add(new BytesRef(id.toString()));
+                }
+                writer.deleteDocuments(new BooleanQuery.Builder()
+                        .add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST)
+                        .add(new TermInSetQuery(F_ID, ids), BooleanClause.Occur.MUST_NOT)
+                        .build());
+            }
+            writer.commit();
+            searcherManager.maybeRefresh();
+        } finally {
+            synchronized (rebuildMonitor) {
+                rebuildSeen = null;
+                rebuildTouched = null;
+            }
+            rebuilding.set(false);
+        }
+    }
+
+    private void rebuildIfStale() {
+        try {
+            long indexed = writer.getDocStats().numDocs;
+            Long total = resumeMapper.selectCount(null);
+            if (total == null || total != indexed) {
+                rebuild();
+            }
+        } catch (Exception e) {
+            System.err.println("启动时检查简历索引失败: " + e.getMessage());
+        }
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            System.err.println("重建简历索引失败: " + e.getMessage());
+        }
+    }
+
+    private void commitQuietly() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+            searcherManager.maybeRefresh();
+        } catch (Exception e) {
+            System.err.println("提交简历索引失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @param streamed 是否为重建时从数据库流式读取的数据
+     */
+    private void indexDocument(Resume resume, boolean streamed) throws IOException {
+        Document document = toDocument(resume);
+        synchronized (rebuildMonitor) {
+            if (rebuildSeen != null) {
+                if (streamed && rebuildTouched.contains(resume.getId())) {
+                    return;
+                }
+                if (!streamed) {
+                    rebuildTouched.add(resume.getId());
+                }
+                rebuildSeen.add(resume.getId());
+            }
+            writer.updateDocument(new Term(F_ID, resume.getId().toString()), document);
+        }
+    }
+
+    private Document toDocument(Resume resume) {
+        ResumeDocument content = resumeDocumentService.getDocument(resume);
+        ResumeDocument.PersonalInfo info = content.getPersonalInfo();
+
+        Document document = new Document();
+        document.add(new StringField(F_ID, resume.getId().toString(), Field.Store.YES));
+        if (resume.getUserId() != null) {
+            document.add(new StoredField(F_USER_ID, resume.getUserId()));
+        }
+        addText(document, F_NAME, resume.getName(), true);
+        addText(document, F_CANDIDATE, info.getName(), true);
+        addText(document, F_TITLE, info.getTitle(), true);
+        // 岗位同时参与候选人字段的检索
+        addText(document, F_CANDIDATE, info.getTitle(), false);
+        addText(document, F_SKILLS, String.join(" ", content.getSkills()), false);
+        for (ResumeDocument.Education edu : content.getEducation()) {
+            addText(document, F_EDUCATION, edu.getSchool() + " " + edu.getMajor() + " " + edu.getDegree(), false);
+        }
+        for (ResumeDocument.WorkExperience work : content.getWorkExperience()) {
+            addText(document, F_WORK, work.getCompany() + " " + work.getPosition() + " " + work.getDescription(), false);
+        }
+        for (ResumeDocument.ProjectExperience project : content.getProjectExperience()) {
+            addText(document, F_TECHNOLOGIES, String.join(" ", project.getTechnologies()), false);
+            addText(document, F_PROJECTS, project.getName() + " " + project.getRole() + " " + project.getDescription(), false);
+        }
+        addText(document, F_SUMMARY, content.getSummary(), false);
+        return document;
+    }
+
+    private void addText(Document document, String field, String value, boolean store) {
+        if (value != null && !value.trim().isEmpty()) {
+            document.add(new TextField(field, value, store ? Field.Store.YES : Field.Store.NO));
+        }
+    }
+
+    private Query parse(String keyword) {
+        String[] fields = FIELD_BOOSTS.keySet().toArray(new String[0]);
+        MultiFieldQueryParser parser = new MultiFieldQueryParser(fields, analyzer, FIELD_BOOSTS);
+        parser.setDefaultOperator(QueryParser.Operator.AND);
+        try {
+            return parser.parse(QueryParser.escape(keyword));
+        } catch (ParseException e) {
+            throw new BusinessException("无效的搜索关键词");
+        }
+    }
+
+    private ResumeSearchHit toHit(Document document, float score) {
+        ResumeSearchHit hit = new ResumeSearchHit();
+        hit.setId(Integer.valueOf(document.get(F_ID)));
+        if (document.getField(F_USER_ID) != null) {
+            hit.setUserId(document.getField(F_USER_ID).numericValue().intValue());
+        }
+        hit.setName(document.get(F_NAME));
+        hit.setCandidateName(document.get(F_CANDIDATE));
+        hit.setTitle(document.get(F_TITLE));
+        hit.setScore(score);
+        return hit;
+    }
+}
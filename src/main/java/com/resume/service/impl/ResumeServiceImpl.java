@@ -5,14 +5,31 @@ import com.baomidou.mybatisplus.core.conditions.update.UpdateWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.resume.entity.Resume;
 import com.resume.entity.User;
+import com.resume.exception.ConflictException;
 import com.resume.mapper.ResumeMapper;
 import com.resume.mapper.UserMapper;
+import com.resume.model.ResumeDocument;
+import com.resume.service.ResumeDocumentService;
+import com.resume.service.ResumeFacetService;
+import com.resume.service.ResumePdfCache;
+import com.resume.service.ResumeSearchService;
 import com.resume.service.ResumeService;
+import com.resume.service.ResumeVersionService;
+import com.resume.util.CursorCodec;
+import com.resume.util.ResumeFields;
+import com.resume.vo.CursorPage;
+import com.resume.vo.ResumeSummary;
+import com.resume.vo.ResumeVersionVO;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * 简历服务实现类
@@ -23,6 +40,16 @@ public class ResumeServiceImpl implements ResumeService {
     private ResumeMapper resumeMapper;
     @Autowired
     private UserMapper userMapper;
+    @Autowired
+    private ResumePdfCache resumePdfCache;
+    @Autowired
+    private ResumeDocumentService resumeDocumentService;
+    @Autowired
+    private ResumeSearchService resumeSearchService;
+    @Autowired
+    private ResumeFacetService resumeFacetService;
+    @Autowired
+    private ResumeVersionService resumeVersionService;
     @Override
     public Page<Resume> getResumeList(int current, int size) {
         Page<Resume> page = new Page<>(current, size);
@@ -42,15 +69,65 @@ public class ResumeServiceImpl implements ResumeService {
     }
     @Override
     public boolean saveResume(Resume resume) {
-        return resumeMapper.insert(resume) > 0;
+        validateContent(resume);
+        resume.setVersion(0);
+        boolean success = resumeMapper.insert(resume) > 0;
+        if (success) {
+            resumeVersionService.record(resume);
+            resumeSearchService.index(resume);
+            resumeFacetService.index(resume);
+        }
+        return success;
     }
     @Override
     public boolean updateResume(Resume resume) {
-        return resumeMapper.updateById(resume) > 0;
+        validateContent(resume);
+        Integer expectedVersion = resume.getVersion();
+        boolean success = resumeMapper.updateById(resume) > 0;
+        if (!success && expectedVersion != null) {
+            // 区分版本冲突和记录不存在
+            Resume current = resumeMapper.selectById(resume.getId());
+            if (current != null) {
+                throw new ConflictException("简历已被修改，请合并最新内容后重试", current.getVersion());
+            }
+        }
+        if (success) {
+            resumePdfCache.invalidate(resume.getId());
+            resumeDocumentService.invalidate(resume.getId());
+            resumeVersionService.record(resume);
+            resumeSearchService.index(resume);
+            resumeFacetService.index(resume);
+        }
+        return success;
     }
     @Override
     public boolean deleteResume(Integer id) {
-        return resumeMapper.deleteById(id) > 0;
+        boolean success = resumeMapper.deleteById(id) > 0;
+        if (success) {
+            evictDeleted(id);
+        }
+        return success;
+    }
+    @Override
+    public void evictDeleted(Integer id) {
+        resumePdfCache.invalidate(id);
+        resumeDocumentService.invalidate(id);
+        resumeSearchService.remove(id);
+        resumeFacetService.remove(id);
+        resumeVersionService.remove(id);
+    }
+    @Override
+    public Resume rollbackResume(Integer id, int versionNo) {
+        Resume resume = resumeMapper.selectById(id);
+        ResumeVersionVO version = resume != null ? resumeVersionService.getVersion(id, versionNo) : null;
+        if (version == null) {
+            return null;
+        }
+        // 回滚也作为一次普通更新记录为新版本，历史不会被截断
+        resume.setName(version.getName());
+        resume.setContent(version.getContent());
+        resume.setThemeId(version.getThemeId());
+        return updateResume(resume) ? resume : null;
     }
     @Override
     public Resume getById(Integer id) {
@@ -78,4 +155,119 @@ public class ResumeServiceImpl implements ResumeService {
         queryWrapper.orderByDesc("create_time");
         return resumeMapper.selectPage(page, queryWrapper);
     }
-}
\ No newline at end of file
+    @Override
+    public List<Integer> getResumeIdsByUsername(String username) {
+        User user = userMapper.selectOne(new QueryWrapper<User>().eq("username", username));
+        if (user == null) {
+            return new ArrayList<>();
+        }
+        QueryWrapper<Resume> queryWrapper = new QueryWrapper<>();
+        queryWrapper.select("id").eq("user_id", user.getId()).orderByAsc("id");
+        return resumeMapper.selectObjs(queryWrapper).stream()
+                .map(id -> ((Number) id).intValue())
+                .collect(Collectors.toList());
+    }
+    @Override
+    public CursorPage<Resume> getResumeListByCursor(String cursor, int size, String username, boolean withTotal) {
+        return cursorPage(cursor, size, username, withTotal, resumeMapper::selectList,
+                r -> CursorCodec.encode(r.getCreateTime(), r.getId()));
+    }
+    @Override
+    public Page<ResumeSummary> getResumeSummaryList(int current, int size, String username) {
+        Page<ResumeSummary> page = new Page<>(current, size);
+        QueryWrapper<Resume> queryWrapper = new QueryWrapper<>();
+        if (username != null && !username.isEmpty()) {
+            User user = userMapper.selectOne(new QueryWrapper<User>().eq("username", username));
+            if (user == null) {
+                // 用户不存在，返回空分页
+                return page;
+            }
+            queryWrapper.eq("user_id", user.getId());
+        }
+        queryWrapper.orderByDesc("create_time");
+        resumeMapper.selectSummaryPage(page, queryWrapper);
+        return page;
+    }
+    @Override
+    public CursorPage<ResumeSummary> getResumeSummaryListByCursor(String cursor, int size, String username, boolean withTotal) {
+        return cursorPage(cursor, size, username, withTotal, resumeMapper::selectSummaryList,
+                r -> CursorCodec.encode(r.getCreateTime(), r.getId()));
+    }
+    @Override
+    public List<ResumeSummary> getAllResumeSummaries() {
+        QueryWrapper<Resume> queryWrapper = new QueryWrapper<>();
+        queryWrapper.orderByDesc("create_time");
+        return resumeMapper.selectSummaryList(queryWrapper);
+    }
+    @Override
+    public List<ResumeSummary> getResumeSummariesByUserId(Integer userId) {
+        QueryWrapper<Resume> queryWrapper = new QueryWrapper<>();
+        queryWrapper.eq("user_id", userId).orderByDesc("create_time");
+        return resumeMapper.selectSummaryList(queryWrapper);
+    }
+    @Override
+    public void streamAllResumes(List<String> fields, Consumer<Resume> consumer) {
+        QueryWrapper<Resume> queryWrapper = new QueryWrapper<>();
+        queryWrapper.select(ResumeFields.columns(fields)).orderByDesc("create_time", "id");
+        resumeMapper.streamResumes(queryWrapper, context -> consumer.accept(context.getResultObject()));
+    }
+    /**
+     * 写入前校验简历内容可以解析为简历文档
+     */
+    private void validateContent(Resume resume) {
+        if (resume.getContent() != null) {
+            ResumeDocument.parse(resume.getContent());
+        }
+    }
+    /**
+     * 游标分页通用逻辑，按 (create_time, id) 倒序定位
+     * @param query 执行查询（完整记录或摘要）
+     * @param cursorOf 由最后一条记录生成下一页游标
+     */
+    private <T> CursorPage<T> cursorPage(String cursor, int size, String username, boolean withTotal,
+                                         Function<QueryWrapper<Resume>, List<T>> query, Function<T, String> cursorOf) {
+        CursorPage<T> page = new CursorPage<>();
+        page.setSize(size);
+        Integer userId = null;
+        if (username != null && !username.isEmpty()) {
+            User user = userMapper.selectOne(new QueryWrapper<User>().eq("username", username));
+            if (user == null) {
+                // 用户不存在，返回空分页
+                if (withTotal) {
+                    page.setTotal(0L);
+                }
+                return page;
+            }
+            userId = user.getId();
+        }
+        if (withTotal) {
+            page.setTotal(resumeMapper.selectCount(new QueryWrapper<Resume>().eq(userId != null, "user_id", userId)));
+        }
+
+        QueryWrapper<Resume> queryWrapper = new QueryWrapper<>();
+        queryWrapper.eq(userId != null, "user_id", userId);
+        if (cursor != null && !cursor.isEmpty()) {
+            CursorCodec.Position position = CursorCodec.decode(cursor);
+            LocalDateTime createTime = position.getCreateTime();
+            Integer id = position.getId();
+            // 倒序时MySQL将create_time为NULL的记录排在最后
+            if (createTime != null) {
+                queryWrapper.and(w -> w.lt("create_time", createTime)
+                        .or(x -> x.eq("create_time", createTime).lt("id", id))
+                        .or().isNull("create_time"));
+            } else {
+                queryWrapper.isNull("create_time").lt("id", id);
+            }
+        }
+        // 多取一条用于判断是否还有下一页
+        queryWrapper.orderByDesc("create_time", "id").last("LIMIT " + (size + 1));
+        List<T> records = query.apply(queryWrapper);
+        if (records.size() > size) {
+            records = new ArrayList<>(records.subList(0, size));
+            page.setHasMore(true);
+            page.setNextCursor(cursorOf.apply(records.get(size - 1)));
+        }
+        page.setRecords(records);
+        return page;
+    }
+}
@@ -0,0 +1,236 @@
+package com.resume.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.resume.entity.Resume;
+import com.resume.entity.ResumeVersion;
+import com.resume.mapper.ResumeVersionMapper;
+import com.resume.service.ResumeVersionService;
+import com.resume.util.JsonMergePatch;
+import com.resume.util.LocalCache;
+import com.resume.util.StripedLock;
+import com.resume.vo.ResumeVersionVO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Collectors;
+
+/**
+ * 简历历史版本服务实现
+ * 版本号为 1, 1+N, 1+2N... 的版本保存完整快照（N为快照间隔），其余版本保存相对上一版本的合并补丁，
+ * 还原时从不高于目标版本的最近快照（或缓存中更近的版本）开始依次应用补丁，最多应用N-1个补丁
+ */
+@Service
+public class ResumeVersionServiceImpl implements ResumeVersionService {
+
+    private static final String META_COLUMNS = "resume_id, version_no, type, name, theme_id, create_time";
+
+    /**
+     * 每隔多少个版本保存一次完整快照
+     */
+    @Value("${resume.version.snapshot-interval:10}")
+    private int snapshotInterval;
+
+    /**
+     * 每份简历至少保留的版本数，更早的版本在写入新快照时按快照边界清理，0表示不清理
+     */
+    @Value("${resume.version.max-versions:200}")
+    private int maxVersions;
+
+    @Value("${resume.version.cache-size:500}")
+    private int cacheSize;
+
+    @Value("${resume.version.cache-ttl-seconds:1800}")
+    private long cacheTtlSeconds;
+
+    @Autowired
+    private ResumeVersionMapper resumeVersionMapper;
+
+    /**
+     * 已还原的版本内容，键为 简历ID:版本号
+     */
+    private LocalCache<String, String> cache;
+
+    /**
+     * 同一简历的版本号分配串行执行
+     */
+    private final StripedLock resumeLocks = new StripedLock(64);
+
+    @PostConstruct
+    public void init() {
+        cache = new LocalCache<>(cacheSize, cacheTtlSeconds * 1000);
+    }
+
+    @Override
+    public void record(Resume resume) {
+        if (resume.getId() == null || resume.getContent() == null) {
+            return;
+        }
+        Lock lock = resumeLocks.get(resume.getId());
+        lock.lock();
+        try {
+            ResumeVersion latest = resumeVersionMapper.selectOne(new QueryWrapper<ResumeVersion>()
+                    .select(META_COLUMNS)
+                    .eq("resume_id", resume.getId())
+                    .orderByDesc("version_no")
+                    .last("LIMIT 1"));
+            int versionNo = latest == null ? 1 : latest.getVersionNo() + 1;
+            String previous = latest == null ? null : reconstruct(resume.getId(), latest.getVersionNo());
+
+            ResumeVersion version = new ResumeVersion();
+            version.setResumeId(resume.getId());
+            version.setVersionNo(versionNo);
+            version.setName(resume.getName());
+            version.setThemeId(resume.getThemeId());
+            version.setCreateTime(LocalDateTime.now());
+            String patch = previous == null ? null : JsonMergePatch.diff(previous, resume.getContent());
+            if (patch != null && JsonMergePatch.isEmpty(patch)
+                    && Objects.equals(latest.getName(), resume.getName())
+                    && Objects.equals(latest.getThemeId(), resume.getThemeId())) {
+                return;
+            }
+            // 上一版本无法还原（如历史记录被手工清理）时也写入快照，重新开始补丁链
+            boolean snapshot = patch == null || (versionNo - 1) % snapshotInterval == 0
+                    || patch.length() >= resume.getContent().length();
+            version.setType(snapshot ? ResumeVersion.TYPE_SNAPSHOT : ResumeVersion.TYPE_DIFF);
+            version.setContent(snapshot ? resume.getContent() : patch);
+            resumeVersionMapper.insert(version);
+            cache.put(key(resume.getId(), versionNo), snapshot ? resume.getContent() : JsonMergePatch.apply(previous, patch));
+            if (snapshot) {
+                prune(resume.getId(), versionNo);
+            }
+        } catch (RuntimeException e) {
+            // 历史记录失败不影响简历保存，下一版本会基于最后一个成功记录的版本计算补丁
+            System.err.println("记录简历历史版本失败: " + resume.getId() + " " + e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<ResumeVersionVO> listVersions(Integer resumeId) {
+        List<ResumeVersion> versions = resumeVersionMapper.selectList(new QueryWrapper<ResumeVersion>()
+                .select(META_COLUMNS)
+                .eq("resume_id", resumeId)
+                .orderByDesc("version_no"));
+        return versions.stream().map(this::toVO).collect(Collectors.toList());
+    }
+
+    @Override
+    public ResumeVersionVO getVersion(Integer resumeId, int versionNo) {
+        ResumeVersion version = resumeVersionMapper.selectOne(new QueryWrapper<ResumeVersion>()
+                .select(META_COLUMNS)
+                .eq("resume_id", resumeId)
+                .eq("version_no", versionNo));
+        if (version == null) {
+            return null;
+        }
+        String content = reconstruct(resumeId, versionNo);
+        if (content == null) {
+            return null;
+        }
+        ResumeVersionVO vo = toVO(version);
+        vo.setContent(content);
+        return vo;
+    }
+
+    @Override
+    public void remove(Integer resumeId) {
+        String prefix = resumeId + ":";
+        cache.invalidateIf((key, value) -> key.startsWith(prefix));
+    }
+
+    /**
+     * 还原指定版本的完整内容，补丁链不完整时返回null
+     */
+    private String reconstruct(Integer resumeId, int versionNo) {
+        String cached = cache.get(key(resumeId, versionNo));
+        if (cached != null) {
+            return cached;
+        }
+        ResumeVersion snapshot = resumeVersionMapper.selectOne(new QueryWrapper<ResumeVersion>()
+                .select("version_no")
+                .eq("resume_id", resumeId)
+                .eq("type", ResumeVersion.TYPE_SNAPSHOT)
+                .le("version_no", versionNo)
+                .orderByDesc("version_no")
+                .last("LIMIT 1"));
+        if (snapshot == null) {
+            return null;
+        }
+        // 缓存中有比快照更近的版本时从该版本开始
+        int from = snapshot.getVersionNo();
+        String content = null;
+        for (int no = versionNo - 1; no > snapshot.getVersionNo(); no--) {
+            content = cache.get(key(resumeId, no));
+            if (content != null) {
+                from = no + 1;
+                break;
+            }
+        }
+        List<ResumeVersion> chain = resumeVersionMapper.selectList(new QueryWrapper<ResumeVersion>()
+                .select("version_no", "type", "content")
+                .eq("resume_id", resumeId)
+                .between("version_no", from, versionNo)
+                .orderByAsc("version_no"));
+        int expected = from;
+        for (ResumeVersion version : chain) {
+            if (version.getVersionNo() != expected++) {
+                return null;
+            }
+            if (ResumeVersion.TYPE_SNAPSHOT.equals(version.getType())) {
+                content = version.getContent();
+            } else if (content != null) {
+                content = JsonMergePatch.apply(content, version.getContent());
+            } else {
+                return null;
+            }
+        }
+        if (expected != versionNo + 1) {
+            return null;
+        }
+        cache.put(key(resumeId, versionNo), content);
+        return content;
+    }
+
+    /**
+     * 保留最近maxVersions个版本：删除不早于保留起点的最近快照之前的全部版本，剩余版本仍可完整还原
+     */
+    private void prune(Integer resumeId, int latestVersionNo) {
+        if (maxVersions <= 0 || latestVersionNo <= maxVersions) {
+            return;
+        }
+        ResumeVersion base = resumeVersionMapper.selectOne(new QueryWrapper<ResumeVersion>()
+                .select("version_no")
+                .eq("resume_id", resumeId)
+                .eq("type", ResumeVersion.TYPE_SNAPSHOT)
+                .le("version_no", latestVersionNo - maxVersions + 1)
+                .orderByDesc("version_no")
+                .last("LIMIT 1"));
+        if (base != null) {
+            resumeVersionMapper.delete(new QueryWrapper<ResumeVersion>()
+                    .eq("resume_id", resumeId)
+                    .lt("version_no", base.getVersionNo()));
+        }
+    }
+
+    private ResumeVersionVO toVO(ResumeVersion version) {
+        ResumeVersionVO vo = new ResumeVersionVO();
+        vo.setResumeId(version.getResumeId());
+        vo.setVersionNo(version.getVersionNo());
+        vo.setSnapshot(ResumeVersion.TYPE_SNAPSHOT.equals(version.getType()));
+        vo.setName(version.getName());
+        vo.setThemeId(version.getThemeId());
+        vo.setCreateTime(version.getCreateTime());
+        return vo;
+    }
+
+    private static String key(Integer resumeId, int versionNo) {
+        return resumeId + ":" + versionNo;
+    }
+}
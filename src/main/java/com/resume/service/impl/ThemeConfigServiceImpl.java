@@ -1,19 +1,111 @@
 package com.resume.service.impl;
 
+import com.alibaba.fastjson.JSON;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.resume.entity.ThemeConfig;
 import com.resume.mapper.ThemeConfigMapper;
 import com.resume.service.ThemeConfigService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * 主题服务实现
+ * 主题表很小且极少变化，读取全部走不可变的内存快照；通过本服务写入后整体替换快照，
+ * 另外快照超过存活时间后重新加载，以感知其他实例的修改
+ */
 @Service
 public class ThemeConfigServiceImpl extends ServiceImpl<ThemeConfigMapper, ThemeConfig> implements ThemeConfigService {
-    
+
+    @Value("${theme.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private final AtomicReference<ThemeSnapshot> snapshot = new AtomicReference<>();
+
     @Override
     public List<ThemeConfig> getAllThemes() {
-        return list();
+        return current().themes;
+    }
+
+    @Override
+    public ThemeConfig getThemeById(Integer id) {
+        return current().byId.get(id);
+    }
+
+    @Override
+    public String getThemesETag() {
+        return current().etag;
+    }
+
+    @Override
+    public boolean addTheme(ThemeConfig themeConfig) {
+        boolean success = save(themeConfig);
+        if (success) {
+            reload();
+        }
+        return success;
+    }
+
+    @Override
+    public boolean updateTheme(ThemeConfig themeConfig) {
+        boolean success = updateById(themeConfig);
+        if (success) {
+            reload();
+        }
+        return success;
+    }
+
+    @Override
+    public boolean deleteTheme(Integer id) {
+        boolean success = removeById(id);
+        if (success) {
+            reload();
+        }
+        return success;
+    }
+
+    private ThemeSnapshot current() {
+        ThemeSnapshot current = snapshot.get();
+        if (current != null && System.currentTimeMillis() - current.loadTime < ttlSeconds * 1000) {
+            return current;
+        }
+        ThemeSnapshot loaded = new ThemeSnapshot(list());
+        // 只替换读取时看到的旧快照，避免覆盖并发写入后刚刷新的快照
+        return snapshot.compareAndSet(current, loaded) ? loaded : snapshot.get();
+    }
+
+    /**
+     * 写入后重新加载；串行执行保证最后一次加载能看到所有已完成的写入
+     */
+    private synchronized void reload() {
+        snapshot.set(new ThemeSnapshot(list()));
+    }
+
+    /**
+     * 主题快照（创建后不再修改）
+     */
+    private static final class ThemeSnapshot {
+        private final List<ThemeConfig> themes;
+        private final Map<Integer, ThemeConfig> byId;
+        private final String etag;
+        private final long loadTime = System.currentTimeMillis();
+
+        private ThemeSnapshot(List<ThemeConfig> themes) {
+            this.themes = Collections.unmodifiableList(new ArrayList<>(themes));
+            Map<Integer, ThemeConfig> map = new HashMap<>();
+            for (ThemeConfig theme : themes) {
+                map.put(theme.getId(), theme);
+            }
+            this.byId = Collections.unmodifiableMap(map);
+            this.etag = "\"" + DigestUtils.md5DigestAsHex(JSON.toJSONString(themes).getBytes(StandardCharsets.UTF_8)) + "\"";
+        }
     }
-    
-} 
\ No newline at end of file
+}
@@ -1,12 +1,18 @@
 package com.resume.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.UpdateWrapper;
 import com.resume.entity.UserFile;
 import com.resume.mapper.UserFileMapper;
 import com.resume.service.UserFileService;
 import com.resume.service.LocalOssService;
+import com.resume.service.UserFileTextService;
+import com.resume.util.StripedLock;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -19,6 +25,7 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.locks.Lock;
 
 /**
  * 用户文件服务实现类
@@ -32,9 +39,26 @@ public class UserFileServiceImpl implements UserFileService {
     @Autowired
     private LocalOssService localOssService;
     
+    @Autowired
+    private UserFileTextService userFileTextService;
+    
+    @Autowired
+    @Qualifier("ossCleanupExecutor")
+    private TaskExecutor ossCleanupExecutor;
+    
     @Value("${file.upload.path:./uploads}")
     private String uploadPath;
+
+    /**
+     * 同一用户的文件替换和删除串行执行
+     */
+    private final StripedLock userLocks = new StripedLock(64);
     
+    /**
+     * 替换记录时与其他实例冲突的最大重试次数
+     */
+    private static final int MAX_REPLACE_ATTEMPTS = 5;
+
     private static final long MAX_FILE_SIZE = 5 * 1024 * 1024; // 5MB
     private static final String[] ALLOWED_EXTENSIONS = {".docx", ".pdf"};
     
@@ -79,6 +103,73 @@ public class UserFileServiceImpl implements UserFileService {
         }
     }
     
+    @Override
+    public UserFile replaceUserFile(Integer userId, MultipartFile file) {
+        Lock lock = userLocks.get(userId);
+        lock.lock();
+        try {
+            // 先保存新文件，旧文件在记录切换成功前保持可用
+            String fileUrl = localOssService.uploadFile(file, "user-files");
+            String originalName = file.getOriginalFilename();
+            LocalDateTime now = LocalDateTime.now();
+            UserFile userFile = new UserFile();
+            userFile.setUserId(userId);
+            userFile.setOriginalName(originalName);
+            userFile.setFileName(originalName);
+            userFile.setFilePath(fileUrl);
+            userFile.setFileSize(file.getSize());
+            userFile.setFileType(getFileExtension(originalName));
+            userFile.setUploadTime(now);
+            userFile.setUpdateTime(now);
+
+            String replaced;
+            try {
+                replaced = swapUserFile(userFile);
+            } catch (RuntimeException e) {
+                releaseFileAsync(fileUrl);
+                throw e;
+            }
+
+            // 只释放本次实际替换掉的地址；内容相同时新旧地址一致，但新上传也增加了一次引用，仍需释放旧引用
+            if (replaced != null) {
+                releaseFileAsync(replaced);
+            }
+            submitTextExtraction(fileUrl);
+            return userFile;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 切换用户的文件记录：有旧记录时按 user_id + 旧file_path 条件更新，没有时插入，
+     * 其他实例先一步修改了记录（更新0行或插入时唯一键冲突）时重新读取后重试
+     * @return 被替换的旧文件地址，原来没有记录时返回null
+     */
+    private String swapUserFile(UserFile userFile) {
+        for (int attempt = 0; attempt < MAX_REPLACE_ATTEMPTS; attempt++) {
+            UserFile previous = getUserFile(userFile.getUserId());
+            if (previous == null) {
+                userFile.setId(null);
+                userFile.setCreateTime(userFile.getUploadTime());
+                try {
+                    userFileMapper.insert(userFile);
+                    return null;
+                } catch (DuplicateKeyException e) {
+                    continue;
+                }
+            }
+            userFile.setId(previous.getId());
+            userFile.setCreateTime(previous.getCreateTime());
+            UpdateWrapper<UserFile> updateWrapper = new UpdateWrapper<>();
+            updateWrapper.eq("user_id", userFile.getUserId()).eq("file_path", previous.getFilePath());
+            if (userFileMapper.update(userFile, updateWrapper) > 0) {
+                return previous.getFilePath();
+            }
+        }
+        throw new RuntimeException("文件正在被其他请求修改，请稍后重试");
+    }
+
     @Override
     public UserFile getUserFile(Integer userId) {
         QueryWrapper<UserFile> queryWrapper = new QueryWrapper<>();
@@ -88,21 +179,25 @@ public class UserFileServiceImpl implements UserFileService {
     
     @Override
     public boolean deleteUserFile(Integer userId) {
-        UserFile existingFile = getUserFile(userId);
-        if (existingFile != null) {
-            // 使用LocalOssService删除物理文件
-            try {
-                localOssService.deleteFile(existingFile.getFilePath());
-            } catch (Exception e) {
-                System.err.println("删除物理文件失败: " + e.getMessage());
+        Lock lock = userLocks.get(userId);
+        lock.lock();
+        try {
+            UserFile existingFile = getUserFile(userId);
+            if (existingFile == null) {
+                return true;
             }
-            
-            // 删除数据库记录
+            // 先删除数据库记录，再释放物理文件，避免记录指向已删除的文件；
+            // 按读取到的地址删除，记录已被其他实例替换时不释放
             QueryWrapper<UserFile> queryWrapper = new QueryWrapper<>();
-            queryWrapper.eq("user_id", userId);
-            return userFileMapper.delete(queryWrapper) > 0;
+            queryWrapper.eq("user_id", userId).eq("file_path", existingFile.getFilePath());
+            boolean deleted = userFileMapper.delete(queryWrapper) > 0;
+            if (deleted) {
+                releaseFileAsync(existingFile.getFilePath());
+            }
+            return deleted;
+        } finally {
+            lock.unlock();
         }
-        return true;
     }
     
     @Override
@@ -110,6 +205,31 @@ public class UserFileServiceImpl implements UserFileService {
         return userFileMapper.selectList(null);
     }
     
+    /**
+     * 在后台释放OSS文件
+     */
+    private void releaseFileAsync(String fileUrl) {
+        ossCleanupExecutor.execute(() -> {
+            try {
+                localOssService.deleteFile(fileUrl);
+                userFileTextService.removeIfUnreferenced(fileUrl);
+            } catch (Exception e) {
+                System.err.println("删除物理文件失败: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 提交文本提取任务，失败不影响上传结果
+     */
+    private void submitTextExtraction(String fileUrl) {
+        try {
+            userFileTextService.submit(fileUrl, false);
+        } catch (Exception e) {
+            System.err.println("提交文本提取任务失败: " + e.getMessage());
+        }
+    }
+    
     /**
      * 验证文件
      */
@@ -0,0 +1,166 @@
+package com.resume.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.UpdateWrapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.resume.entity.UserFile;
+import com.resume.entity.UserFileText;
+import com.resume.mapper.UserFileMapper;
+import com.resume.mapper.UserFileTextMapper;
+import com.resume.service.LocalOssService;
+import com.resume.service.UserFileTextService;
+import com.resume.util.DocumentTextExtractor;
+import com.resume.util.DocumentTextExtractor.ExtractedText;
+import com.resume.vo.UserFileSearchHit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 上传文件文本提取服务实现
+ * 提取在独立的有界线程池中执行，不占用上传请求线程
+ */
+@Service
+public class UserFileTextServiceImpl implements UserFileTextService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    /**
+     * 保存的最大字符数，超出部分截断
+     */
+    @Value("${file.ingest.max-chars:100000}")
+    private int maxChars;
+
+    /**
+     * 待提取记录超过该时长未处理时由定时任务重新提交
+     */
+    @Value("${file.ingest.retry-after-minutes:5}")
+    private long retryAfterMinutes;
+
+    @Autowired
+    private UserFileTextMapper userFileTextMapper;
+
+    @Autowired
+    private UserFileMapper userFileMapper;
+
+    @Autowired
+    private LocalOssService localOssService;
+
+    @Autowired
+    @Qualifier("fileIngestExecutor")
+    private TaskExecutor fileIngestExecutor;
+
+    @Override
+    public void submit(String fileUrl, boolean force) {
+        if (userFileTextMapper.insertPending(fileUrl) == 0) {
+            UserFileText existing = getText(fileUrl);
+            // 内容相同的文件已提取过
+            if (existing != null && UserFileText.STATUS_DONE.equals(existing.getStatus()) && !force) {
+                return;
+            }
+            markPending(fileUrl);
+        }
+        enqueue(fileUrl);
+    }
+
+    @Override
+    public void extract(String fileUrl) {
+        UserFileText result = new UserFileText();
+        try {
+            ExtractedText extracted = DocumentTextExtractor.extract(localOssService.getFilePath(fileUrl), maxChars);
+            String text = extracted.getText();
+            result.setStatus(UserFileText.STATUS_DONE);
+            result.setPageCount(extracted.getPageCount());
+            result.setCharCount(text.length());
+            result.setContent(text.length() > maxChars ? text.substring(0, maxChars) : text);
+            result.setErrorMessage(null);
+        } catch (IOException | RuntimeException e) {
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            result.setStatus(UserFileText.STATUS_FAILED);
+            result.setErrorMessage(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+            System.err.println("提取文件文本失败: " + fileUrl + " " + message);
+        }
+        result.setUpdateTime(LocalDateTime.now());
+        UpdateWrapper<UserFileText> updateWrapper = new UpdateWrapper<>();
+        updateWrapper.eq("file_path", fileUrl)
+                .set(UserFileText.STATUS_FAILED.equals(result.getStatus()), "content", null)
+                .set(UserFileText.STATUS_FAILED.equals(result.getStatus()), "page_count", null)
+                .set(UserFileText.STATUS_DONE.equals(result.getStatus()), "error_message", null);
+        userFileTextMapper.update(result, updateWrapper);
+    }
+
+    @Override
+    public UserFileText getText(String fileUrl) {
+        QueryWrapper<UserFileText> queryWrapper = new QueryWrapper<>();
+        queryWrapper.eq("file_path", fileUrl);
+        return userFileTextMapper.selectOne(queryWrapper);
+    }
+
+    @Override
+    public Page<UserFileSearchHit> search(String keyword, int current, int size) {
+        Page<UserFileSearchHit> page = new Page<>(Math.max(current, 1), Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+        // 去掉布尔模式运算符后按短语检索
+        String phrase = keyword == null ? "" : keyword.replaceAll("[+\\-<>()~*\"@]", " ").trim();
+        if (phrase.isEmpty()) {
+            return page;
+        }
+        userFileTextMapper.search(page, "\"" + phrase + "\"", phrase);
+        return page;
+    }
+
+    @Override
+    public void removeIfUnreferenced(String fileUrl) {
+        QueryWrapper<UserFile> queryWrapper = new QueryWrapper<>();
+        queryWrapper.eq("file_path", fileUrl);
+        if (userFileMapper.selectCount(queryWrapper) == 0) {
+            userFileTextMapper.delete(new QueryWrapper<UserFileText>().eq("file_path", fileUrl));
+        }
+    }
+
+    /**
+     * 重新提交长时间未处理的待提取记录（线程池已满被拒绝、或应用重启时丢失的任务）
+     */
+    @Scheduled(initialDelayString = "${file.ingest.retry-interval-ms:300000}",
+            fixedDelayString = "${file.ingest.retry-interval-ms:300000}")
+    public void retryPending() {
+        try {
+            QueryWrapper<UserFileText> queryWrapper = new QueryWrapper<>();
+            queryWrapper.select("file_path")
+                    .eq("status", UserFileText.STATUS_PENDING)
+                    .lt("update_time", LocalDateTime.now().minusMinutes(retryAfterMinutes))
+                    .last("LIMIT 100");
+            List<UserFileText> pending = userFileTextMapper.selectList(queryWrapper);
+            for (UserFileText text : pending) {
+                markPending(text.getFilePath());
+                enqueue(text.getFilePath());
+            }
+        } catch (Exception e) {
+            System.err.println("重新提交文本提取任务失败: " + e.getMessage());
+        }
+    }
+
+    private void markPending(String fileUrl) {
+        UserFileText pending = new UserFileText();
+        pending.setStatus(UserFileText.STATUS_PENDING);
+        pending.setUpdateTime(LocalDateTime.now());
+        userFileTextMapper.update(pending, new UpdateWrapper<UserFileText>().eq("file_path", fileUrl));
+    }
+
+    private void enqueue(String fileUrl) {
+        try {
+            fileIngestExecutor.execute(() -> extract(fileUrl));
+        } catch (TaskRejectedException e) {
+            System.err.println("文本提取队列已满，稍后重试: " + fileUrl);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.resume.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.resume.dto.UserPrincipal;
+import com.resume.entity.User;
+import com.resume.mapper.UserMapper;
+import com.resume.service.UserPrincipalService;
+import com.resume.util.JwtUtil;
+import com.resume.util.LocalCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * 用户身份解析服务实现
+ * 用户名 → 用户ID/角色 的映射缓存在进程内，避免每个请求都查询 user 表
+ */
+@Service
+public class UserPrincipalServiceImpl implements UserPrincipalService {
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Value("${principal.cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${principal.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private LocalCache<String, UserPrincipal> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = new LocalCache<>(maxSize, ttlSeconds * 1000);
+    }
+
+    @Override
+    public UserPrincipal resolve(String username) {
+        if (username == null || username.isEmpty()) {
+            return null;
+        }
+        return cache.get(username, this::loadPrincipal);
+    }
+
+    @Override
+    public Integer getCurrentUserId(HttpServletRequest request) {
+        String token = request.getHeader("Authorization");
+        // 如果Header中没有token，尝试从查询参数获取
+        if (token == null || !token.startsWith("Bearer ")) {
+            token = request.getParameter("token");
+        } else {
+            token = token.substring(7);
+        }
+
+        if (token != null && !token.isEmpty()) {
+            try {
+                String username = jwtUtil.getClaims(request, token).getSubject();
+                UserPrincipal principal = resolve(username);
+                if (principal != null) {
+                    return principal.getUserId();
+                }
+            } catch (Exception e) {
+                System.err.println("Token解析失败: " + e.getMessage());
+            }
+        }
+        throw new RuntimeException("未登录或登录已过期");
+    }
+
+    @Override
+    public void invalidate(String username) {
+        if (username != null) {
+            cache.invalidate(username);
+        }
+    }
+
+    @Override
+    public void invalidateUser(Integer userId) {
+        if (userId != null) {
+            cache.invalidateIf((username, principal) -> userId.equals(principal.getUserId()));
+        }
+    }
+
+    /**
+     * 从数据库加载用户身份（只查询必要字段）
+     */
+    private UserPrincipal loadPrincipal(String username) {
+        QueryWrapper<User> queryWrapper = new QueryWrapper<>();
+        queryWrapper.select("id", "username", "role").eq("username", username);
+        User user = userMapper.selectOne(queryWrapper);
+        if (user == null) {
+            return null;
+        }
+        return new UserPrincipal(user.getId(), user.getUsername(), user.getRole());
+    }
+}
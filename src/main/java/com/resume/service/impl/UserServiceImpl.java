@@ -1,11 +1,236 @@
 package com.resume.service.impl;
 
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.resume.dto.UserQueryDTO;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.resume.entity.Resume;
 import com.resume.entity.User;
+import com.resume.entity.UserFile;
+import com.resume.exception.BusinessException;
+import com.resume.mapper.ResumeMapper;
+import com.resume.mapper.UserFileMapper;
 import com.resume.mapper.UserMapper;
+import com.resume.service.LocalOssService;
+import com.resume.service.ResumeDraftService;
+import com.resume.service.ResumeService;
+import com.resume.service.UserFileTextService;
+import com.resume.service.UserPrincipalService;
 import com.resume.service.UserService;
+import com.resume.vo.UserSummaryVO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Service
 public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements UserService {
+
+    /** 单次批量删除的最大用户数 */
+    private static final int MAX_BATCH_SIZE = 500;
+
+    /** 用户列表每页最大条数 */
+    private static final int MAX_PAGE_SIZE = 100;
+
+    /** 可排序字段 → 列名 */
+    private static final Map<String, String> SORT_COLUMNS = new HashMap<>();
+
+    static {
+        SORT_COLUMNS.put("id", "id");
+        SORT_COLUMNS.put("username", "username");
+        SORT_COLUMNS.put("createTime", "create_time");
+    }
+
+    @Autowired
+    private ResumeMapper resumeMapper;
+
+    @Autowired
+    private UserFileMapper userFileMapper;
+
+    @Autowired
+    private LocalOssService localOssService;
+
+    @Autowired
+    private UserPrincipalService userPrincipalService;
+
+    @Autowired
+    private ResumeService resumeService;
+
+    @Autowired
+    private ResumeDraftService resumeDraftService;
+
+    @Autowired
+    private UserFileTextService userFileTextService;
+
+    @Autowired
+    @Qualifier("ossCleanupExecutor")
+    private TaskExecutor ossCleanupExecutor;
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public boolean deleteUserCascade(Integer userId) {
+        return deleteUsersCascade(Collections.singletonList(userId)) > 0;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int deleteUsersCascade(Collection<Integer> userIds) {
+        LinkedHashSet<Integer> distinct = new LinkedHashSet<>();
+        if (userIds != null) {
+            for (Integer id : userIds) {
+                if (id != null) {
+                    distinct.add(id);
+                }
+            }
+        }
+        List<Integer> ids = new ArrayList<>(distinct);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new BusinessException("单次最多删除" + MAX_BATCH_SIZE + "个用户");
+        }
+
+        // 先收集提交后需要清理的简历ID和文件地址
+        List<Integer> resumeIds = resumeMapper.selectObjs(new QueryWrapper<Resume>().select("id").in("user_id", ids))
+                .stream()
+                .map(id -> ((Number) id).intValue())
+                .collect(Collectors.toList());
+        List<String> fileUrls = userFileMapper.selectObjs(new QueryWrapper<UserFile>().select("file_path").in("user_id", ids))
+                .stream()
+                .filter(Objects::nonNull)
+                .map(Object::toString)
+                .collect(Collectors.toList());
+
+        // 按集合删除，每张表一条语句
+        if (!resumeIds.isEmpty()) {
+            resumeMapper.delete(new QueryWrapper<Resume>().in("user_id", ids));
+        }
+        userFileMapper.delete(new QueryWrapper<UserFile>().in("user_id", ids));
+        int deleted = baseMapper.deleteBatchIds(ids);
+
+        afterCommit(() -> {
+            for (Integer id : ids) {
+                userPrincipalService.invalidateUser(id);
+            }
+            // 与删除单份简历相同的清理，并丢弃未写入的自动保存草稿
+            for (Integer resumeId : resumeIds) {
+                resumeDraftService.discard(resumeId);
+                resumeService.evictDeleted(resumeId);
+            }
+            if (!fileUrls.isEmpty()) {
+                ossCleanupExecutor.execute(() -> deleteFiles(fileUrls));
+            }
+        });
+        return deleted;
+    }
+
+    @Override
+    public IPage<UserSummaryVO> getUserSummaryPage(UserQueryDTO query) {
+        int size = Math.max(1, Math.min(query.getSize(), MAX_PAGE_SIZE));
+        Page<User> page = new Page<>(Math.max(1, query.getCurrent()), size);
+
+        QueryWrapper<User> queryWrapper = new QueryWrapper<>();
+        // 不查询密码
+        queryWrapper.select("id", "username", "role", "create_time", "update_time");
+        if (query.getUsername() != null && !query.getUsername().isEmpty()) {
+            // 前缀匹配可以使用username上的唯一索引
+            queryWrapper.likeRight("username", escapeLike(query.getUsername()));
+        }
+        if (query.getRole() != null && !query.getRole().isEmpty()) {
+            queryWrapper.eq("role", query.getRole());
+        }
+        String sortColumn = SORT_COLUMNS.get(query.getSortField());
+        if (sortColumn == null) {
+            throw new BusinessException("不支持的排序字段: " + query.getSortField());
+        }
+        boolean asc = !"desc".equalsIgnoreCase(query.getSortOrder());
+        queryWrapper.orderBy(true, asc, sortColumn);
+        if (!"id".equals(sortColumn)) {
+            // 保证排序稳定
+            queryWrapper.orderBy(true, asc, "id");
+        }
+        baseMapper.selectPage(page, queryWrapper);
+
+        IPage<UserSummaryVO> result = page.convert(this::toSummary);
+        if (query.isWithResumeCount() && !result.getRecords().isEmpty()) {
+            fillResumeCounts(result.getRecords());
+        }
+        return result;
+    }
+
+    /**
+     * 一条分组查询统计当前页用户的简历数量
+     */
+    private void fillResumeCounts(List<UserSummaryVO> users) {
+        List<Integer> ids = users.stream().map(UserSummaryVO::getId).collect(Collectors.toList());
+        QueryWrapper<Resume> queryWrapper = new QueryWrapper<>();
+        queryWrapper.select("user_id", "COUNT(*) AS resume_count").in("user_id", ids).groupBy("user_id");
+        Map<Integer, Long> counts = new HashMap<>();
+        for (Map<String, Object> row : resumeMapper.selectMaps(queryWrapper)) {
+            counts.put(((Number) row.get("user_id")).intValue(), ((Number) row.get("resume_count")).longValue());
+        }
+        for (UserSummaryVO user : users) {
+            user.setResumeCount(counts.getOrDefault(user.getId(), 0L));
+        }
+    }
+
+    private UserSummaryVO toSummary(User user) {
+        UserSummaryVO vo = new UserSummaryVO();
+        vo.setId(user.getId());
+        vo.setUsername(user.getUsername());
+        vo.setRole(user.getRole());
+        vo.setCreateTime(user.getCreateTime());
+        vo.setUpdateTime(user.getUpdateTime());
+        return vo;
+    }
+
+    /**
+     * 转义LIKE通配符
+     */
+    private String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * 事务提交后执行；没有事务时立即执行
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void deleteFiles(List<String> fileUrls) {
+        for (String fileUrl : fileUrls) {
+            try {
+                localOssService.deleteFile(fileUrl);
+                // 与单个文件释放保持一致，同时清理不再被引用的提取文本
+                userFileTextService.removeIfUnreferenced(fileUrl);
+            } catch (Exception e) {
+                System.err.println("删除物理文件失败: " + e.getMessage());
+            }
+        }
+    }
 }
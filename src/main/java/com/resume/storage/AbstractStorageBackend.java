@@ -0,0 +1,114 @@
+package com.resume.storage;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * 基于本地文件系统的存储后端公共逻辑
+ * 子类只需决定读取时依次查找的根目录，以及新文件写入的根目录
+ */
+public abstract class AbstractStorageBackend implements StorageBackend {
+
+    /**
+     * 上传临时文件目录，位于各根目录下，保证同卷内可以原子移动
+     */
+    public static final String TEMP_FOLDER = ".tmp";
+
+    /**
+     * 读取时按顺序查找的根目录
+     */
+    protected abstract List<Path> lookupRoots(String key);
+
+    /**
+     * 新文件写入的根目录
+     */
+    protected abstract Path writeRoot(String key) throws IOException;
+
+    /**
+     * 临时文件所在的根目录
+     */
+    protected abstract Path tempRoot() throws IOException;
+
+    @Override
+    public Path createTempFile() throws IOException {
+        Path tempDir = tempRoot().resolve(TEMP_FOLDER);
+        Files.createDirectories(tempDir);
+        return Files.createTempFile(tempDir, "upload-", ".part");
+    }
+
+    @Override
+    public boolean store(Path tempFile, String key) throws IOException {
+        if (locate(key) != null) {
+            Files.deleteIfExists(tempFile);
+            return false;
+        }
+        Path root = writeRoot(key);
+        Path target = toPath(root, key);
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            // 临时文件与目标不在同一个卷：先复制到目标卷的临时目录，再在卷内原子移动
+            Path tempDir = root.resolve(TEMP_FOLDER);
+            Files.createDirectories(tempDir);
+            Path copy = Files.createTempFile(tempDir, "upload-", ".part");
+            try {
+                Files.copy(tempFile, copy, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(copy, target, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(copy);
+            }
+            Files.delete(tempFile);
+        }
+        return true;
+    }
+
+    @Override
+    public Path resolve(String key) {
+        Path path = locate(key);
+        return path != null ? path : toPath(lookupRoots(key).get(0), key);
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return locate(key) != null;
+    }
+
+    @Override
+    public boolean delete(String key) throws IOException {
+        boolean deleted = false;
+        for (Path root : lookupRoots(key)) {
+            deleted |= Files.deleteIfExists(toPath(root, key));
+            Files.deleteIfExists(toPath(root, key + SIDECAR_SUFFIX));
+        }
+        return deleted;
+    }
+
+    /**
+     * 查找已存在的文件，不存在时返回null
+     */
+    protected Path locate(String key) {
+        for (Path root : lookupRoots(key)) {
+            Path path = toPath(root, key);
+            if (Files.isRegularFile(path)) {
+                return path;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 拼接文件路径，拒绝跳出根目录的key（如包含 ../）
+     */
+    protected Path toPath(Path root, String key) {
+        Path path = root.resolve(key).normalize();
+        if (key.isEmpty() || !path.startsWith(root) || path.equals(root)) {
+            throw new IllegalArgumentException("非法的文件路径: " + key);
+        }
+        return path;
+    }
+}
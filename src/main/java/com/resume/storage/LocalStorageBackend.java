@@ -0,0 +1,44 @@
+package com.resume.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 单目录存储后端（默认），所有文件保存在 local.oss.root-path 下
+ */
+@Component
+@ConditionalOnProperty(name = "local.oss.storage.type", havingValue = "local", matchIfMissing = true)
+public class LocalStorageBackend extends AbstractStorageBackend {
+
+    private final Path root;
+
+    public LocalStorageBackend(@Value("${local.oss.root-path:./oss-storage}") String rootPath) {
+        this.root = Paths.get(rootPath).toAbsolutePath().normalize();
+    }
+
+    @Override
+    protected List<Path> lookupRoots(String key) {
+        return Collections.singletonList(root);
+    }
+
+    @Override
+    protected Path writeRoot(String key) {
+        return root;
+    }
+
+    @Override
+    protected Path tempRoot() {
+        return root;
+    }
+
+    @Override
+    public List<Path> roots() {
+        return Collections.singletonList(root);
+    }
+}
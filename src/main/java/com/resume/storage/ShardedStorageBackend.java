@@ -0,0 +1,136 @@
+package com.resume.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 多卷分片存储后端
+ * 按key对各存储卷做最高随机权重（rendezvous）哈希排序，写入排名最高且剩余空间足够的卷；
+ * 读取按同一顺序查找，剩余空间不足时落到后面卷上的文件、增加卷之前写入的文件都能找到。
+ * 原 local.oss.root-path 目录作为最后的查找位置，迁移前的文件仍可读取和删除，但不再写入
+ */
+@Component
+@ConditionalOnProperty(name = "local.oss.storage.type", havingValue = "sharded")
+public class ShardedStorageBackend extends AbstractStorageBackend {
+
+    private final List<Path> volumes;
+
+    /**
+     * 原单目录根路径，与某个卷相同时为null
+     */
+    private final Path legacyRoot;
+
+    /**
+     * 剩余空间低于该值的卷不再写入新文件
+     */
+    private final long minFreeBytes;
+
+    public ShardedStorageBackend(@Value("${local.oss.storage.volumes:}") String volumes,
+                                 @Value("${local.oss.root-path:./oss-storage}") String rootPath,
+                                 @Value("${local.oss.storage.min-free-bytes:1073741824}") long minFreeBytes) throws IOException {
+        List<Path> paths = new ArrayList<>();
+        for (String volume : volumes.split(",")) {
+            if (!volume.trim().isEmpty()) {
+                Path path = Paths.get(volume.trim()).toAbsolutePath().normalize();
+                if (!paths.contains(path)) {
+                    Files.createDirectories(path);
+                    paths.add(path);
+                }
+            }
+        }
+        if (paths.isEmpty()) {
+            throw new IllegalStateException("分片存储至少需要配置一个存储卷: local.oss.storage.volumes");
+        }
+        Path root = Paths.get(rootPath).toAbsolutePath().normalize();
+        this.volumes = Collections.unmodifiableList(paths);
+        this.legacyRoot = paths.contains(root) ? null : root;
+        this.minFreeBytes = minFreeBytes;
+    }
+
+    @Override
+    protected List<Path> lookupRoots(String key) {
+        List<Path> roots = rank(key);
+        if (legacyRoot != null) {
+            roots.add(legacyRoot);
+        }
+        return roots;
+    }
+
+    @Override
+    protected Path writeRoot(String key) throws IOException {
+        for (Path volume : rank(key)) {
+            if (usableSpace(volume) >= minFreeBytes) {
+                return volume;
+            }
+        }
+        throw new IOException("所有存储卷剩余空间不足");
+    }
+
+    /**
+     * 临时文件放在剩余空间最多的卷上
+     */
+    @Override
+    protected Path tempRoot() throws IOException {
+        Path best = null;
+        long bestSpace = -1;
+        for (Path volume : volumes) {
+            long space = usableSpace(volume);
+            if (space > bestSpace) {
+                best = volume;
+                bestSpace = space;
+            }
+        }
+        if (bestSpace < minFreeBytes) {
+            throw new IOException("所有存储卷剩余空间不足");
+        }
+        return best;
+    }
+
+    @Override
+    public List<Path> roots() {
+        List<Path> roots = new ArrayList<>(volumes);
+        if (legacyRoot != null) {
+            roots.add(legacyRoot);
+        }
+        return roots;
+    }
+
+    /**
+     * 卷的剩余可用空间，无法获取时视为0
+     */
+    protected long usableSpace(Path volume) {
+        try {
+            return Files.getFileStore(volume).getUsableSpace();
+        } catch (IOException e) {
+            System.err.println("获取存储卷剩余空间失败: " + volume + " " + e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * 按key对所有卷排序，增减卷时只有少量key的首选卷发生变化
+     */
+    private List<Path> rank(String key) {
+        List<Path> ranked = new ArrayList<>(volumes);
+        ranked.sort(Comparator.comparingLong((Path volume) -> score(volume, key)).reversed());
+        return ranked;
+    }
+
+    private static long score(Path volume, String key) {
+        long h = volume.toString().hashCode() * 0x9E3779B97F4A7C15L ^ key.hashCode();
+        // splitmix64，打散相近的哈希值
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+}
@@ -0,0 +1,58 @@
+package com.resume.storage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * 上传文件存储后端
+ * 文件以相对路径（key，如 blobs/ab/cd/{sha256}.pdf）标识，由实现决定落在哪个目录或卷上
+ */
+public interface StorageBackend {
+
+    /**
+     * 派生文件（文件预览）后缀，以 {key}.preview.json 保存在原文件旁，删除原文件时一并删除
+     */
+    String SIDECAR_SUFFIX = ".preview.json";
+
+    /**
+     * 创建上传临时文件，写完后通过 {@link #store(Path, String)} 保存
+     * @return 临时文件
+     */
+    Path createTempFile() throws IOException;
+
+    /**
+     * 将临时文件保存为指定key（尽量原子移动），目标已存在时删除临时文件
+     * @param tempFile 临时文件
+     * @param key 文件key
+     * @return 是否新保存，目标已存在时返回false
+     */
+    boolean store(Path tempFile, String key) throws IOException;
+
+    /**
+     * 获取key对应的本地文件位置，文件不存在时返回写入时的首选位置
+     * @param key 文件key
+     * @return 文件路径
+     */
+    Path resolve(String key);
+
+    /**
+     * 文件是否存在
+     * @param key 文件key
+     * @return 是否存在
+     */
+    boolean exists(String key);
+
+    /**
+     * 删除文件及其派生文件
+     * @param key 文件key
+     * @return 是否删除了文件
+     */
+    boolean delete(String key) throws IOException;
+
+    /**
+     * 全部存储根目录（用于孤儿文件扫描）
+     * @return 根目录列表
+     */
+    List<Path> roots();
+}
@@ -0,0 +1,61 @@
+package com.resume.util;
+
+import com.resume.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 分页游标编解码工具
+ * 游标记录上一页最后一条记录的 (create_time, id)，对外表现为不透明的Base64URL字符串
+ */
+public final class CursorCodec {
+
+    private static final String NULL_TIME = "-";
+
+    private CursorCodec() {
+    }
+
+    /**
+     * 解码后的游标位置
+     */
+    public static final class Position {
+        private final LocalDateTime createTime;
+        private final Integer id;
+
+        public Position(LocalDateTime createTime, Integer id) {
+            this.createTime = createTime;
+            this.id = id;
+        }
+
+        /** 创建时间，可能为null（数据库中create_time允许为空） */
+        public LocalDateTime getCreateTime() {
+            return createTime;
+        }
+
+        public Integer getId() {
+            return id;
+        }
+    }
+
+    public static String encode(LocalDateTime createTime, Integer id) {
+        String raw = (createTime != null ? createTime.toString() : NULL_TIME) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码游标，格式不正确时抛出业务异常
+     */
+    public static Position decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            String time = raw.substring(0, sep);
+            Integer id = Integer.valueOf(raw.substring(sep + 1));
+            return new Position(NULL_TIME.equals(time) ? null : LocalDateTime.parse(time), id);
+        } catch (RuntimeException e) {
+            throw new BusinessException("无效的分页游标");
+        }
+    }
+}
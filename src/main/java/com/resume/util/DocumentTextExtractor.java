@@ -0,0 +1,123 @@
+package com.resume.util;
+
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.parser.PdfTextExtractor;
+import org.apache.poi.xwpf.extractor.XWPFWordExtractor;
+import org.apache.poi.xwpf.usermodel.IBodyElement;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 上传文件文本提取工具
+ * DOCX使用poi-ooxml，PDF使用iText逐页提取
+ */
+public final class DocumentTextExtractor {
+
+    private DocumentTextExtractor() {
+    }
+
+    /**
+     * 提取全文
+     * @param file PDF或DOCX文件
+     * @param maxChars 达到该字符数后不再解析后面的页（返回的文本可能略长，由调用方截断）
+     */
+    public static ExtractedText extract(Path file, int maxChars) throws IOException {
+        return isPdf(file) ? extractPdf(file, maxChars, Integer.MAX_VALUE) : extractDocx(file, false);
+    }
+
+    /**
+     * 只提取第一页文本（DOCX取第一个分页符之前的内容）
+     * @param file PDF或DOCX文件
+     */
+    public static ExtractedText extractFirstPage(Path file) throws IOException {
+        return isPdf(file) ? extractPdf(file, Integer.MAX_VALUE, 1) : extractDocx(file, true);
+    }
+
+    /**
+     * 去掉控制字符，合并多余的空白行
+     */
+    public static String normalize(String text) {
+        return text.replaceAll("[\\x00-\\x08\\x0B\\x0C\\x0E-\\x1F]", "")
+                .replaceAll("[ \\t\\u3000]+\\n", "\n")
+                .replaceAll("\\n{3,}", "\n\n")
+                .trim();
+    }
+
+    private static boolean isPdf(Path file) {
+        String name = file.getFileName().toString().toLowerCase();
+        if (name.endsWith(".pdf")) {
+            return true;
+        }
+        if (name.endsWith(".docx")) {
+            return false;
+        }
+        throw new IllegalArgumentException("不支持的文件类型: " + name);
+    }
+
+    private static ExtractedText extractPdf(Path file, int maxChars, int maxPages) throws IOException {
+        PdfReader reader = new PdfReader(file.toString());
+        try {
+            int pageCount = reader.getNumberOfPages();
+            StringBuilder text = new StringBuilder();
+            // 超出上限后不再解析后面的页
+            for (int i = 1; i <= Math.min(pageCount, maxPages) && text.length() <= maxChars; i++) {
+                text.append(PdfTextExtractor.getTextFromPage(reader, i)).append('\n');
+            }
+            return new ExtractedText(normalize(text.toString()), pageCount);
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static ExtractedText extractDocx(Path file, boolean firstPageOnly) throws IOException {
+        try (InputStream in = Files.newInputStream(file);
+             XWPFWordExtractor extractor = new XWPFWordExtractor(new XWPFDocument(in))) {
+            XWPFDocument document = extractor.getDocument();
+            int breaks = 0;
+            StringBuilder firstPage = new StringBuilder();
+            for (IBodyElement element : document.getBodyElements()) {
+                boolean pageBreak = element instanceof XWPFParagraph && ((XWPFParagraph) element).isPageBreak();
+                if (pageBreak) {
+                    breaks++;
+                }
+                if (firstPageOnly && breaks == 0) {
+                    extractor.appendBodyElementText(firstPage, element);
+                    firstPage.append('\n');
+                }
+            }
+            // 优先使用Word保存的页数，没有时按分页符估算
+            int pageCount = document.getProperties().getExtendedProperties().getPages();
+            if (pageCount <= 0) {
+                pageCount = breaks + 1;
+            }
+            String text = firstPageOnly ? firstPage.toString() : extractor.getText();
+            return new ExtractedText(normalize(text), pageCount);
+        }
+    }
+
+    /**
+     * 提取结果
+     */
+    public static final class ExtractedText {
+        private final String text;
+        private final int pageCount;
+
+        public ExtractedText(String text, int pageCount) {
+            this.text = text;
+            this.pageCount = pageCount;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public int getPageCount() {
+            return pageCount;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.resume.util;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.parser.Feature;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * JSON合并补丁（RFC 7386）
+ * 对象按字段递归比较，值为null表示删除该字段，数组和其他值整体替换
+ * 注意：该格式无法表达“字段值为null”，这类字段在应用补丁后会被省略
+ */
+public final class JsonMergePatch {
+
+    private JsonMergePatch() {
+    }
+
+    /**
+     * 计算从source变为target的补丁
+     * @return 补丁JSON，内容相同时为 {}
+     */
+    public static String diff(String source, String target) {
+        return toJson(diff(parse(source), parse(target)));
+    }
+
+    /**
+     * 将补丁应用到source上
+     */
+    public static String apply(String source, String patch) {
+        return toJson(apply(parse(source), parse(patch)));
+    }
+
+    /**
+     * 补丁是否为空（不做任何修改）
+     */
+    public static boolean isEmpty(String patch) {
+        Object value = parse(patch);
+        return value instanceof Map && ((Map<?, ?>) value).isEmpty();
+    }
+
+    private static Object diff(Object source, Object target) {
+        if (!(source instanceof Map) || !(target instanceof Map)) {
+            return target;
+        }
+        Map<?, ?> from = (Map<?, ?>) source;
+        Map<?, ?> to = (Map<?, ?>) target;
+        JSONObject patch = new JSONObject(true);
+        for (Object key : from.keySet()) {
+            if (!to.containsKey(key) || (to.get(key) == null && from.get(key) != null)) {
+                patch.put(key.toString(), null);
+            }
+        }
+        for (Map.Entry<?, ?> entry : to.entrySet()) {
+            Object value = entry.getValue();
+            Object previous = from.get(entry.getKey());
+            if (value == null || Objects.equals(previous, value)) {
+                continue;
+            }
+            Object child = diff(previous, value);
+            if (!(child instanceof Map) || !((Map<?, ?>) child).isEmpty() || !(previous instanceof Map)) {
+                patch.put(entry.getKey().toString(), child);
+            }
+        }
+        return patch;
+    }
+
+    /**
+     * 将已解析的补丁应用到已解析的source上，不修改source，未修改的子节点与source共享
+     */
+    @SuppressWarnings("unchecked")
+    public static Object apply(Object source, Object patch) {
+        if (!(patch instanceof Map)) {
+            return patch;
+        }
+        JSONObject result = new JSONObject(true);
+        if (source instanceof Map) {
+            result.putAll((Map<String, Object>) source);
+        }
+        for (Map.Entry<?, ?> entry : ((Map<?, ?>) patch).entrySet()) {
+            String key = entry.getKey().toString();
+            if (entry.getValue() == null) {
+                result.remove(key);
+            } else {
+                result.put(key, apply(result.get(key), entry.getValue()));
+            }
+        }
+        return result;
+    }
+
+    private static Object parse(String json) {
+        return json == null ? null : JSON.parse(json, Feature.OrderedField);
+    }
+
+    private static String toJson(Object value) {
+        return JSON.toJSONString(value, SerializerFeature.WriteMapNullValue);
+    }
+}
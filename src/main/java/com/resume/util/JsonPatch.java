@@ -0,0 +1,189 @@
+package com.resume.util;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.parser.Feature;
+import com.resume.exception.BusinessException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * JSON补丁（RFC 6902），支持 add/remove/replace/move/copy/test
+ * 作用于已解析的fastjson对象，先复制再修改，任一操作失败时原文档保持不变
+ */
+public final class JsonPatch {
+
+    private JsonPatch() {
+    }
+
+    /**
+     * 解析补丁文本，格式不正确时抛出业务异常
+     */
+    public static JSONArray parse(String patch) {
+        try {
+            Object value = JSON.parse(patch, Feature.OrderedField);
+            if (value instanceof JSONArray) {
+                return (JSONArray) value;
+            }
+        } catch (JSONException e) {
+            // 统一按格式错误处理
+        }
+        throw new BusinessException("JSON补丁格式错误");
+    }
+
+    /**
+     * 将补丁应用到document的副本上
+     * @return 修改后的文档
+     */
+    public static Object apply(Object document, JSONArray patch) {
+        Object result = deepCopy(document);
+        for (int i = 0; i < patch.size(); i++) {
+            if (!(patch.get(i) instanceof JSONObject)) {
+                throw new BusinessException("JSON补丁第" + (i + 1) + "项格式错误");
+            }
+            JSONObject operation = patch.getJSONObject(i);
+            String op = operation.getString("op");
+            List<String> path = pointer(operation.getString("path"));
+            if ("add".equals(op)) {
+                result = add(result, path, deepCopy(value(operation)));
+            } else if ("remove".equals(op)) {
+                result = remove(result, path);
+            } else if ("replace".equals(op)) {
+                result = add(remove(result, path), path, deepCopy(value(operation)));
+            } else if ("move".equals(op)) {
+                List<String> from = pointer(operation.getString("from"));
+                if (path.size() > from.size() && path.subList(0, from.size()).equals(from)) {
+                    throw new BusinessException("不能将节点移动到其子节点下");
+                }
+                Object value = get(result, from);
+                result = add(remove(result, from), path, value);
+            } else if ("copy".equals(op)) {
+                result = add(result, path, deepCopy(get(result, pointer(operation.getString("from")))));
+            } else if ("test".equals(op)) {
+                if (!Objects.equals(get(result, path), value(operation))) {
+                    throw new BusinessException("JSON补丁校验失败: " + operation.getString("path"));
+                }
+            } else {
+                throw new BusinessException("不支持的JSON补丁操作: " + op);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 深复制JSON对象和数组，其他值不可变直接共享
+     */
+    public static Object deepCopy(Object value) {
+        if (value instanceof Map) {
+            JSONObject copy = new JSONObject(true);
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                copy.put(entry.getKey().toString(), deepCopy(entry.getValue()));
+            }
+            return copy;
+        }
+        if (value instanceof List) {
+            JSONArray copy = new JSONArray(((List<?>) value).size());
+            for (Object item : (List<?>) value) {
+                copy.add(deepCopy(item));
+            }
+            return copy;
+        }
+        return value;
+    }
+
+    private static Object value(JSONObject operation) {
+        if (!operation.containsKey("value")) {
+            throw new BusinessException("JSON补丁缺少value: " + operation.getString("path"));
+        }
+        return operation.get("value");
+    }
+
+    private static Object add(Object document, List<String> path, Object value) {
+        if (path.isEmpty()) {
+            return value;
+        }
+        Object parent = get(document, path.subList(0, path.size() - 1));
+        String token = path.get(path.size() - 1);
+        if (parent instanceof JSONObject) {
+            ((JSONObject) parent).put(token, value);
+        } else if (parent instanceof JSONArray) {
+            JSONArray array = (JSONArray) parent;
+            array.add("-".equals(token) ? array.size() : index(token, array.size() + 1), value);
+        } else {
+            throw new BusinessException("JSON补丁路径不存在: " + join(path));
+        }
+        return document;
+    }
+
+    private static Object remove(Object document, List<String> path) {
+        if (path.isEmpty()) {
+            return null;
+        }
+        Object parent = get(document, path.subList(0, path.size() - 1));
+        String token = path.get(path.size() - 1);
+        if (parent instanceof JSONObject && ((JSONObject) parent).containsKey(token)) {
+            ((JSONObject) parent).remove(token);
+        } else if (parent instanceof JSONArray) {
+            JSONArray array = (JSONArray) parent;
+            array.remove(index(token, array.size()));
+        } else {
+            throw new BusinessException("JSON补丁路径不存在: " + join(path));
+        }
+        return document;
+    }
+
+    private static Object get(Object document, List<String> path) {
+        Object current = document;
+        for (String token : path) {
+            if (current instanceof JSONObject && ((JSONObject) current).containsKey(token)) {
+                current = ((JSONObject) current).get(token);
+            } else if (current instanceof JSONArray) {
+                JSONArray array = (JSONArray) current;
+                current = array.get(index(token, array.size()));
+            } else {
+                throw new BusinessException("JSON补丁路径不存在: " + join(path));
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 数组下标，必须是不带前导零的非负整数且小于bound
+     */
+    private static int index(String token, int bound) {
+        if (!token.matches("0|[1-9][0-9]{0,8}") || Integer.parseInt(token) >= bound) {
+            throw new BusinessException("JSON补丁数组下标无效: " + token);
+        }
+        return Integer.parseInt(token);
+    }
+
+    /**
+     * 解析JSON Pointer（RFC 6901）
+     */
+    private static List<String> pointer(String pointer) {
+        if (pointer == null || (!pointer.isEmpty() && !pointer.startsWith("/"))) {
+            throw new BusinessException("JSON补丁路径无效: " + pointer);
+        }
+        List<String> tokens = new ArrayList<>();
+        if (pointer.isEmpty()) {
+            return tokens;
+        }
+        for (String token : pointer.substring(1).split("/", -1)) {
+            tokens.add(token.replace("~1", "/").replace("~0", "~"));
+        }
+        return tokens;
+    }
+
+    private static String join(List<String> path) {
+        StringBuilder pointer = new StringBuilder();
+        for (String token : path) {
+            pointer.append('/').append(token.replace("~", "~0").replace("/", "~1"));
+        }
+        return pointer.toString();
+    }
+}
@@ -6,6 +6,12 @@ import io.jsonwebtoken.SignatureAlgorithm;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
+import javax.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 
 /**
@@ -13,12 +19,30 @@ import java.util.Date;
  */
 @Component
 public class JwtUtil {
+
+    /**
+     * 请求属性名：拦截器校验通过后的Claims
+     */
+    public static final String CLAIMS_ATTRIBUTE = JwtUtil.class.getName() + ".CLAIMS";
     
     @Value("${jwt.secret}")
     private String secret;
     
     @Value("${jwt.expiration}")
     private Long expiration;
+
+    @Value("${jwt.claims-cache.max-size:10000}")
+    private int claimsCacheMaxSize;
+
+    /**
+     * 已验签的Claims缓存，键为令牌摘要，条目在令牌过期时失效
+     */
+    private LocalCache<String, Claims> claimsCache;
+
+    @PostConstruct
+    public void init() {
+        claimsCache = new LocalCache<>(claimsCacheMaxSize, expiration * 1000);
+    }
     
 
     /**
@@ -41,7 +65,7 @@ public class JwtUtil {
      * 从令牌中获取用户名
      */
     public String getUsernameFromToken(String token) {
-        Claims claims = getClaimsFromToken(token);
+        Claims claims = parseClaims(token);
         return claims.getSubject();
     }
 
@@ -49,7 +73,7 @@ public class JwtUtil {
      * 从令牌中获取角色
      */
     public String getRoleFromToken(String token) {
-        Claims claims = getClaimsFromToken(token);
+        Claims claims = parseClaims(token);
         Object role = claims.get("role");
         return role != null ? role.toString() : null;
     }
@@ -74,10 +98,54 @@ public class JwtUtil {
      * 从令牌中获取过期时间
      */
     private Date getExpirationDateFromToken(String token) {
-        Claims claims = getClaimsFromToken(token);
+        Claims claims = parseClaims(token);
         return claims.getExpiration();
     }
     
+    /**
+     * 获取请求对应的Claims，同一请求内只验签一次
+     */
+    public Claims getClaims(HttpServletRequest request, String token) {
+        Object cached = request.getAttribute(CLAIMS_ATTRIBUTE);
+        if (cached instanceof Claims) {
+            return (Claims) cached;
+        }
+        Claims claims = parseClaims(token);
+        request.setAttribute(CLAIMS_ATTRIBUTE, claims);
+        return claims;
+    }
+
+    /**
+     * 解析令牌（带缓存），验签失败或已过期时抛出异常
+     */
+    public Claims parseClaims(String token) {
+        if (token == null || token.isEmpty()) {
+            return getClaimsFromToken(token);
+        }
+        String key = digest(token);
+        Claims claims = claimsCache.get(key);
+        if (claims == null) {
+            claims = getClaimsFromToken(token);
+            Date expiryDate = claims.getExpiration();
+            if (expiryDate != null) {
+                claimsCache.put(key, claims, expiryDate.getTime());
+            }
+        }
+        return claims;
+    }
+
+    /**
+     * 计算令牌的SHA-256摘要，避免以原始令牌作为缓存键
+     */
+    private String digest(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(md.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
     /**
      * 从令牌中获取Claims
      */
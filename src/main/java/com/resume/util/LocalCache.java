@@ -0,0 +1,189 @@
+package com.resume.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * 进程内缓存（容量上限 + 过期淘汰）
+ * 超出容量时按最近最少使用（LRU）淘汰，条目到期后在访问时失效
+ */
+public class LocalCache<K, V> {
+
+    private final int maxSize;
+
+    private final long ttlMillis;
+
+    private final LinkedHashMap<K, Entry<V>> map;
+
+    /**
+     * 条目过期或因容量被淘汰时的回调（主动移除不回调），在持有缓存锁时调用
+     */
+    private final BiConsumer<? super K, ? super V> evictionListener;
+
+    /**
+     * 失效计数，每次移除条目时递增；加载期间发生过失效时不写入加载结果，避免把旧值放回缓存
+     */
+    private long invalidations;
+
+    /**
+     * @param maxSize 最大条目数
+     * @param ttlMillis 默认存活时间（毫秒）
+     */
+    public LocalCache(int maxSize, long ttlMillis) {
+        this(maxSize, ttlMillis, null);
+    }
+
+    /**
+     * @param maxSize 最大条目数
+     * @param ttlMillis 默认存活时间（毫秒）
+     * @param evictionListener 条目过期或被淘汰时的回调，用于释放条目关联的资源
+     */
+    public LocalCache(int maxSize, long ttlMillis, BiConsumer<? super K, ? super V> evictionListener) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize必须大于0");
+        }
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.evictionListener = evictionListener;
+        this.map = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() <= LocalCache.this.maxSize) {
+                    return false;
+                }
+                evicted(eldest.getKey(), eldest.getValue().value);
+                return true;
+            }
+        };
+    }
+
+    /**
+     * 获取缓存值，不存在或已过期返回null
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = map.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            map.remove(key);
+            evicted(key, entry.value);
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * 获取缓存值，未命中时通过loader加载并写入（loader返回null时不缓存）
+     * 加载期间有条目被移除时只返回加载结果，不写入缓存
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        long startedAt;
+        synchronized (this) {
+            V value = get(key);
+            if (value != null) {
+                return value;
+            }
+            startedAt = invalidations;
+        }
+        V value = loader.apply(key);
+        if (value != null) {
+            synchronized (this) {
+                if (invalidations == startedAt) {
+                    put(key, value);
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * 写入缓存，使用默认存活时间
+     */
+    public void put(K key, V value) {
+        put(key, value, System.currentTimeMillis() + ttlMillis);
+    }
+
+    /**
+     * 写入缓存，指定绝对过期时间（毫秒时间戳）
+     */
+    public synchronized void put(K key, V value, long expireAtMillis) {
+        map.put(key, new Entry<>(value, expireAtMillis));
+    }
+
+    /**
+     * 移除单个条目
+     */
+    public synchronized void invalidate(K key) {
+        invalidations++;
+        map.remove(key);
+    }
+
+    /**
+     * 移除满足条件的条目
+     */
+    public synchronized void invalidateIf(BiPredicate<? super K, ? super V> predicate) {
+        invalidations++;
+        Iterator<Map.Entry<K, Entry<V>>> it = map.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<K, Entry<V>> e = it.next();
+            if (predicate.test(e.getKey(), e.getValue().value)) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public synchronized void clear() {
+        invalidations++;
+        map.clear();
+    }
+
+    /**
+     * 清理所有已过期的条目（过期条目默认只在访问时清理）
+     */
+    public synchronized void cleanUp() {
+        long now = System.currentTimeMillis();
+        Iterator<Map.Entry<K, Entry<V>>> it = map.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<K, Entry<V>> e = it.next();
+            if (e.getValue().isExpired(now)) {
+                it.remove();
+                evicted(e.getKey(), e.getValue().value);
+            }
+        }
+    }
+
+    private void evicted(K key, V value) {
+        if (evictionListener != null) {
+            evictionListener.accept(key, value);
+        }
+    }
+
+    /**
+     * 当前条目数（含尚未清理的过期条目）
+     */
+    public synchronized int size() {
+        return map.size();
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expireAt;
+
+        private Entry(V value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expireAt;
+        }
+    }
+}
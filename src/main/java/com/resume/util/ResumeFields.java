@@ -0,0 +1,100 @@
+package com.resume.util;
+
+import com.resume.entity.Resume;
+import com.resume.exception.BusinessException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 简历字段投影工具
+ * 维护对外字段名与数据库列名的白名单映射，只允许查询白名单中的列
+ */
+public final class ResumeFields {
+
+    /** 字段名 → 列名 */
+    private static final Map<String, String> COLUMNS = new LinkedHashMap<>();
+
+    static {
+        COLUMNS.put("id", "id");
+        COLUMNS.put("userId", "user_id");
+        COLUMNS.put("name", "name");
+        COLUMNS.put("themeId", "theme_id");
+        COLUMNS.put("createTime", "create_time");
+        COLUMNS.put("updateTime", "update_time");
+        COLUMNS.put("content", "content");
+    }
+
+    /** 全部字段 */
+    public static final List<String> ALL = Collections.unmodifiableList(new ArrayList<>(COLUMNS.keySet()));
+
+    private ResumeFields() {
+    }
+
+    /**
+     * 解析逗号分隔的字段列表，为空时返回全部字段；包含未知字段时抛出业务异常
+     */
+    public static List<String> parse(String fields) {
+        if (fields == null || fields.trim().isEmpty()) {
+            return ALL;
+        }
+        List<String> result = new ArrayList<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty() || result.contains(name)) {
+                continue;
+            }
+            if (!COLUMNS.containsKey(name)) {
+                throw new BusinessException("不支持的字段: " + name);
+            }
+            result.add(name);
+        }
+        return result.isEmpty() ? ALL : result;
+    }
+
+    /**
+     * 字段名转换为列名
+     */
+    public static String[] columns(List<String> fields) {
+        String[] columns = new String[fields.size()];
+        for (int i = 0; i < fields.size(); i++) {
+            columns[i] = COLUMNS.get(fields.get(i));
+        }
+        return columns;
+    }
+
+    /**
+     * 按字段顺序提取简历的字段值
+     */
+    public static Map<String, Object> project(Resume resume, List<String> fields) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (String field : fields) {
+            map.put(field, value(resume, field));
+        }
+        return map;
+    }
+
+    private static Object value(Resume resume, String field) {
+        switch (field) {
+            case "id":
+                return resume.getId();
+            case "userId":
+                return resume.getUserId();
+            case "name":
+                return resume.getName();
+            case "themeId":
+                return resume.getThemeId();
+            case "createTime":
+                return resume.getCreateTime();
+            case "updateTime":
+                return resume.getUpdateTime();
+            case "content":
+                return resume.getContent();
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.resume.util;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 分段锁
+ * 按键的哈希值映射到固定数量的锁上，不同键大多落在不同的锁上，无需为每个键创建和回收锁对象
+ */
+public class StripedLock {
+
+    private final ReentrantLock[] locks;
+
+    /**
+     * @param stripes 锁的数量，会向上取整为2的幂
+     */
+    public StripedLock(int stripes) {
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+        locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * 获取键对应的锁（同一个键总是得到同一把锁）
+     */
+    public Lock get(Object key) {
+        int h = key.hashCode();
+        // 混合高位，避免哈希值低位相同的键集中在少数锁上
+        h ^= (h >>> 16);
+        return locks[h & (locks.length - 1)];
+    }
+}
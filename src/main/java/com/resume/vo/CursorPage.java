@@ -0,0 +1,23 @@
+package com.resume.vo;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 游标分页结果
+ */
+@Data
+public class CursorPage<T> {
+    /** 当前页记录 */
+    private List<T> records = new ArrayList<>();
+    /** 每页条数 */
+    private int size;
+    /** 下一页游标，没有更多数据时为null */
+    private String nextCursor;
+    /** 是否还有下一页 */
+    private boolean hasMore;
+    /** 总记录数，仅在请求时统计，否则为null */
+    private Long total;
+}
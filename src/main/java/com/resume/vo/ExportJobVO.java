@@ -0,0 +1,33 @@
+package com.resume.vo;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 批量导出任务状态
+ */
+@Data
+public class ExportJobVO {
+    /** 任务ID */
+    private String jobId;
+    /** 状态：PENDING/RUNNING/COMPLETED/FAILED/CANCELLED */
+    private String status;
+    /** 简历总数 */
+    private Integer total;
+    /** 已完成数 */
+    private Integer completed;
+    /** 失败数 */
+    private Integer failed;
+    /** ZIP文件下载地址（完成后可用，需管理员登录） */
+    private String fileUrl;
+    /** ZIP文件大小(字节) */
+    private Long fileSize;
+    /** 错误信息 */
+    private String message;
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime createTime;
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime finishTime;
+}
@@ -0,0 +1,18 @@
+package com.resume.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 分面统计项
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetCount {
+    /** 取值（技能、学历、学校或所在地） */
+    private String value;
+    /** 包含该取值的简历数 */
+    private long count;
+}
@@ -0,0 +1,20 @@
+package com.resume.vo;
+
+import lombok.Data;
+
+/**
+ * 上传文件预览
+ */
+@Data
+public class FilePreviewVO {
+    /** 文件类型 */
+    private String fileType;
+    /** 文件大小(字节) */
+    private Long fileSize;
+    /** 页数，文件无法解析时为null */
+    private Integer pageCount;
+    /** 第一页文本 */
+    private String firstPage;
+    /** 单行摘要 */
+    private String snippet;
+}
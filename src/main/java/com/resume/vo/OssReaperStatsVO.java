@@ -0,0 +1,39 @@
+package com.resume.vo;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * OSS孤儿文件回收统计
+ */
+@Data
+public class OssReaperStatsVO {
+    /** 是否正在执行 */
+    private boolean running;
+    /** 累计执行次数 */
+    private Long runs;
+    /** 累计扫描文件数 */
+    private Long scannedFiles;
+    /** 累计隔离文件数 */
+    private Long quarantinedFiles;
+    /** 累计恢复文件数（隔离期间重新被引用） */
+    private Long restoredFiles;
+    /** 累计删除文件数 */
+    private Long deletedFiles;
+    /** 累计回收字节数 */
+    private Long bytesReclaimed;
+    /** 当前隔离区文件数（最近一次执行后） */
+    private Long quarantineFiles;
+    /** 当前隔离区字节数（最近一次执行后） */
+    private Long quarantineBytes;
+    /** 最近一次执行耗时(毫秒) */
+    private Long lastDurationMillis;
+    /** 最近一次执行的错误信息 */
+    private String lastError;
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime lastStartTime;
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime lastFinishTime;
+}
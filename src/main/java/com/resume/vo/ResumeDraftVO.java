@@ -0,0 +1,18 @@
+package com.resume.vo;
+
+import lombok.Data;
+
+/**
+ * 自动保存结果
+ */
+@Data
+public class ResumeDraftVO {
+    /** 简历ID */
+    private Integer resumeId;
+    /** 自上次写入数据库以来已应用的补丁数 */
+    private long revision;
+    /** 数据库中简历的版本号（整体更新时作为version提交） */
+    private Integer version;
+    /** 是否已写入数据库（为false时将在合并窗口结束后写入） */
+    private boolean saved;
+}
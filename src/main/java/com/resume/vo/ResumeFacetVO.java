@@ -0,0 +1,19 @@
+package com.resume.vo;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 简历分面统计结果
+ */
+@Data
+public class ResumeFacetVO {
+    /** 符合筛选条件的简历数 */
+    private long total;
+    /** 启动时的全量构建是否已完成，未完成时统计结果可能不完整 */
+    private boolean ready;
+    /** 各维度（skill、degree、school、location）的统计，按数量倒序 */
+    private Map<String, List<FacetCount>> facets;
+}
@@ -0,0 +1,22 @@
+package com.resume.vo;
+
+import lombok.Data;
+
+/**
+ * 简历全文检索结果
+ */
+@Data
+public class ResumeSearchHit {
+    /** 简历ID */
+    private Integer id;
+    /** 所属用户ID */
+    private Integer userId;
+    /** 简历名称 */
+    private String name;
+    /** 求职者姓名 */
+    private String candidateName;
+    /** 求职岗位 */
+    private String title;
+    /** 相关度得分 */
+    private Float score;
+}
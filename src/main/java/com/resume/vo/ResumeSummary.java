@@ -0,0 +1,23 @@
+package com.resume.vo;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 简历摘要（不含简历内容，用于列表展示）
+ */
+@Data
+public class ResumeSummary {
+    private Integer id;
+    /** 所属用户ID */
+    private Integer userId;
+    /** 简历名称 */
+    private String name;
+    /** 主题ID */
+    private Integer themeId;
+    /** 创建时间 */
+    private LocalDateTime createTime;
+    /** 更新时间 */
+    private LocalDateTime updateTime;
+}
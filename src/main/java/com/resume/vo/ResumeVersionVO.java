@@ -0,0 +1,26 @@
+package com.resume.vo;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 简历历史版本（列表中不含content）
+ */
+@Data
+public class ResumeVersionVO {
+    /** 简历ID */
+    private Integer resumeId;
+    /** 版本号 */
+    private Integer versionNo;
+    /** 是否为完整快照 */
+    private boolean snapshot;
+    /** 简历名称 */
+    private String name;
+    /** 主题ID */
+    private Integer themeId;
+    /** 还原后的完整简历内容 */
+    private String content;
+    /** 创建时间 */
+    private LocalDateTime createTime;
+}
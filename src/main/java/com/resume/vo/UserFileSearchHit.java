@@ -0,0 +1,31 @@
+package com.resume.vo;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 上传文件全文检索结果
+ */
+@Data
+public class UserFileSearchHit {
+    /** 文件记录ID */
+    private Integer userFileId;
+    /** 所属用户ID */
+    private Integer userId;
+    /** 原始文件名 */
+    private String originalName;
+    /** 文件类型 */
+    private String fileType;
+    /** 文件URL */
+    private String filePath;
+    /** 页数 */
+    private Integer pageCount;
+    /** 命中位置附近的文本片段 */
+    private String snippet;
+    /** 相关度得分 */
+    private Double score;
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime uploadTime;
+}
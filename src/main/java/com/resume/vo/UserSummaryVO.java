@@ -0,0 +1,20 @@
+package com.resume.vo;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 用户列表项（不含密码）
+ */
+@Data
+public class UserSummaryVO {
+    private Integer id;
+    private String username;
+    /** 角色（admin/user） */
+    private String role;
+    private LocalDateTime createTime;
+    private LocalDateTime updateTime;
+    /** 简历数量，仅在请求时统计 */
+    private Long resumeCount;
+}
@@ -29,17 +29,44 @@ CREATE TABLE `resume`  (
   `create_time` datetime NULL DEFAULT CURRENT_TIMESTAMP,
   `update_time` datetime NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
   `theme_id` int NULL DEFAULT NULL COMMENT '主题ID',
+  `version` int NOT NULL DEFAULT 0 COMMENT '乐观锁版本号',
   PRIMARY KEY (`id`) USING BTREE,
-  INDEX `user_id`(`user_id`) USING BTREE,
+  INDEX `idx_user_id_create_time`(`user_id`, `create_time`, `id`) USING BTREE,
+  INDEX `idx_create_time`(`create_time`, `id`) USING BTREE,
   CONSTRAINT `resume_ibfk_1` FOREIGN KEY (`user_id`) REFERENCES `user` (`id`) ON DELETE CASCADE ON UPDATE RESTRICT
 ) ENGINE = InnoDB AUTO_INCREMENT = 4 CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci ROW_FORMAT = DYNAMIC;
 
 -- ----------------------------
 -- Records of resume
 -- ----------------------------
-INSERT INTO `resume` VALUES (1, 2, '张三的简历', '{\"skills\": [\"Java\", \"Spring Boot\", \"MySQL\", \"Redis\"], \"summary\": \"五年Java开发经验，熟悉Spring Boot、MySQL、Redis等技术。\", \"education\": [{\"major\": \"软件工程\", \"degree\": \"本科\", \"school\": \"复旦大学\", \"endDate\": \"2016-06\", \"startDate\": \"2012-09\"}], \"personalInfo\": {\"name\": \"张三\", \"email\": \"zhangsan@example.com\", \"phone\": \"13800000001\", \"title\": \"Java开发工程师\", \"location\": \"上海市浦东新区\"}}', '2025-09-16 00:56:40', '2025-09-17 01:31:44', 1);
-INSERT INTO `resume` VALUES (2, 3, '李四的简历', '{\"skills\": [\"Vue\", \"JavaScript\", \"CSS\"], \"summary\": \"三年前端开发经验，精通Vue、JavaScript、CSS。\", \"education\": [{\"major\": \"计算机科学\", \"degree\": \"本科\", \"school\": \"中山大学\", \"endDate\": \"2017-06\", \"startDate\": \"2013-09\"}], \"personalInfo\": {\"name\": \"李四\", \"email\": \"lisi@example.com\", \"phone\": \"13800000002\", \"title\": \"前端工程师\", \"location\": \"广州市天河区\"}}', '2025-09-16 00:56:40', '2025-09-17 01:31:45', 1);
-INSERT INTO `resume` VALUES (3, 4, '王五的简历', '{\"skills\": [\"产品设计\", \"项目管理\", \"需求分析\"], \"summary\": \"六年互联网产品经理经验，擅长需求分析和项目管理。\", \"education\": [{\"major\": \"管理学\", \"degree\": \"硕士\", \"school\": \"北京大学\", \"endDate\": \"2013-06\", \"startDate\": \"2010-09\"}], \"personalInfo\": {\"name\": \"王五\", \"email\": \"wangwu@example.com\", \"phone\": \"13800000003\", \"title\": \"产品经理\", \"location\": \"北京市海淀区\"}}', '2025-09-16 00:56:40', '2025-09-17 01:31:46', 1);
+INSERT INTO `resume` VALUES (1, 2, '张三的简历', '{\"skills\": [\"Java\", \"Spring Boot\", \"MySQL\", \"Redis\"], \"summary\": \"五年Java开发经验，熟悉Spring Boot、MySQL、Redis等技术。\", \"education\": [{\"major\": \"软件工程\", \"degree\": \"本科\", \"school\": \"复旦大学\", \"endDate\": \"2016-06\", \"startDate\": \"2012-09\"}], \"personalInfo\": {\"name\": \"张三\", \"email\": \"zhangsan@example.com\", \"phone\": \"13800000001\", \"title\": \"Java开发工程师\", \"location\": \"上海市浦东新区\"}}', '2025-09-16 00:56:40', '2025-09-17 01:31:44', 1, 0);
+INSERT INTO `resume` VALUES (2, 3, '李四的简历', '{\"skills\": [\"Vue\", \"JavaScript\", \"CSS\"], \"summary\": \"三年前端开发经验，精通Vue、JavaScript、CSS。\", \"education\": [{\"major\": \"计算机科学\", \"degree\": \"本科\", \"school\": \"中山大学\", \"endDate\": \"2017-06\", \"startDate\": \"2013-09\"}], \"personalInfo\": {\"name\": \"李四\", \"email\": \"lisi@example.com\", \"phone\": \"13800000002\", \"title\": \"前端工程师\", \"location\": \"广州市天河区\"}}', '2025-09-16 00:56:40', '2025-09-17 01:31:45', 1, 0);
+INSERT INTO `resume` VALUES (3, 4, '王五的简历', '{\"skills\": [\"产品设计\", \"项目管理\", \"需求分析\"], \"summary\": \"六年互联网产品经理经验，擅长需求分析和项目管理。\", \"education\": [{\"major\": \"管理学\", \"degree\": \"硕士\", \"school\": \"北京大学\", \"endDate\": \"2013-06\", \"startDate\": \"2010-09\"}], \"personalInfo\": {\"name\": \"王五\", \"email\": \"wangwu@example.com\", \"phone\": \"13800000003\", \"title\": \"产品经理\", \"location\": \"北京市海淀区\"}}', '2025-09-16 00:56:40', '2025-09-17 01:31:46', 1, 0);
+
+-- ----------------------------
+-- Table structure for resume_version
+-- ----------------------------
+DROP TABLE IF EXISTS `resume_version`;
+CREATE TABLE `resume_version` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `resume_id` int NOT NULL COMMENT '简历ID',
+  `version_no` int NOT NULL COMMENT '版本号',
+  `type` varchar(10) NOT NULL COMMENT '类型：SNAPSHOT完整快照/DIFF合并补丁',
+  `name` varchar(100) DEFAULT NULL COMMENT '简历名称',
+  `content` mediumtext NOT NULL COMMENT '快照为完整内容，补丁为相对上一版本的RFC 7386合并补丁',
+  `theme_id` int DEFAULT NULL COMMENT '主题ID',
+  `create_time` datetime DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_resume_version` (`resume_id`, `version_no`),
+  KEY `idx_resume_type_version` (`resume_id`, `type`, `version_no`),
+  CONSTRAINT `resume_version_ibfk_1` FOREIGN KEY (`resume_id`) REFERENCES `resume` (`id`) ON DELETE CASCADE ON UPDATE RESTRICT
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='简历历史版本表';
+
+-- ----------------------------
+-- 已有简历的当前内容作为第一个版本
+-- ----------------------------
+INSERT INTO `resume_version` (`resume_id`, `version_no`, `type`, `name`, `content`, `theme_id`, `create_time`)
+SELECT `id`, 1, 'SNAPSHOT', `name`, `content`, `theme_id`, `update_time` FROM `resume`;
 
 -- ----------------------------
 -- Table structure for theme_config
@@ -110,7 +137,44 @@ CREATE TABLE `user_file` (
   `update_time` datetime DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
   PRIMARY KEY (`id`),
   UNIQUE KEY `uk_user_id` (`user_id`) COMMENT '每个用户只能有一个文件',
-  KEY `idx_user_id` (`user_id`)
+  KEY `idx_user_id` (`user_id`),
+  KEY `idx_file_path` (`file_path`(255))
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='用户文件表';
 
+-- ----------------------------
+-- Table structure for user_file_text
+-- ----------------------------
+DROP TABLE IF EXISTS `user_file_text`;
+CREATE TABLE `user_file_text` (
+  `id` int(11) NOT NULL AUTO_INCREMENT,
+  `file_path` varchar(500) NOT NULL COMMENT '文件URL（与user_file.file_path对应）',
+  `status` varchar(20) NOT NULL DEFAULT 'PENDING' COMMENT '状态：PENDING/DONE/FAILED',
+  `page_count` int(11) DEFAULT NULL COMMENT '页数',
+  `char_count` int(11) DEFAULT NULL COMMENT '文本字符数',
+  `content` mediumtext COMMENT '提取的文本',
+  `error_message` varchar(500) DEFAULT NULL COMMENT '提取失败原因',
+  `create_time` datetime DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  `update_time` datetime DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_file_path` (`file_path`),
+  KEY `idx_status_update_time` (`status`, `update_time`),
+  FULLTEXT KEY `ft_content` (`content`) WITH PARSER ngram
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='上传文件提取文本表';
+
+-- ----------------------------
+-- Table structure for oss_blob
+-- ----------------------------
+DROP TABLE IF EXISTS `oss_blob`;
+CREATE TABLE `oss_blob` (
+  `id` int(11) NOT NULL AUTO_INCREMENT,
+  `hash` char(64) NOT NULL COMMENT '文件内容SHA-256',
+  `file_path` varchar(255) NOT NULL COMMENT '相对OSS根目录的存储路径',
+  `file_size` bigint(20) NOT NULL COMMENT '文件大小(字节)',
+  `ref_count` int(11) NOT NULL DEFAULT 0 COMMENT '引用次数',
+  `create_time` datetime DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  `update_time` datetime DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_file_path` (`file_path`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='OSS文件引用计数表';
+
 SET FOREIGN_KEY_CHECKS = 1;
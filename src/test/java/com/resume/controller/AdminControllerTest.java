@@ -1,14 +1,17 @@
 package com.resume.controller;
 
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.resume.entity.AdminUser;
 import com.resume.entity.User;
 import com.resume.entity.Resume;
 import com.resume.dto.ChangePasswordDTO;
+import com.resume.dto.UserQueryDTO;
 import com.resume.service.AdminUserService;
 import com.resume.service.UserService;
 import com.resume.service.ResumeService;
 import com.resume.util.JwtUtil;
+import com.resume.vo.UserSummaryVO;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -164,18 +167,26 @@ class AdminControllerTest {
     @DisplayName("测试获取用户列表")
     void testGetUserList() throws Exception {
         // 准备数据
-        List<User> users = Arrays.asList(testUser);
-        when(userService.list()).thenReturn(users);
+        UserSummaryVO summary = new UserSummaryVO();
+        summary.setId(testUser.getId());
+        summary.setUsername(testUser.getUsername());
+        summary.setRole(testUser.getRole());
+        Page<UserSummaryVO> page = new Page<>(1, 10, 1);
+        page.setRecords(Arrays.asList(summary));
+        when(userService.getUserSummaryPage(any(UserQueryDTO.class))).thenReturn(page);
 
         // 执行测试
         mockMvc.perform(get("/api/admin/user/list")
+                .param("username", "test")
                 .header("Authorization", "Bearer admin-token"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.code").value(200))
-                .andExpect(jsonPath("$.data").isArray())
-                .andExpect(jsonPath("$.data[0].username").value("testuser"));
+                .andExpect(jsonPath("$.data.records").isArray())
+                .andExpect(jsonPath("$.data.records[0].username").value("testuser"))
+                .andExpect(jsonPath("$.data.records[0].password").doesNotExist());
 
-        verify(userService).list();
+        verify(userService).getUserSummaryPage(any(UserQueryDTO.class));
+        verify(userService, never()).list();
     }
 
     @Test
@@ -330,9 +341,7 @@ class AdminControllerTest {
         when(userService.lambdaQuery().eq(User::getUsername, "admin").eq(User::getRole, "admin").one())
             .thenReturn(adminUser);
         when(userService.getById(2)).thenReturn(testUser);
-        when(resumeService.getResumesByUserId(2)).thenReturn(Arrays.asList(testResume));
-        when(resumeService.deleteResume(1)).thenReturn(true);
-        when(userService.removeById(2)).thenReturn(true);
+        when(userService.deleteUserCascade(2)).thenReturn(true);
 
         // 执行测试
         mockMvc.perform(delete("/api/admin/user/2")
@@ -341,9 +350,8 @@ class AdminControllerTest {
                 .andExpect(jsonPath("$.code").value(200))
                 .andExpect(jsonPath("$.msg").value("用户删除成功"));
 
-        verify(resumeService).getResumesByUserId(2);
-        verify(resumeService).deleteResume(1);
-        verify(userService).removeById(2);
+        verify(userService).deleteUserCascade(2);
+        verify(resumeService, never()).deleteResume(anyInt());
     }
 
     @Test
@@ -368,7 +376,7 @@ class AdminControllerTest {
                 .andExpect(jsonPath("$.code").value(500))
                 .andExpect(jsonPath("$.msg").value("不能删除自己"));
 
-        verify(userService, never()).removeById(anyInt());
+        verify(userService, never()).deleteUserCascade(anyInt());
     }
 
     @Test
@@ -16,6 +16,8 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -54,4 +56,17 @@ public class OssControllerTest {
         System.out.println("✅ 文件访问验证成功！");
         System.out.println("📄 文件内容: " + testContent);
     }
+
+    @Test
+    public void testHiddenFoldersNotServed() throws Exception {
+        // 隔离区和上传临时目录位于OSS根目录下，但不能通过公开地址访问
+        mockMvc.perform(get("/oss/.quarantine/20250917/user-files/2025/09/17/test-file.pdf"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/oss/.tmp/upload-123.part"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/oss/.quarantine/20250917/blobs/ab/cd/test-file.pdf?preview"))
+                .andExpect(status().isNotFound());
+
+        verify(localOssService, never()).getFilePath(anyString());
+    }
 }
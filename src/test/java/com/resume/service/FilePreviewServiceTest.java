@@ -0,0 +1,104 @@
+package com.resume.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resume.service.impl.FilePreviewServiceImpl;
+import com.resume.storage.StorageBackend;
+import com.resume.vo.FilePreviewVO;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 上传文件预览测试
+ */
+@DisplayName("上传文件预览测试")
+class FilePreviewServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private LocalOssService localOssService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private FilePreviewServiceImpl filePreviewService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        filePreviewService = new FilePreviewServiceImpl();
+        ReflectionTestUtils.setField(filePreviewService, "localOssService", localOssService);
+        ReflectionTestUtils.setField(filePreviewService, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(filePreviewService, "firstPageChars", 1500);
+    }
+
+    @Test
+    @DisplayName("测试首次请求生成预览并保存在原文件旁")
+    void testGeneratePreview() throws Exception {
+        // 准备数据
+        Path docx = tempDir.resolve("abcd.docx");
+        try (XWPFDocument document = new XWPFDocument(); OutputStream out = Files.newOutputStream(docx)) {
+            document.createParagraph().createRun().setText("张三");
+            document.createParagraph().createRun().setText("Java开发工程师");
+            document.createParagraph().setPageBreak(true);
+            document.getParagraphs().get(2).createRun().setText("第二页内容");
+            document.write(out);
+        }
+        when(localOssService.getFilePath("url")).thenReturn(docx);
+
+        // 执行测试
+        Path preview = filePreviewService.getPreview("url");
+
+        // 验证结果：只包含第一页
+        assertEquals(tempDir.resolve("abcd.docx" + StorageBackend.SIDECAR_SUFFIX), preview);
+        FilePreviewVO vo = objectMapper.readValue(preview.toFile(), FilePreviewVO.class);
+        assertEquals(".docx", vo.getFileType());
+        assertEquals(2, vo.getPageCount());
+        assertEquals("张三 Java开发工程师", vo.getSnippet());
+        assertFalse(vo.getFirstPage().contains("第二页内容"));
+
+        // 再次请求直接复用
+        long modified = Files.getLastModifiedTime(preview).toMillis();
+        assertEquals(preview, filePreviewService.getPreview("url"));
+        assertEquals(modified, Files.getLastModifiedTime(preview).toMillis());
+
+        // 原文件删除后不再返回残留的预览
+        Files.delete(docx);
+        assertNull(filePreviewService.getPreview("url"));
+    }
+
+    @Test
+    @DisplayName("测试解析失败时不保存预览")
+    void testExtractFailed() throws Exception {
+        Path pdf = Files.write(tempDir.resolve("broken.pdf"), "not a pdf".getBytes());
+        when(localOssService.getFilePath("broken")).thenReturn(pdf);
+
+        assertThrows(IOException.class, () -> filePreviewService.getPreview("broken"));
+
+        assertFalse(Files.exists(tempDir.resolve("broken.pdf" + StorageBackend.SIDECAR_SUFFIX)));
+    }
+
+    @Test
+    @DisplayName("测试原文件不存在或类型不支持时返回null")
+    void testPreviewUnavailable() throws Exception {
+        when(localOssService.getFilePath("missing")).thenReturn(tempDir.resolve("missing.pdf"));
+        when(localOssService.getFilePath("zip")).thenReturn(tempDir.resolve("export.zip"));
+
+        assertNull(filePreviewService.getPreview("missing"));
+        assertNull(filePreviewService.getPreview("zip"));
+    }
+}
@@ -1,7 +1,16 @@
 package com.resume.service;
 
+import com.resume.mapper.OssBlobMapper;
+import com.resume.service.impl.LocalOssServiceImpl;
+import com.resume.storage.LocalStorageBackend;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.File;
 import java.nio.file.Files;
@@ -9,11 +18,93 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
 
 public class LocalOssServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private OssBlobMapper ossBlobMapper;
+
+    private LocalOssServiceImpl localOssService;
+
+    /**
+     * 模拟oss_blob表中的引用计数
+     */
+    private final Map<String, Integer> refCounts = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        localOssService = new LocalOssServiceImpl();
+        ReflectionTestUtils.setField(localOssService, "storageBackend", new LocalStorageBackend(tempDir.toString()));
+        ReflectionTestUtils.setField(localOssService, "baseUrl", "http://localhost:8080/oss");
+        ReflectionTestUtils.setField(localOssService, "dedupEnabled", true);
+        ReflectionTestUtils.setField(localOssService, "ossBlobMapper", ossBlobMapper);
+
+        when(ossBlobMapper.incrementRef(anyString(), anyString(), anyLong())).thenAnswer(invocation -> {
+            refCounts.merge(invocation.getArgument(1), 1, Integer::sum);
+            return 1;
+        });
+        when(ossBlobMapper.decrementRef(anyString())).thenAnswer(invocation -> {
+            String path = invocation.getArgument(0);
+            Integer count = refCounts.get(path);
+            if (count == null || count == 0) {
+                return 0;
+            }
+            refCounts.put(path, count - 1);
+            return 1;
+        });
+        when(ossBlobMapper.deleteUnreferenced(anyString())).thenAnswer(invocation ->
+                refCounts.remove(invocation.getArgument(0), 0) ? 1 : 0);
+    }
+
+    @Test
+    @DisplayName("测试相同内容只保存一份")
+    public void testUploadDeduplicated() throws Exception {
+        byte[] content = "模板简历内容".getBytes("UTF-8");
+
+        String first = localOssService.uploadFile(new MockMultipartFile("file", "a.pdf", "application/pdf", content), "user-files");
+        String second = localOssService.uploadFile(new MockMultipartFile("file", "b.PDF", "application/pdf", content), "user-files");
+
+        assertEquals(first, second);
+        assertTrue(first.matches("http://localhost:8080/oss/blobs/[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{64}\\.pdf"));
+        assertArrayEquals(content, Files.readAllBytes(localOssService.getFilePath(first)));
+        assertEquals(2, refCounts.get(first.substring("http://localhost:8080/oss/".length())));
+        // 临时文件已清理
+        try (Stream<Path> temp = Files.list(tempDir.resolve(".tmp"))) {
+            assertEquals(0, temp.count());
+        }
+    }
+
+    @Test
+    @DisplayName("测试最后一个引用删除时才删除物理文件")
+    public void testDeleteByRefCount() throws Exception {
+        byte[] content = "模板简历内容".getBytes("UTF-8");
+        String url = localOssService.uploadFile(new MockMultipartFile("file", "a.pdf", "application/pdf", content), "user-files");
+        localOssService.uploadFile(new MockMultipartFile("file", "b.pdf", "application/pdf", content), "user-files");
+        Path path = localOssService.getFilePath(url);
+
+        assertTrue(localOssService.deleteFile(url));
+        assertTrue(Files.exists(path));
+
+        assertTrue(localOssService.deleteFile(url));
+        assertFalse(Files.exists(path));
+
+        // 重复删除不会出错
+        assertFalse(localOssService.deleteFile(url));
+        verify(ossBlobMapper, times(2)).deleteUnreferenced(anyString());
+    }
     
     @Test
     public void testFileStorage() throws Exception {
@@ -0,0 +1,251 @@
+package com.resume.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.resume.mapper.OssBlobMapper;
+import com.resume.mapper.UserFileMapper;
+import com.resume.service.impl.OssReaperServiceImpl;
+import com.resume.storage.LocalStorageBackend;
+import com.resume.storage.StorageBackend;
+import com.resume.vo.OssReaperStatsVO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * OSS孤儿文件回收测试
+ */
+@DisplayName("OSS孤儿文件回收测试")
+class OssReaperServiceTest {
+
+    private static final String BASE_URL = "http://localhost:8080/oss";
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private UserFileMapper userFileMapper;
+
+    @Mock
+    private OssBlobMapper ossBlobMapper;
+
+    @Mock
+    private LocalOssService localOssService;
+
+    private OssReaperServiceImpl ossReaperService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        ossReaperService = new OssReaperServiceImpl();
+        ReflectionTestUtils.setField(ossReaperService, "storageBackend", new LocalStorageBackend(tempDir.toString()));
+        ReflectionTestUtils.setField(ossReaperService, "baseUrl", BASE_URL);
+        ReflectionTestUtils.setField(ossReaperService, "minAgeMinutes", 60L);
+        ReflectionTestUtils.setField(ossReaperService, "quarantineDays", 7);
+        ReflectionTestUtils.setField(ossReaperService, "batchSize", 2);
+        ReflectionTestUtils.setField(ossReaperService, "maxOrphansPerRun", 100);
+        ReflectionTestUtils.setField(ossReaperService, "partitionsPerRun", 100);
+        ReflectionTestUtils.setField(ossReaperService, "userFileMapper", userFileMapper);
+        ReflectionTestUtils.setField(ossReaperService, "ossBlobMapper", ossBlobMapper);
+        ReflectionTestUtils.setField(ossReaperService, "localOssService", localOssService);
+        when(ossBlobMapper.selectObjs(any(QueryWrapper.class))).thenReturn(new ArrayList<>());
+        when(userFileMapper.selectObjs(any(QueryWrapper.class))).thenReturn(new ArrayList<>());
+        when(userFileMapper.selectCount(any(QueryWrapper.class))).thenReturn(0L);
+    }
+
+    @Test
+    @DisplayName("测试隔离无引用的用户文件")
+    void testQuarantineOrphans() throws Exception {
+        // 准备数据
+        Path referenced = oldFile("user-files/2025/01/01/a.pdf", "a");
+        Path orphan = oldFile("user-files/2025/01/01/b.pdf", "bb");
+        Path orphan2 = oldFile("user-files/2025/01/02/c.pdf", "ccc");
+        Path recent = write("user-files/2025/01/02/d.pdf", "d");
+        when(userFileMapper.selectObjs(any(QueryWrapper.class)))
+                .thenAnswer(invocation -> new ArrayList<>(Collections.singletonList(BASE_URL + "/user-files/2025/01/01/a.pdf")));
+
+        // 执行测试
+        assertTrue(ossReaperService.reap());
+
+        // 验证结果：有引用的和刚上传的文件保留，孤儿文件移入当天的隔离目录
+        assertTrue(Files.exists(referenced));
+        assertTrue(Files.exists(recent));
+        assertFalse(Files.exists(orphan));
+        assertFalse(Files.exists(orphan2));
+        Path day = tempDir.resolve(".quarantine").resolve(LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd")));
+        assertTrue(Files.exists(day.resolve("user-files/2025/01/01/b.pdf")));
+        assertTrue(Files.exists(day.resolve("user-files/2025/01/02/c.pdf")));
+        OssReaperStatsVO stats = ossReaperService.getStats();
+        assertEquals(3, stats.getScannedFiles());
+        assertEquals(2, stats.getQuarantinedFiles());
+        assertEquals(0, stats.getBytesReclaimed());
+        // 3个文件分2批查询
+        verify(userFileMapper, times(2)).selectObjs(any(QueryWrapper.class));
+    }
+
+    @Test
+    @DisplayName("测试内容寻址文件在锁内隔离")
+    void testQuarantineBlob() throws Exception {
+        oldFile("blobs/ab/cd/abcd.pdf", "blob");
+        when(localOssService.quarantineBlob(anyString(), any(Path.class), any(Path.class))).thenReturn(true);
+
+        ossReaperService.reap();
+
+        verify(localOssService).quarantineBlob(eq("blobs/ab/cd/abcd.pdf"), any(Path.class), any(Path.class));
+        verify(userFileMapper, never()).selectCount(any(QueryWrapper.class));
+        assertEquals(1, ossReaperService.getStats().getQuarantinedFiles());
+    }
+
+    @Test
+    @DisplayName("测试隔离期满删除并统计回收字节数，重新被引用的文件恢复")
+    void testPurgeAndRestore() throws Exception {
+        // 准备数据
+        String expiredDay = LocalDate.now().minusDays(10).format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+        Path expired = write(".quarantine/" + expiredDay + "/user-files/2025/01/01/b.pdf", "12345");
+        write(".quarantine/" + expiredDay + "/user-files/2025/01/01/a.pdf", "a");
+        Path kept = write(".quarantine/" + LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"))
+                + "/user-files/2025/01/03/e.pdf", "123");
+        Path stale = oldFile(".tmp/upload-1.part", "1234567");
+        when(userFileMapper.selectObjs(any(QueryWrapper.class)))
+                .thenAnswer(invocation -> new ArrayList<>(Collections.singletonList(BASE_URL + "/user-files/2025/01/01/a.pdf")));
+
+        // 执行测试
+        ossReaperService.reap();
+
+        // 验证结果
+        assertFalse(Files.exists(expired));
+        assertFalse(Files.exists(stale));
+        assertTrue(Files.exists(kept));
+        assertTrue(Files.exists(tempDir.resolve("user-files/2025/01/01/a.pdf")));
+        assertFalse(Files.exists(tempDir.resolve(".quarantine").resolve(expiredDay)));
+        OssReaperStatsVO stats = ossReaperService.getStats();
+        assertEquals(1, stats.getRestoredFiles());
+        assertEquals(2, stats.getDeletedFiles());
+        assertEquals(12, stats.getBytesReclaimed());
+        assertEquals(1, stats.getQuarantineFiles());
+        assertEquals(3, stats.getQuarantineBytes());
+        assertNull(stats.getLastError());
+    }
+
+    @Test
+    @DisplayName("测试预览文件不参与比对，原文件不存在时删除")
+    void testPreviewSidecar() throws Exception {
+        Path source = oldFile("blobs/ab/cd/abcd.pdf", "blob");
+        Path sidecar = oldFile("blobs/ab/cd/abcd.pdf" + StorageBackend.SIDECAR_SUFFIX, "{}");
+        Path orphanSidecar = oldFile("blobs/ab/cd/gone.pdf" + StorageBackend.SIDECAR_SUFFIX, "{}");
+        when(ossBlobMapper.selectObjs(any(QueryWrapper.class)))
+                .thenAnswer(invocation -> new ArrayList<>(Collections.singletonList("blobs/ab/cd/abcd.pdf")));
+
+        ossReaperService.reap();
+
+        assertTrue(Files.exists(source));
+        assertTrue(Files.exists(sidecar));
+        assertFalse(Files.exists(orphanSidecar));
+        assertEquals(1, ossReaperService.getStats().getScannedFiles());
+        assertEquals(2, ossReaperService.getStats().getBytesReclaimed());
+        verify(localOssService, never()).quarantineBlob(anyString(), any(Path.class), any(Path.class));
+    }
+
+    @Test
+    @DisplayName("测试单次隔离数量上限")
+    void testMaxOrphansPerRun() throws Exception {
+        ReflectionTestUtils.setField(ossReaperService, "maxOrphansPerRun", 1);
+        oldFile("user-files/2025/01/01/b.pdf", "b");
+        oldFile("user-files/2025/01/01/c.pdf", "c");
+
+        ossReaperService.reap();
+
+        assertEquals(1, ossReaperService.getStats().getQuarantinedFiles());
+    }
+
+    @Test
+    @DisplayName("测试按检查点轮转比对分区")
+    void testPartitionCheckpoint() throws Exception {
+        // 准备数据：每次只比对一个分区
+        ReflectionTestUtils.setField(ossReaperService, "partitionsPerRun", 1);
+        Path blob = oldFile("blobs/ab/cd/abcd.pdf", "blob");
+        Path first = oldFile("user-files/2025/01/01/b.pdf", "b");
+        Path second = oldFile("user-files/2025/01/02/c.pdf", "c");
+        when(ossBlobMapper.selectObjs(any(QueryWrapper.class)))
+                .thenAnswer(invocation -> new ArrayList<>(Collections.singletonList("blobs/ab/cd/abcd.pdf")));
+
+        // 执行测试并验证结果：分区按 blobs/ab、user-files/2025/01/01、user-files/2025/01/02 的顺序处理
+        ossReaperService.reap();
+        assertEquals("blobs/ab", checkpoint());
+        assertTrue(Files.exists(first));
+
+        ossReaperService.reap();
+        assertEquals("user-files/2025/01/01", checkpoint());
+        assertFalse(Files.exists(first));
+        assertTrue(Files.exists(second));
+
+        ossReaperService.reap();
+        assertEquals("user-files/2025/01/02", checkpoint());
+        assertFalse(Files.exists(second));
+
+        // 全部完成后从头开始新一轮
+        ossReaperService.reap();
+        assertEquals("blobs/ab", checkpoint());
+        assertTrue(Files.exists(blob));
+        assertEquals(4, ossReaperService.getStats().getScannedFiles());
+    }
+
+    @Test
+    @DisplayName("测试达到隔离上限时下次从未完成的分区继续")
+    void testMaxOrphansResumesPartition() throws Exception {
+        ReflectionTestUtils.setField(ossReaperService, "maxOrphansPerRun", 1);
+        Path b = oldFile("user-files/2025/01/01/b.pdf", "b");
+        Path c = oldFile("user-files/2025/01/01/c.pdf", "c");
+        Path d = oldFile("user-files/2025/01/02/d.pdf", "d");
+
+        ossReaperService.reap();
+        assertEquals(1, ossReaperService.getStats().getQuarantinedFiles());
+        assertEquals("", checkpoint());
+        assertTrue(Files.exists(d));
+
+        ossReaperService.reap();
+        assertEquals(2, ossReaperService.getStats().getQuarantinedFiles());
+        assertFalse(Files.exists(b));
+        assertFalse(Files.exists(c));
+        assertEquals("", checkpoint());
+
+        ossReaperService.reap();
+        assertEquals(3, ossReaperService.getStats().getQuarantinedFiles());
+        assertFalse(Files.exists(d));
+        assertEquals("user-files/2025/01/01", checkpoint());
+    }
+
+    private String checkpoint() throws Exception {
+        return new String(Files.readAllBytes(tempDir.resolve(".reaper-checkpoint"))).trim();
+    }
+
+    private Path write(String relativePath, String content) throws Exception {
+        Path file = tempDir.resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes());
+        return file;
+    }
+
+    private Path oldFile(String relativePath, String content) throws Exception {
+        Path file = write(relativePath, content);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(2)));
+        return file;
+    }
+}
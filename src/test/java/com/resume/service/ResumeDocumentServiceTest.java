@@ -0,0 +1,88 @@
+package com.resume.service;
+
+import com.resume.entity.Resume;
+import com.resume.exception.BusinessException;
+import com.resume.model.ResumeDocument;
+import com.resume.service.impl.ResumeDocumentServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 简历文档服务测试
+ */
+@DisplayName("简历文档服务测试")
+class ResumeDocumentServiceTest {
+
+    private ResumeDocumentServiceImpl resumeDocumentService;
+
+    private Resume testResume;
+
+    @BeforeEach
+    void setUp() {
+        resumeDocumentService = new ResumeDocumentServiceImpl();
+        ReflectionTestUtils.setField(resumeDocumentService, "maxSize", 10);
+        ReflectionTestUtils.setField(resumeDocumentService, "ttlSeconds", 60L);
+        resumeDocumentService.init();
+
+        testResume = new Resume();
+        testResume.setId(1);
+        testResume.setUpdateTime(LocalDateTime.of(2025, 9, 17, 1, 31, 44));
+        testResume.setContent("{\"skills\":[\"Java\",\"MySQL\"],"
+                + "\"education\":[{\"school\":\"复旦大学\",\"degree\":\"本科\"}],"
+                + "\"projectExperience\":[{\"name\":\"简历系统\",\"technologies\":\"Spring Boot, MyBatis\"}],"
+                + "\"personalInfo\":{\"name\":\"张三\",\"title\":\"Java开发工程师\"}}");
+    }
+
+    @Test
+    @DisplayName("测试解析简历内容")
+    void testParse() {
+        ResumeDocument document = resumeDocumentService.getDocument(testResume);
+
+        assertEquals("张三", document.getPersonalInfo().getName());
+        assertEquals("", document.getPersonalInfo().getPhone());
+        assertEquals("", document.getSummary());
+        assertEquals("复旦大学", document.getEducation().get(0).getSchool());
+        assertEquals("", document.getEducation().get(0).getMajor());
+        assertTrue(document.getWorkExperience().isEmpty());
+        assertEquals(Arrays.asList("Spring Boot", "MyBatis"), document.getProjectExperience().get(0).getTechnologies());
+        assertEquals(Arrays.asList("Java", "MySQL"), document.getSkills());
+    }
+
+    @Test
+    @DisplayName("测试同一版本只解析一次")
+    void testCachedByVersion() {
+        ResumeDocument first = resumeDocumentService.getDocument(testResume);
+        ResumeDocument second = resumeDocumentService.getDocument(testResume);
+        assertSame(first, second);
+
+        // 内容变化后重新解析
+        testResume.setContent("{\"personalInfo\":{\"name\":\"李四\"}}");
+        ResumeDocument third = resumeDocumentService.getDocument(testResume);
+        assertNotSame(first, third);
+        assertEquals("李四", third.getPersonalInfo().getName());
+    }
+
+    @Test
+    @DisplayName("测试失效缓存")
+    void testInvalidate() {
+        ResumeDocument first = resumeDocumentService.getDocument(testResume);
+        resumeDocumentService.invalidate(1);
+
+        assertNotSame(first, resumeDocumentService.getDocument(testResume));
+    }
+
+    @Test
+    @DisplayName("测试内容格式错误")
+    void testInvalidContent() {
+        testResume.setContent("not json");
+
+        assertThrows(BusinessException.class, () -> resumeDocumentService.getDocument(testResume));
+    }
+}
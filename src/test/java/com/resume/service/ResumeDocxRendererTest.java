@@ -0,0 +1,113 @@
+package com.resume.service;
+
+import com.resume.entity.Resume;
+import com.resume.service.impl.ResumeDocumentServiceImpl;
+import com.resume.service.impl.ResumeDocxRendererImpl;
+import org.apache.poi.xwpf.extractor.XWPFWordExtractor;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 简历DOCX渲染测试
+ */
+@DisplayName("简历DOCX渲染测试")
+class ResumeDocxRendererTest {
+
+    private ResumeDocxRendererImpl renderer;
+
+    private Resume testResume;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ResumeDocumentServiceImpl resumeDocumentService = new ResumeDocumentServiceImpl();
+        ReflectionTestUtils.setField(resumeDocumentService, "maxSize", 10);
+        ReflectionTestUtils.setField(resumeDocumentService, "ttlSeconds", 60L);
+        resumeDocumentService.init();
+        renderer = new ResumeDocxRendererImpl();
+        ReflectionTestUtils.setField(renderer, "resumeDocumentService", resumeDocumentService);
+        renderer.init();
+
+        testResume = new Resume();
+        testResume.setId(1);
+        testResume.setName("测试简历");
+        testResume.setContent("{\"skills\":[\"Java\",\"MySQL\"],\"summary\":\"五年Java开发经验\\n熟悉<分布式>&缓存\","
+                + "\"workExperience\":[{\"company\":\"某科技公司\",\"position\":\"后端开发\",\"description\":\"负责订单系统\\u0001\"}],"
+                + "\"projectExperience\":[{\"name\":\"简历系统\",\"role\":\"后端\",\"technologies\":\"Spring Boot, MyBatis\"}],"
+                + "\"personalInfo\":{\"name\":\"张三\",\"title\":\"Java开发工程师\",\"phone\":\"13800000001\"}}");
+    }
+
+    @Test
+    @DisplayName("测试渲染DOCX并可被POI重新读取")
+    void testRender() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        renderer.render(testResume, out);
+
+        try (XWPFDocument document = new XWPFDocument(new ByteArrayInputStream(out.toByteArray()));
+             XWPFWordExtractor extractor = new XWPFWordExtractor(document)) {
+            String text = extractor.getText();
+            assertEquals("张三", document.getParagraphs().get(0).getText());
+            assertTrue(text.contains("Java开发工程师"));
+            assertTrue(text.contains("熟悉<分布式>&缓存"));
+            assertTrue(text.contains("某科技公司 - 后端开发"));
+            assertTrue(text.contains("负责订单系统"));
+            assertTrue(text.contains("技术栈：Spring Boot, MyBatis"));
+            assertTrue(text.contains("Java、MySQL"));
+            assertFalse(text.contains("教育背景"));
+        }
+    }
+
+    @Test
+    @DisplayName("测试重复渲染结果一致")
+    void testRenderRepeatable() throws Exception {
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+
+        renderer.render(testResume, first);
+        renderer.render(testResume, second);
+
+        assertArrayEquals(first.toByteArray(), second.toByteArray());
+    }
+
+    @Test
+    @DisplayName("测试条目使用固定时间，重新初始化后结果不变")
+    void testRenderStableAcrossRestart() throws Exception {
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        renderer.render(testResume, first);
+
+        // 模拟重启：重新创建并初始化渲染器
+        ResumeDocxRendererImpl restarted = new ResumeDocxRendererImpl();
+        ReflectionTestUtils.setField(restarted, "resumeDocumentService",
+                ReflectionTestUtils.getField(renderer, "resumeDocumentService"));
+        restarted.init();
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        restarted.render(testResume, second);
+
+        assertArrayEquals(first.toByteArray(), second.toByteArray());
+        long expected = LocalDateTime.of(2000, 1, 1, 0, 0).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(first.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                assertEquals(expected, entry.getTime());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("测试生成导出文件名")
+    void testBuildFileName() {
+        assertEquals("张三-Java开发工程师.docx", renderer.buildFileName(testResume));
+    }
+}
@@ -0,0 +1,175 @@
+package com.resume.service;
+
+import com.alibaba.fastjson.JSON;
+import com.resume.entity.Resume;
+import com.resume.exception.BusinessException;
+import com.resume.exception.ConflictException;
+import com.resume.service.impl.ResumeDraftServiceImpl;
+import com.resume.vo.ResumeDraftVO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.concurrent.ScheduledFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 简历自动保存测试
+ */
+@DisplayName("简历自动保存测试")
+class ResumeDraftServiceTest {
+
+    private static final String CONTENT = "{\"personalInfo\":{\"name\":\"张三\",\"title\":\"Java开发\"},\"skills\":[\"Java\"]}";
+
+    @Mock
+    private ResumeService resumeService;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @Mock
+    private ScheduledFuture<Object> future;
+
+    @InjectMocks
+    private ResumeDraftServiceImpl resumeDraftService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(resumeDraftService, "flushDelayMs", 2000L);
+        ReflectionTestUtils.setField(resumeDraftService, "maxDelayMs", 10000L);
+        ReflectionTestUtils.setField(resumeDraftService, "maxDrafts", 100);
+        doReturn(future).when(taskScheduler).schedule(any(Runnable.class), any(Date.class));
+        when(resumeService.getResumeById(1)).thenAnswer(invocation -> resume());
+        when(resumeService.updateResume(any(Resume.class))).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("测试连续补丁合并为一次写入")
+    void testCoalescePatches() {
+        // 执行测试
+        resumeDraftService.patch(1, 2, "{\"personalInfo\":{\"title\":\"架构师\"}}", true);
+        ResumeDraftVO vo = resumeDraftService.patch(1, 2, "[{\"op\":\"add\",\"path\":\"/skills/-\",\"value\":\"Go\"}]", false);
+
+        // 验证结果：第二个补丁直接作用于草稿，只安排了一次定时写入
+        assertEquals(2, vo.getRevision());
+        assertFalse(vo.isSaved());
+        verify(resumeService, times(1)).getResumeById(1);
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Date.class));
+        verify(resumeService, never()).updateResume(any(Resume.class));
+
+        // 定时任务到期后写入一次
+        ReflectionTestUtils.setField(resumeDraftService, "flushDelayMs", 0L);
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).schedule(task.capture(), any(Date.class));
+        task.getValue().run();
+        ArgumentCaptor<Resume> captor = ArgumentCaptor.forClass(Resume.class);
+        verify(resumeService, times(1)).updateResume(captor.capture());
+        assertEquals(JSON.parseObject("{\"personalInfo\":{\"name\":\"张三\",\"title\":\"架构师\"},\"skills\":[\"Java\",\"Go\"]}"),
+                JSON.parseObject(captor.getValue().getContent()));
+    }
+
+    @Test
+    @DisplayName("测试合并窗口内有新补丁时推迟写入")
+    void testDebounce() {
+        resumeDraftService.patch(1, 2, "{\"summary\":\"简介\"}", true);
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).schedule(task.capture(), any(Date.class));
+
+        task.getValue().run();
+
+        verify(resumeService, never()).updateResume(any(Resume.class));
+        verify(taskScheduler, times(2)).schedule(any(Runnable.class), any(Date.class));
+    }
+
+    @Test
+    @DisplayName("测试导出前立即写入，丢弃后不再写入")
+    void testFlushAndDiscard() {
+        resumeDraftService.patch(1, 2, "{\"summary\":\"简介\"}", true);
+        Resume view = resumeDraftService.withDraft(resume());
+        assertEquals("简介", JSON.parseObject(view.getContent()).getString("summary"));
+
+        assertTrue(resumeDraftService.flush(1));
+        verify(resumeService, times(1)).updateResume(any(Resume.class));
+        verify(future).cancel(false);
+
+        resumeDraftService.patch(1, 2, "{\"summary\":\"新简介\"}", true);
+        resumeDraftService.discard(1);
+        assertTrue(resumeDraftService.flush(1));
+        verify(resumeService, times(1)).updateResume(any(Resume.class));
+    }
+
+    @Test
+    @DisplayName("测试写入时版本冲突，下一次补丁返回冲突")
+    void testFlushConflict() {
+        // 准备数据
+        when(resumeService.updateResume(any(Resume.class))).thenThrow(new ConflictException("简历已被修改", 6));
+        ResumeDraftVO vo = resumeDraftService.patch(1, 2, "{\"summary\":\"简介\"}", true);
+        assertEquals(5, vo.getVersion());
+
+        // 执行测试
+        assertFalse(resumeDraftService.flush(1));
+
+        // 验证结果：按第一个补丁时的版本校验，冲突的草稿不再展示，下一次补丁返回当前版本
+        ArgumentCaptor<Resume> captor = ArgumentCaptor.forClass(Resume.class);
+        verify(resumeService).updateResume(captor.capture());
+        assertEquals(5, captor.getValue().getVersion());
+        assertEquals(CONTENT, resumeDraftService.withDraft(resume()).getContent());
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> resumeDraftService.patch(1, 2, "{\"summary\":\"新简介\"}", true));
+        assertEquals(6, exception.getCurrentVersion());
+        // 客户端重新读取后可以继续自动保存
+        reset(resumeService);
+        when(resumeService.getResumeById(1)).thenAnswer(invocation -> resume());
+        assertEquals(1, resumeDraftService.patch(1, 2, "{\"summary\":\"新简介\"}", true).getRevision());
+    }
+
+    @Test
+    @DisplayName("测试冲突草稿超时后丢弃")
+    void testEvictConflict() {
+        // 准备数据
+        when(resumeService.updateResume(any(Resume.class))).thenThrow(new ConflictException("简历已被修改", 6));
+        resumeDraftService.patch(1, 2, "{\"summary\":\"简介\"}", true);
+        assertFalse(resumeDraftService.flush(1));
+
+        // 执行测试：运行冲突后安排的丢弃任务
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler, times(2)).schedule(task.capture(), any(Date.class));
+        task.getValue().run();
+
+        // 验证结果：不再返回冲突，重新读取数据库生成新草稿（第一次补丁、写入和本次补丁各读取一次）
+        assertEquals(1, resumeDraftService.patch(1, 2, "{\"summary\":\"新简介\"}", true).getRevision());
+        verify(resumeService, times(3)).getResumeById(1);
+    }
+
+    @Test
+    @DisplayName("测试无权修改和补丁错误时不产生草稿")
+    void testRejectPatch() {
+        assertThrows(BusinessException.class, () -> resumeDraftService.patch(1, 3, "{\"summary\":\"简介\"}", true));
+        assertThrows(BusinessException.class, () -> resumeDraftService.patch(1, 2, "[1", false));
+        assertThrows(BusinessException.class, () -> resumeDraftService.patch(1, 2, "[\"x\"]", true));
+
+        assertEquals(CONTENT, resumeDraftService.withDraft(resume()).getContent());
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Date.class));
+    }
+
+    private Resume resume() {
+        Resume resume = new Resume();
+        resume.setId(1);
+        resume.setUserId(2);
+        resume.setName("测试简历");
+        resume.setContent(CONTENT);
+        resume.setVersion(5);
+        return resume;
+    }
+}
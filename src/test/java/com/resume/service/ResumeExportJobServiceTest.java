@@ -0,0 +1,227 @@
+package com.resume.service;
+
+import com.resume.dto.BulkExportDTO;
+import com.resume.entity.Resume;
+import com.resume.exception.BusinessException;
+import com.resume.service.impl.ResumeExportJobServiceImpl;
+import com.resume.vo.ExportJobVO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * 简历批量导出任务服务测试
+ */
+@DisplayName("简历批量导出任务服务测试")
+class ResumeExportJobServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private ResumeService resumeService;
+
+    @Mock
+    private ResumePdfCache resumePdfCache;
+
+    @Mock
+    private ResumePdfRenderer resumePdfRenderer;
+
+    @InjectMocks
+    private ResumeExportJobServiceImpl resumeExportJobService;
+
+    private ThreadPoolTaskExecutor jobExecutor;
+
+    private ThreadPoolTaskExecutor workerExecutor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        jobExecutor = executor(1);
+        workerExecutor = executor(2);
+        ReflectionTestUtils.setField(resumeExportJobService, "exportJobExecutor", jobExecutor);
+        ReflectionTestUtils.setField(resumeExportJobService, "exportWorkerExecutor", workerExecutor);
+        ReflectionTestUtils.setField(resumeExportJobService, "exportPath", tempDir.resolve("exports").toString());
+        ReflectionTestUtils.setField(resumeExportJobService, "maxResumes", 10);
+        ReflectionTestUtils.setField(resumeExportJobService, "retentionHours", 24L);
+        resumeExportJobService.init();
+
+        Path pdf = Files.write(tempDir.resolve("cached.pdf"), "%PDF-1.4".getBytes());
+        when(resumeService.getById(anyInt())).thenAnswer(invocation -> {
+            Integer id = invocation.getArgument(0);
+            if (id == 3) {
+                return null;
+            }
+            Resume resume = new Resume();
+            resume.setId(id);
+            return resume;
+        });
+        when(resumePdfCache.getOrRender(any(Resume.class))).thenReturn(pdf);
+        when(resumePdfRenderer.buildFileName(any(Resume.class))).thenReturn("张三-Java开发工程师.pdf");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobExecutor.shutdown();
+        workerExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("测试批量导出生成ZIP文件")
+    void testSubmitAndComplete() throws Exception {
+        // 准备数据
+        BulkExportDTO filter = new BulkExportDTO();
+        filter.setIds(Arrays.asList(1, 2, 2));
+        when(resumeService.getResumeIdsByUsername("testuser")).thenReturn(Arrays.asList(2, 3));
+        filter.setUsername("testuser");
+
+        // 执行测试
+        ExportJobVO submitted = resumeExportJobService.submit(filter);
+        ExportJobVO job = await(submitted.getJobId());
+
+        // 验证结果：ID去重后共3份，其中ID为3的简历不存在
+        assertEquals("COMPLETED", job.getStatus());
+        assertEquals(3, job.getTotal());
+        assertEquals(2, job.getCompleted());
+        assertEquals(1, job.getFailed());
+        assertEquals("/api/admin/resume/export/jobs/" + job.getJobId() + "/download", job.getFileUrl());
+
+        Path zip = resumeExportJobService.getFile(job.getJobId());
+        assertTrue(zip.startsWith(tempDir.resolve("exports")));
+        assertEquals("resume-export-" + job.getJobId() + ".zip", zip.getFileName().toString());
+        assertEquals(Files.size(zip), job.getFileSize().longValue());
+        List<String> entries = new ArrayList<>();
+        try (ZipInputStream in = new ZipInputStream(Files.newInputStream(zip))) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                entries.add(entry.getName());
+            }
+        }
+        Collections.sort(entries);
+        assertEquals(Arrays.asList("1-张三-Java开发工程师.pdf", "2-张三-Java开发工程师.pdf"), entries);
+    }
+
+    @Test
+    @DisplayName("测试取消运行中的任务时中断在途的渲染")
+    void testCancelRunning() throws Exception {
+        // 准备数据：渲染一直阻塞到被中断，等两个工作线程都开始渲染后再取消
+        CountDownLatch started = new CountDownLatch(2);
+        AtomicInteger interrupted = new AtomicInteger();
+        when(resumePdfCache.getOrRender(any(Resume.class))).thenAnswer(invocation -> {
+            started.countDown();
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                interrupted.incrementAndGet();
+                throw e;
+            }
+            return null;
+        });
+        BulkExportDTO filter = new BulkExportDTO();
+        filter.setIds(Arrays.asList(1, 2, 4, 5));
+        ExportJobVO submitted = resumeExportJobService.submit(filter);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // 执行测试
+        assertTrue(resumeExportJobService.cancel(submitted.getJobId()));
+        ExportJobVO job = await(submitted.getJobId());
+
+        // 验证结果：两个工作线程上的渲染都被中断
+        assertEquals("CANCELLED", job.getStatus());
+        assertEquals(0, job.getCompleted());
+        assertNull(resumeExportJobService.getFile(job.getJobId()));
+        for (int i = 0; i < 100 && interrupted.get() < 2; i++) {
+            Thread.sleep(50);
+        }
+        assertEquals(2, interrupted.get());
+    }
+
+    @Test
+    @DisplayName("测试定时清理删除超过保留时间的导出文件")
+    void testSweepExpired() throws Exception {
+        // 准备数据
+        Path dir = Files.createDirectories(tempDir.resolve("exports").resolve("2020/01/01"));
+        Path expired = Files.write(dir.resolve("resume-export-old.zip"), new byte[1]);
+        Files.setLastModifiedTime(expired, FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(25)));
+        Path recent = Files.write(dir.resolve("resume-export-new.zip"), new byte[1]);
+
+        // 执行测试
+        resumeExportJobService.sweepExpired();
+
+        // 验证结果
+        assertFalse(Files.exists(expired));
+        assertTrue(Files.exists(recent));
+    }
+
+    @Test
+    @DisplayName("测试筛选结果为空时拒绝提交")
+    void testSubmitEmpty() {
+        when(resumeService.getResumeIdsByUsername("nobody")).thenReturn(Collections.emptyList());
+        BulkExportDTO filter = new BulkExportDTO();
+        filter.setUsername("nobody");
+
+        assertThrows(BusinessException.class, () -> resumeExportJobService.submit(filter));
+    }
+
+    @Test
+    @DisplayName("测试超过单次导出上限时拒绝提交")
+    void testSubmitTooMany() {
+        BulkExportDTO filter = new BulkExportDTO();
+        filter.setIds(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11));
+
+        assertThrows(BusinessException.class, () -> resumeExportJobService.submit(filter));
+    }
+
+    @Test
+    @DisplayName("测试取消不存在的任务")
+    void testCancelUnknown() {
+        assertFalse(resumeExportJobService.cancel("unknown"));
+        assertNull(resumeExportJobService.getJob("unknown"));
+        assertNull(resumeExportJobService.getFile("unknown"));
+    }
+
+    private ExportJobVO await(String jobId) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            ExportJobVO job = resumeExportJobService.getJob(jobId);
+            if (job.getFinishTime() != null) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+        fail("导出任务未在预期时间内完成");
+        return null;
+    }
+
+    private ThreadPoolTaskExecutor executor(int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.initialize();
+        return executor;
+    }
+}
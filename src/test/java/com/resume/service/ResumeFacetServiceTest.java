@@ -0,0 +1,132 @@
+package com.resume.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.resume.entity.Resume;
+import com.resume.mapper.ResumeMapper;
+import com.resume.service.impl.ResumeDocumentServiceImpl;
+import com.resume.service.impl.ResumeFacetServiceImpl;
+import com.resume.vo.FacetCount;
+import com.resume.vo.ResumeFacetVO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 简历分面统计测试
+ */
+@DisplayName("简历分面统计测试")
+class ResumeFacetServiceTest {
+
+    @Mock
+    private ResumeMapper resumeMapper;
+
+    private ResumeFacetServiceImpl resumeFacetService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ResumeDocumentServiceImpl resumeDocumentService = new ResumeDocumentServiceImpl();
+        ReflectionTestUtils.setField(resumeDocumentService, "maxSize", 10);
+        ReflectionTestUtils.setField(resumeDocumentService, "ttlSeconds", 60L);
+        resumeDocumentService.init();
+
+        resumeFacetService = new ResumeFacetServiceImpl();
+        ReflectionTestUtils.setField(resumeFacetService, "resumeMapper", resumeMapper);
+        ReflectionTestUtils.setField(resumeFacetService, "resumeDocumentService", resumeDocumentService);
+        ReflectionTestUtils.setField(resumeFacetService, "facetRebuildExecutor", new SyncTaskExecutor());
+        ReflectionTestUtils.setField(resumeFacetService, "batchSize", 2);
+    }
+
+    @Test
+    @DisplayName("测试增量更新后的统计")
+    void testIncrementalCounts() {
+        // 准备数据
+        resumeFacetService.index(resume(1, "[\"Java\",\"MySQL\"]", "复旦大学", "本科", "上海"));
+        resumeFacetService.index(resume(2, "[\"Java\"]", "浙江大学", "硕士", "杭州"));
+        resumeFacetService.index(resume(3, "[\"Go\"]", "复旦大学", "硕士", "上海"));
+
+        // 执行测试
+        ResumeFacetVO all = resumeFacetService.getFacets(null, 20);
+
+        // 验证结果
+        assertEquals(3, all.getTotal());
+        assertEquals(new FacetCount("Java", 2), all.getFacets().get(ResumeFacetService.SKILL).get(0));
+        assertEquals(new FacetCount("复旦大学", 2), all.getFacets().get(ResumeFacetService.SCHOOL).get(0));
+
+        // 更新和删除后计数同步变化
+        resumeFacetService.index(resume(1, "[\"Go\"]", "复旦大学", "本科", "上海"));
+        resumeFacetService.remove(2);
+        ResumeFacetVO updated = resumeFacetService.getFacets(Collections.emptyMap(), 20);
+        assertEquals(2, updated.getTotal());
+        assertEquals(Collections.singletonList(new FacetCount("Go", 2)),
+                updated.getFacets().get(ResumeFacetService.SKILL));
+    }
+
+    @Test
+    @DisplayName("测试按条件筛选统计")
+    void testFilteredCounts() {
+        resumeFacetService.index(resume(1, "[\"Java\",\"MySQL\"]", "复旦大学", "本科", "上海"));
+        resumeFacetService.index(resume(2, "[\"Java\"]", "浙江大学", "硕士", "杭州"));
+        resumeFacetService.index(resume(3, "[\"Go\"]", "复旦大学", "硕士", "上海"));
+        Map<String, String> filters = new HashMap<>();
+        filters.put(ResumeFacetService.LOCATION, "上海");
+        filters.put(ResumeFacetService.DEGREE, "");
+
+        ResumeFacetVO result = resumeFacetService.getFacets(filters, 1);
+
+        assertEquals(2, result.getTotal());
+        List<FacetCount> skills = result.getFacets().get(ResumeFacetService.SKILL);
+        // 数量相同时按取值排序，并只返回前limit个
+        assertEquals(Collections.singletonList(new FacetCount("Go", 1)), skills);
+        assertEquals(Arrays.asList(new FacetCount("本科", 1)), result.getFacets().get(ResumeFacetService.DEGREE));
+    }
+
+    @Test
+    @DisplayName("测试分批重建")
+    @SuppressWarnings("unchecked")
+    void testRebuild() {
+        // 准备数据
+        Map<String, Object> bounds = new HashMap<>();
+        bounds.put("min_id", 1);
+        bounds.put("max_id", 3);
+        when(resumeMapper.selectMaps(any(QueryWrapper.class))).thenReturn(Collections.singletonList(bounds));
+        when(resumeMapper.selectList(any(QueryWrapper.class))).thenReturn(
+                Arrays.asList(resume(1, "[\"Java\"]", "复旦大学", "本科", "上海"), resume(2, "[\"Java\"]", "浙江大学", "硕士", "杭州")),
+                Collections.singletonList(resume(3, "[\"Go\"]", "复旦大学", "硕士", "上海")));
+        resumeFacetService.index(resume(9, "[\"Rust\"]", "南京大学", "本科", "南京"));
+
+        // 执行测试
+        assertFalse(resumeFacetService.getFacets(null, 20).isReady());
+        resumeFacetService.rebuild();
+
+        // 验证结果：共3条，分2批查询，重建前的旧数据被替换
+        ResumeFacetVO result = resumeFacetService.getFacets(null, 20);
+        assertTrue(result.isReady());
+        assertEquals(3, result.getTotal());
+        assertEquals(new FacetCount("Java", 2), result.getFacets().get(ResumeFacetService.SKILL).get(0));
+        verify(resumeMapper, times(2)).selectList(any(QueryWrapper.class));
+    }
+
+    private Resume resume(Integer id, String skills, String school, String degree, String location) {
+        Resume resume = new Resume();
+        resume.setId(id);
+        resume.setContent("{\"skills\":" + skills
+                + ",\"education\":[{\"school\":\"" + school + "\",\"degree\":\"" + degree + "\"}]"
+                + ",\"personalInfo\":{\"location\":\"" + location + "\"}}");
+        return resume;
+    }
+}
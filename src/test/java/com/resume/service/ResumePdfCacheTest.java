@@ -0,0 +1,130 @@
+package com.resume.service;
+
+import com.resume.entity.Resume;
+import com.resume.service.impl.ResumePdfCacheImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.StreamUtils;
+
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 简历PDF渲染缓存测试
+ */
+@DisplayName("简历PDF渲染缓存测试")
+class ResumePdfCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private ResumePdfRenderer resumePdfRenderer;
+
+    @InjectMocks
+    private ResumePdfCacheImpl resumePdfCache;
+
+    private Resume testResume;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(resumePdfCache, "cachePath", tempDir.resolve("cache").toString());
+        ReflectionTestUtils.setField(resumePdfCache, "maxBytes", 1024L);
+        resumePdfCache.init();
+
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write(new byte[400]);
+            return null;
+        }).when(resumePdfRenderer).render(any(Resume.class), any(OutputStream.class));
+
+        testResume = resume(1, "{\"personalInfo\":{\"name\":\"张三\"}}");
+    }
+
+    @Test
+    @DisplayName("测试命中缓存时不重复渲染")
+    void testCacheHit() throws Exception {
+        Path first = resumePdfCache.getOrRender(testResume);
+        Path second = resumePdfCache.getOrRender(testResume);
+
+        assertEquals(first, second);
+        assertTrue(Files.exists(first));
+        verify(resumePdfRenderer, times(1)).render(any(Resume.class), any(OutputStream.class));
+    }
+
+    @Test
+    @DisplayName("测试内容变化后摘要变化")
+    void testFingerprintChanges() {
+        String before = resumePdfCache.fingerprint(testResume);
+        testResume.setContent("{\"personalInfo\":{\"name\":\"李四\"}}");
+
+        assertNotEquals(before, resumePdfCache.fingerprint(testResume));
+    }
+
+    @Test
+    @DisplayName("测试失效后删除缓存文件")
+    void testInvalidate() throws Exception {
+        Path file = resumePdfCache.getOrRender(testResume);
+
+        resumePdfCache.invalidate(1);
+
+        assertFalse(Files.exists(file));
+        resumePdfCache.getOrRender(testResume);
+        verify(resumePdfRenderer, times(2)).render(any(Resume.class), any(OutputStream.class));
+    }
+
+    @Test
+    @DisplayName("测试缓存文件不在OSS目录下")
+    void testCacheOutsideOss() throws Exception {
+        Path file = resumePdfCache.getOrRender(testResume);
+
+        assertTrue(file.startsWith(tempDir.resolve("cache").toAbsolutePath()));
+    }
+
+    @Test
+    @DisplayName("测试已打开的文件在失效后仍可完整读取")
+    void testOpenSurvivesInvalidate() throws Exception {
+        try (FileChannel channel = resumePdfCache.openOrRender(testResume)) {
+            resumePdfCache.invalidate(1);
+
+            assertEquals(400, channel.size());
+            assertEquals(400, StreamUtils.copyToByteArray(Channels.newInputStream(channel)).length);
+        }
+    }
+
+    @Test
+    @DisplayName("测试超过容量时淘汰最久未使用的文件")
+    void testEviction() throws Exception {
+        Path first = resumePdfCache.getOrRender(resume(1, "{}"));
+        Path second = resumePdfCache.getOrRender(resume(2, "{}"));
+        // 访问第一个，使第二个成为最久未使用
+        resumePdfCache.getOrRender(resume(1, "{}"));
+        Path third = resumePdfCache.getOrRender(resume(3, "{}"));
+
+        assertTrue(Files.exists(first));
+        assertFalse(Files.exists(second));
+        assertTrue(Files.exists(third));
+    }
+
+    private Resume resume(Integer id, String content) {
+        Resume resume = new Resume();
+        resume.setId(id);
+        resume.setContent(content);
+        resume.setThemeId(1);
+        return resume;
+    }
+}
@@ -0,0 +1,72 @@
+package com.resume.service;
+
+import com.resume.entity.Resume;
+import com.resume.service.impl.ResumeDocumentServiceImpl;
+import com.resume.service.impl.ResumePdfRendererImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 简历PDF渲染测试
+ */
+@DisplayName("简历PDF渲染测试")
+class ResumePdfRendererTest {
+
+    private ResumePdfRendererImpl renderer;
+
+    private Resume testResume;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ResumeDocumentServiceImpl resumeDocumentService = new ResumeDocumentServiceImpl();
+        ReflectionTestUtils.setField(resumeDocumentService, "maxSize", 10);
+        ReflectionTestUtils.setField(resumeDocumentService, "ttlSeconds", 60L);
+        resumeDocumentService.init();
+        renderer = new ResumePdfRendererImpl();
+        ReflectionTestUtils.setField(renderer, "resumeDocumentService", resumeDocumentService);
+        renderer.init();
+
+        testResume = new Resume();
+        testResume.setId(1);
+        testResume.setName("测试简历");
+        testResume.setContent("{\"skills\":[\"Java\",\"MySQL\"],\"summary\":\"五年Java开发经验\","
+                + "\"education\":[{\"major\":\"软件工程\",\"degree\":\"本科\",\"school\":\"复旦大学\",\"endDate\":\"2016-06\",\"startDate\":\"2012-09\"}],"
+                + "\"projectExperience\":[{\"name\":\"简历系统\",\"role\":\"后端\",\"technologies\":[\"Spring Boot\",\"MyBatis\"]}],"
+                + "\"personalInfo\":{\"name\":\"张三\",\"title\":\"Java开发工程师\",\"phone\":\"13800000001\"}}");
+    }
+
+    @Test
+    @DisplayName("测试渲染PDF")
+    void testRender() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        renderer.render(testResume, out);
+
+        byte[] bytes = out.toByteArray();
+        assertTrue(bytes.length > 0);
+        assertEquals("%PDF", new String(bytes, 0, 4, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    @DisplayName("测试缺少部分字段时渲染PDF")
+    void testRenderPartialContent() throws Exception {
+        testResume.setContent("{\"personalInfo\":{\"name\":\"张三\"}}");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertDoesNotThrow(() -> renderer.render(testResume, out));
+        assertTrue(out.size() > 0);
+    }
+
+    @Test
+    @DisplayName("测试生成导出文件名")
+    void testBuildFileName() {
+        assertEquals("张三-Java开发工程师.pdf", renderer.buildFileName(testResume));
+    }
+}
@@ -0,0 +1,182 @@
+package com.resume.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.resume.entity.Resume;
+import com.resume.exception.BusinessException;
+import com.resume.mapper.ResumeMapper;
+import com.resume.service.impl.ResumeDocumentServiceImpl;
+import com.resume.service.impl.ResumeSearchServiceImpl;
+import com.resume.vo.ResumeSearchHit;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 简历全文检索测试
+ */
+@DisplayName("简历全文检索测试")
+class ResumeSearchServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private ResumeMapper resumeMapper;
+
+    private ResumeSearchServiceImpl resumeSearchService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        ResumeDocumentServiceImpl resumeDocumentService = new ResumeDocumentServiceImpl();
+        ReflectionTestUtils.setField(resumeDocumentService, "maxSize", 10);
+        ReflectionTestUtils.setField(resumeDocumentService, "ttlSeconds", 60L);
+        resumeDocumentService.init();
+
+        resumeSearchService = new ResumeSearchServiceImpl();
+        ReflectionTestUtils.setField(resumeSearchService, "resumeMapper", resumeMapper);
+        ReflectionTestUtils.setField(resumeSearchService, "resumeDocumentService", resumeDocumentService);
+        ReflectionTestUtils.setField(resumeSearchService, "indexPath", tempDir.toString());
+        ReflectionTestUtils.setField(resumeSearchService, "commitIntervalSeconds", 60L);
+        ReflectionTestUtils.setField(resumeSearchService, "rebuildOnStartup", false);
+        resumeSearchService.init();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        resumeSearchService.destroy();
+    }
+
+    @Test
+    @DisplayName("测试按中文和英文关键词检索")
+    void testSearch() {
+        // 准备数据
+        resumeSearchService.index(resume(1, "张三", "{\"skills\":[\"Java\",\"MySQL\"],"
+                + "\"education\":[{\"school\":\"复旦大学\",\"major\":\"软件工程\"}],"
+                + "\"personalInfo\":{\"name\":\"张三\",\"title\":\"后端开发工程师\"}}"));
+        resumeSearchService.index(resume(2, "李四", "{\"skills\":[\"Python\"],"
+                + "\"workExperience\":[{\"company\":\"阿里巴巴\",\"position\":\"算法工程师\"}],"
+                + "\"projectExperience\":[{\"name\":\"推荐系统\",\"technologies\":\"Spark, Java\"}],"
+                + "\"personalInfo\":{\"name\":\"李四\"}}"));
+
+        // 执行测试
+        Page<ResumeSearchHit> java = resumeSearchService.search("java", 1, 10);
+        Page<ResumeSearchHit> school = resumeSearchService.search("复旦", 1, 10);
+        Page<ResumeSearchHit> company = resumeSearchService.search("阿里巴巴 Python", 1, 10);
+
+        // 验证结果
+        assertEquals(2, java.getTotal());
+        // 技能字段权重高于项目技术栈
+        assertEquals(1, java.getRecords().get(0).getId());
+        assertEquals(1, school.getTotal());
+        assertEquals("张三", school.getRecords().get(0).getCandidateName());
+        assertEquals("后端开发工程师", school.getRecords().get(0).getTitle());
+        assertEquals(1, company.getTotal());
+        assertEquals(2, company.getRecords().get(0).getId());
+        assertEquals(100, company.getRecords().get(0).getUserId());
+    }
+
+    @Test
+    @DisplayName("测试更新和删除后索引同步")
+    void testUpdateAndRemove() {
+        resumeSearchService.index(resume(1, "张三", "{\"skills\":[\"Java\"]}"));
+        assertEquals(1, resumeSearchService.search("Java", 1, 10).getTotal());
+
+        resumeSearchService.index(resume(1, "张三", "{\"skills\":[\"Go\"]}"));
+        assertEquals(0, resumeSearchService.search("Java", 1, 10).getTotal());
+        assertEquals(1, resumeSearchService.search("Go", 1, 10).getTotal());
+
+        resumeSearchService.remove(1);
+        assertEquals(0, resumeSearchService.search("Go", 1, 10).getTotal());
+    }
+
+    @Test
+    @DisplayName("测试分页和特殊字符")
+    void testPagingAndEscape() {
+        for (int i = 1; i <= 5; i++) {
+            resumeSearchService.index(resume(i, "简历" + i, "{\"skills\":[\"C++\"]}"));
+        }
+
+        Page<ResumeSearchHit> page = resumeSearchService.search("C++", 2, 2);
+
+        assertEquals(5, page.getTotal());
+        assertEquals(2, page.getRecords().size());
+        assertThrows(BusinessException.class, () -> resumeSearchService.search(" ", 1, 10));
+        assertThrows(BusinessException.class, () -> resumeSearchService.search("Java", 11, 100));
+    }
+
+    @Test
+    @DisplayName("测试重建索引时清理已删除的简历")
+    @SuppressWarnings("unchecked")
+    void testRebuild() throws Exception {
+        // 准备数据：索引中有简历1，数据库中只有简历2
+        resumeSearchService.index(resume(1, "张三", "{\"skills\":[\"Java\"]}"));
+        doAnswer(invocation -> {
+            ResultHandler<Resume> handler = invocation.getArgument(1);
+            ResultContext<Resume> context = mock(ResultContext.class);
+            when(context.getResultObject()).thenReturn(resume(2, "李四", "{\"skills\":[\"Java\"]}"));
+            handler.handleResult(context);
+            return null;
+        }).when(resumeMapper).streamResumes(any(QueryWrapper.class), any(ResultHandler.class));
+
+        // 执行测试
+        ReflectionTestUtils.invokeMethod(resumeSearchService, "rebuild");
+
+        // 验证结果
+        Page<ResumeSearchHit> page = resumeSearchService.search("Java", 1, 10);
+        assertEquals(1, page.getTotal());
+        assertEquals(2, page.getRecords().get(0).getId());
+    }
+
+    @Test
+    @DisplayName("测试重建期间的增量更新和删除不被旧数据覆盖")
+    @SuppressWarnings("unchecked")
+    void testRebuildKeepsConcurrentChanges() throws Exception {
+        // 准备数据：流式读取简历1、2之前，简历1被删除，简历2被更新
+        resumeSearchService.index(resume(1, "张三", "{\"skills\":[\"Java\"]}"));
+        resumeSearchService.index(resume(2, "李四", "{\"skills\":[\"Java\"]}"));
+        doAnswer(invocation -> {
+            resumeSearchService.remove(1);
+            resumeSearchService.index(resume(2, "李四", "{\"skills\":[\"Go\"]}"));
+            ResultHandler<Resume> handler = invocation.getArgument(1);
+            for (Resume stale : new Resume[]{resume(1, "张三", "{\"skills\":[\"Java\"]}"), resume(2, "李四", "{\"skills\":[\"Java\"]}")}) {
+                ResultContext<Resume> context = mock(ResultContext.class);
+                when(context.getResultObject()).thenReturn(stale);
+                handler.handleResult(context);
+            }
+            return null;
+        }).when(resumeMapper).streamResumes(any(QueryWrapper.class), any(ResultHandler.class));
+
+        // 执行测试
+        ReflectionTestUtils.invokeMethod(resumeSearchService, "rebuild");
+
+        // 验证结果
+        assertEquals(0, resumeSearchService.search("Java", 1, 10).getTotal());
+        Page<ResumeSearchHit> page = resumeSearchService.search("Go", 1, 10);
+        assertEquals(1, page.getTotal());
+        assertEquals(2, page.getRecords().get(0).getId());
+    }
+
+    private Resume resume(Integer id, String name, String content) {
+        Resume resume = new Resume();
+        resume.setId(id);
+        resume.setUserId(id * 50);
+        resume.setName(name);
+        resume.setContent(content);
+        return resume;
+    }
+}
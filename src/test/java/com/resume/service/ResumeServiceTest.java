@@ -4,16 +4,28 @@ import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.resume.entity.Resume;
 import com.resume.entity.User;
+import com.resume.exception.BusinessException;
+import com.resume.exception.ConflictException;
 import com.resume.mapper.ResumeMapper;
 import com.resume.mapper.UserMapper;
 import com.resume.service.impl.ResumeServiceImpl;
+import com.resume.util.CursorCodec;
+import com.resume.util.ResumeFields;
+import com.resume.vo.CursorPage;
+import com.resume.vo.ResumeSummary;
+import com.resume.vo.ResumeVersionVO;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -33,6 +45,21 @@ class ResumeServiceTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private ResumePdfCache resumePdfCache;
+
+    @Mock
+    private ResumeDocumentService resumeDocumentService;
+
+    @Mock
+    private ResumeSearchService resumeSearchService;
+
+    @Mock
+    private ResumeFacetService resumeFacetService;
+
+    @Mock
+    private ResumeVersionService resumeVersionService;
+
     @InjectMocks
     private ResumeServiceImpl resumeService;
 
@@ -141,6 +168,8 @@ class ResumeServiceTest {
         // 验证结果
         assertTrue(result);
         verify(resumeMapper).insert(testResume);
+        verify(resumeSearchService).index(testResume);
+        verify(resumeFacetService).index(testResume);
     }
 
     @Test
@@ -155,6 +184,7 @@ class ResumeServiceTest {
         // 验证结果
         assertFalse(result);
         verify(resumeMapper).insert(testResume);
+        verify(resumeSearchService, never()).index(any());
     }
 
     @Test
@@ -169,6 +199,75 @@ class ResumeServiceTest {
         // 验证结果
         assertTrue(result);
         verify(resumeMapper).updateById(testResume);
+        verify(resumePdfCache).invalidate(1);
+        verify(resumeDocumentService).invalidate(1);
+        verify(resumeSearchService).index(testResume);
+        verify(resumeFacetService).index(testResume);
+        verify(resumeVersionService).record(testResume);
+    }
+
+    @Test
+    @DisplayName("测试更新简历 - 版本冲突")
+    void testUpdateResumeConflict() {
+        // 准备数据
+        testResume.setVersion(2);
+        Resume current = new Resume();
+        current.setId(1);
+        current.setVersion(3);
+        when(resumeMapper.updateById(any(Resume.class))).thenReturn(0);
+        when(resumeMapper.selectById(1)).thenReturn(current);
+
+        // 执行测试
+        ConflictException exception = assertThrows(ConflictException.class, () -> resumeService.updateResume(testResume));
+
+        // 验证结果：返回当前版本号，不刷新缓存和索引
+        assertEquals(3, exception.getCurrentVersion());
+        verify(resumePdfCache, never()).invalidate(anyInt());
+        verify(resumeVersionService, never()).record(any(Resume.class));
+    }
+
+    @Test
+    @DisplayName("测试更新简历 - 带版本号但简历已删除")
+    void testUpdateResumeDeletedWithVersion() {
+        testResume.setVersion(2);
+        when(resumeMapper.updateById(any(Resume.class))).thenReturn(0);
+        when(resumeMapper.selectById(1)).thenReturn(null);
+
+        assertFalse(resumeService.updateResume(testResume));
+    }
+
+    @Test
+    @DisplayName("测试回滚到历史版本")
+    void testRollbackResume() {
+        // 准备数据
+        ResumeVersionVO version = new ResumeVersionVO();
+        version.setName("旧简历");
+        version.setContent("{\"personalInfo\":{\"name\":\"李四\"}}");
+        version.setThemeId(2);
+        when(resumeMapper.selectById(1)).thenReturn(testResume);
+        when(resumeVersionService.getVersion(1, 3)).thenReturn(version);
+        when(resumeMapper.updateById(any(Resume.class))).thenReturn(1);
+
+        // 执行测试
+        Resume result = resumeService.rollbackResume(1, 3);
+
+        // 验证结果：回滚作为一次普通更新写入，并记录为新版本
+        assertNotNull(result);
+        assertEquals("旧简历", result.getName());
+        assertEquals(version.getContent(), result.getContent());
+        assertEquals(2, result.getThemeId());
+        verify(resumeVersionService).record(testResume);
+        verify(resumePdfCache).invalidate(1);
+    }
+
+    @Test
+    @DisplayName("测试回滚到历史版本 - 版本不存在")
+    void testRollbackResumeVersionNotFound() {
+        when(resumeMapper.selectById(1)).thenReturn(testResume);
+        when(resumeVersionService.getVersion(1, 99)).thenReturn(null);
+
+        assertNull(resumeService.rollbackResume(1, 99));
+        verify(resumeMapper, never()).updateById(any(Resume.class));
     }
 
     @Test
@@ -197,6 +296,10 @@ class ResumeServiceTest {
         // 验证结果
         assertTrue(result);
         verify(resumeMapper).deleteById(1);
+        verify(resumePdfCache).invalidate(1);
+        verify(resumeDocumentService).invalidate(1);
+        verify(resumeSearchService).remove(1);
+        verify(resumeFacetService).remove(1);
     }
 
     @Test
@@ -327,4 +430,140 @@ class ResumeServiceTest {
         verify(userMapper, never()).selectOne(any(QueryWrapper.class));
         verify(resumeMapper).selectPage(any(Page.class), any(QueryWrapper.class));
     }
+
+    @Test
+    @DisplayName("测试游标分页 - 有下一页时返回游标且不统计总数")
+    void testGetResumeListByCursorHasMore() {
+        // 准备数据
+        Resume second = new Resume();
+        second.setId(2);
+        second.setCreateTime(LocalDateTime.of(2025, 9, 16, 0, 56, 40));
+        Resume third = new Resume();
+        third.setId(1);
+        third.setCreateTime(LocalDateTime.of(2025, 9, 15, 0, 0, 0));
+        when(resumeMapper.selectList(any(QueryWrapper.class))).thenReturn(new ArrayList<>(Arrays.asList(second, third)));
+
+        // 执行测试
+        CursorPage<Resume> result = resumeService.getResumeListByCursor(null, 1, null, false);
+
+        // 验证结果
+        assertEquals(1, result.getRecords().size());
+        assertTrue(result.isHasMore());
+        assertNull(result.getTotal());
+        CursorCodec.Position position = CursorCodec.decode(result.getNextCursor());
+        assertEquals(2, position.getId());
+        assertEquals(second.getCreateTime(), position.getCreateTime());
+        verify(resumeMapper, never()).selectCount(any(QueryWrapper.class));
+    }
+
+    @Test
+    @DisplayName("测试游标分页 - 最后一页并统计总数")
+    void testGetResumeListByCursorLastPageWithTotal() {
+        // 准备数据
+        when(userMapper.selectOne(any(QueryWrapper.class))).thenReturn(testUser);
+        when(resumeMapper.selectCount(any(QueryWrapper.class))).thenReturn(1L);
+        when(resumeMapper.selectList(any(QueryWrapper.class))).thenReturn(new ArrayList<>(Arrays.asList(testResume)));
+        String cursor = CursorCodec.encode(LocalDateTime.of(2025, 9, 16, 0, 56, 40), 5);
+
+        // 执行测试
+        CursorPage<Resume> result = resumeService.getResumeListByCursor(cursor, 10, "testuser", true);
+
+        // 验证结果
+        assertEquals(1, result.getRecords().size());
+        assertFalse(result.isHasMore());
+        assertNull(result.getNextCursor());
+        assertEquals(1L, result.getTotal());
+    }
+
+    @Test
+    @DisplayName("测试游标分页 - 无效游标")
+    void testGetResumeListByCursorInvalid() {
+        assertThrows(BusinessException.class, () -> resumeService.getResumeListByCursor("%%%", 10, null, false));
+        verify(resumeMapper, never()).selectList(any(QueryWrapper.class));
+    }
+
+    @Test
+    @DisplayName("测试流式遍历简历 - 只查询指定字段")
+    @SuppressWarnings("unchecked")
+    void testStreamAllResumes() {
+        // 准备数据
+        doAnswer(invocation -> {
+            ResultHandler<Resume> handler = invocation.getArgument(1);
+            ResultContext<Resume> context = mock(ResultContext.class);
+            when(context.getResultObject()).thenReturn(testResume);
+            handler.handleResult(context);
+            handler.handleResult(context);
+            return null;
+        }).when(resumeMapper).streamResumes(any(QueryWrapper.class), any(ResultHandler.class));
+        List<Resume> received = new ArrayList<>();
+
+        // 执行测试
+        resumeService.streamAllResumes(ResumeFields.parse("id,name"), received::add);
+
+        // 验证结果
+        assertEquals(2, received.size());
+        ArgumentCaptor<QueryWrapper> captor = ArgumentCaptor.forClass(QueryWrapper.class);
+        verify(resumeMapper).streamResumes(captor.capture(), any(ResultHandler.class));
+        assertEquals("id,name", captor.getValue().getSqlSelect());
+        verify(resumeMapper, never()).selectList(any(QueryWrapper.class));
+    }
+
+    @Test
+    @DisplayName("测试字段投影 - 不支持的字段")
+    void testParseUnknownField() {
+        assertEquals(ResumeFields.ALL, ResumeFields.parse(null));
+        assertThrows(BusinessException.class, () -> ResumeFields.parse("id,password"));
+    }
+
+    @Test
+    @DisplayName("测试分页查询简历摘要")
+    void testGetResumeSummaryList() {
+        // 准备数据
+        ResumeSummary summary = new ResumeSummary();
+        summary.setId(1);
+        summary.setName("测试简历");
+        when(userMapper.selectOne(any(QueryWrapper.class))).thenReturn(testUser);
+        when(resumeMapper.selectSummaryPage(any(Page.class), any(QueryWrapper.class))).thenAnswer(invocation -> {
+            Page<ResumeSummary> page = invocation.getArgument(0);
+            page.setRecords(Arrays.asList(summary));
+            return page;
+        });
+
+        // 执行测试
+        Page<ResumeSummary> result = resumeService.getResumeSummaryList(1, 10, "testuser");
+
+        // 验证结果
+        assertEquals(1, result.getRecords().size());
+        assertEquals("测试简历", result.getRecords().get(0).getName());
+        verify(resumeMapper, never()).selectPage(any(Page.class), any(QueryWrapper.class));
+    }
+
+    @Test
+    @DisplayName("测试游标分页查询简历摘要")
+    void testGetResumeSummaryListByCursor() {
+        // 准备数据
+        ResumeSummary first = new ResumeSummary();
+        first.setId(3);
+        first.setCreateTime(LocalDateTime.of(2025, 9, 16, 0, 56, 40));
+        ResumeSummary second = new ResumeSummary();
+        second.setId(2);
+        when(resumeMapper.selectSummaryList(any(QueryWrapper.class))).thenReturn(new ArrayList<>(Arrays.asList(first, second)));
+
+        // 执行测试
+        CursorPage<ResumeSummary> result = resumeService.getResumeSummaryListByCursor(null, 1, null, false);
+
+        // 验证结果
+        assertEquals(1, result.getRecords().size());
+        assertEquals(3, CursorCodec.decode(result.getNextCursor()).getId());
+        verify(resumeMapper, never()).selectList(any(QueryWrapper.class));
+    }
+
+    @Test
+    @DisplayName("测试保存简历 - 内容格式错误")
+    void testSaveResumeInvalidContent() {
+        testResume.setContent("not json");
+
+        assertThrows(BusinessException.class, () -> resumeService.saveResume(testResume));
+        verify(resumeMapper, never()).insert(any(Resume.class));
+    }
 }
@@ -0,0 +1,175 @@
+package com.resume.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.resume.entity.Resume;
+import com.resume.entity.ResumeVersion;
+import com.resume.mapper.ResumeVersionMapper;
+import com.resume.service.impl.ResumeVersionServiceImpl;
+import com.resume.vo.ResumeVersionVO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 简历历史版本测试
+ */
+@DisplayName("简历历史版本测试")
+class ResumeVersionServiceTest {
+
+    private static final String V1 = "{\"personalInfo\":{\"name\":\"张三\",\"title\":\"Java开发\"},\"skills\":[\"Java\"]}";
+    private static final String V2 = "{\"personalInfo\":{\"name\":\"张三\",\"title\":\"架构师\"},\"skills\":[\"Java\"]}";
+    private static final String V3 = "{\"personalInfo\":{\"name\":\"张三\",\"title\":\"架构师\"},\"skills\":[\"Java\",\"Go\"]}";
+
+    @Mock
+    private ResumeVersionMapper resumeVersionMapper;
+
+    @InjectMocks
+    private ResumeVersionServiceImpl resumeVersionService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(resumeVersionService, "snapshotInterval", 10);
+        ReflectionTestUtils.setField(resumeVersionService, "maxVersions", 200);
+        ReflectionTestUtils.setField(resumeVersionService, "cacheSize", 100);
+        ReflectionTestUtils.setField(resumeVersionService, "cacheTtlSeconds", 60L);
+        resumeVersionService.init();
+    }
+
+    @Test
+    @DisplayName("测试首个版本保存快照，之后只保存补丁")
+    void testRecordSnapshotThenDiff() {
+        // 准备数据
+        when(resumeVersionMapper.selectOne(any(QueryWrapper.class)))
+                .thenReturn(null)
+                .thenReturn(version(1, ResumeVersion.TYPE_SNAPSHOT, null));
+
+        // 执行测试
+        resumeVersionService.record(resume(V1));
+        resumeVersionService.record(resume(V2));
+
+        // 验证结果：上一版本内容取自缓存，不再查询补丁链
+        ArgumentCaptor<ResumeVersion> captor = ArgumentCaptor.forClass(ResumeVersion.class);
+        verify(resumeVersionMapper, times(2)).insert(captor.capture());
+        ResumeVersion first = captor.getAllValues().get(0);
+        ResumeVersion second = captor.getAllValues().get(1);
+        assertEquals(1, first.getVersionNo());
+        assertEquals(ResumeVersion.TYPE_SNAPSHOT, first.getType());
+        assertEquals(V1, first.getContent());
+        assertEquals(2, second.getVersionNo());
+        assertEquals(ResumeVersion.TYPE_DIFF, second.getType());
+        assertEquals("{\"personalInfo\":{\"title\":\"架构师\"}}", second.getContent());
+        verify(resumeVersionMapper, never()).selectList(any(QueryWrapper.class));
+    }
+
+    @Test
+    @DisplayName("测试内容未变化时不记录版本")
+    void testRecordUnchanged() {
+        when(resumeVersionMapper.selectOne(any(QueryWrapper.class)))
+                .thenReturn(null)
+                .thenReturn(version(1, ResumeVersion.TYPE_SNAPSHOT, null));
+
+        resumeVersionService.record(resume(V1));
+        resumeVersionService.record(resume(V1));
+
+        verify(resumeVersionMapper, times(1)).insert(any(ResumeVersion.class));
+    }
+
+    @Test
+    @DisplayName("测试达到快照间隔时保存快照并清理过旧版本")
+    void testRecordSnapshotInterval() {
+        // 准备数据：第5个版本按间隔应保存快照，只保留最近2个版本
+        ReflectionTestUtils.setField(resumeVersionService, "snapshotInterval", 2);
+        ReflectionTestUtils.setField(resumeVersionService, "maxVersions", 2);
+        when(resumeVersionMapper.selectOne(any(QueryWrapper.class)))
+                .thenReturn(version(4, ResumeVersion.TYPE_DIFF, null))
+                .thenReturn(version(3, ResumeVersion.TYPE_SNAPSHOT, null))
+                .thenReturn(version(3, ResumeVersion.TYPE_SNAPSHOT, null));
+        when(resumeVersionMapper.selectList(any(QueryWrapper.class))).thenReturn(Arrays.asList(
+                version(3, ResumeVersion.TYPE_SNAPSHOT, V1),
+                version(4, ResumeVersion.TYPE_DIFF, "{\"personalInfo\":{\"title\":\"架构师\"}}")));
+
+        // 执行测试
+        resumeVersionService.record(resume(V3));
+
+        // 验证结果
+        ArgumentCaptor<ResumeVersion> captor = ArgumentCaptor.forClass(ResumeVersion.class);
+        verify(resumeVersionMapper).insert(captor.capture());
+        assertEquals(5, captor.getValue().getVersionNo());
+        assertEquals(ResumeVersion.TYPE_SNAPSHOT, captor.getValue().getType());
+        assertEquals(V3, captor.getValue().getContent());
+        verify(resumeVersionMapper).delete(any(QueryWrapper.class));
+    }
+
+    @Test
+    @DisplayName("测试从最近的快照还原版本并缓存")
+    void testGetVersion() {
+        // 准备数据
+        when(resumeVersionMapper.selectOne(any(QueryWrapper.class)))
+                .thenReturn(version(3, ResumeVersion.TYPE_DIFF, null))
+                .thenReturn(version(1, ResumeVersion.TYPE_SNAPSHOT, null))
+                .thenReturn(version(3, ResumeVersion.TYPE_DIFF, null));
+        List<ResumeVersion> chain = Arrays.asList(
+                version(1, ResumeVersion.TYPE_SNAPSHOT, V1),
+                version(2, ResumeVersion.TYPE_DIFF, "{\"personalInfo\":{\"title\":\"架构师\"}}"),
+                version(3, ResumeVersion.TYPE_DIFF, "{\"skills\":[\"Java\",\"Go\"]}"));
+        when(resumeVersionMapper.selectList(any(QueryWrapper.class))).thenReturn(chain);
+
+        // 执行测试
+        ResumeVersionVO result = resumeVersionService.getVersion(1, 3);
+        ResumeVersionVO cached = resumeVersionService.getVersion(1, 3);
+
+        // 验证结果
+        assertNotNull(result);
+        assertEquals(3, result.getVersionNo());
+        assertFalse(result.isSnapshot());
+        assertEquals(V3, result.getContent());
+        assertEquals(V3, cached.getContent());
+        verify(resumeVersionMapper, times(1)).selectList(any(QueryWrapper.class));
+    }
+
+    @Test
+    @DisplayName("测试补丁链不完整时返回null")
+    void testGetVersionBrokenChain() {
+        when(resumeVersionMapper.selectOne(any(QueryWrapper.class)))
+                .thenReturn(version(3, ResumeVersion.TYPE_DIFF, null))
+                .thenReturn(version(1, ResumeVersion.TYPE_SNAPSHOT, null));
+        when(resumeVersionMapper.selectList(any(QueryWrapper.class))).thenReturn(Arrays.asList(
+                version(1, ResumeVersion.TYPE_SNAPSHOT, V1),
+                version(3, ResumeVersion.TYPE_DIFF, "{\"skills\":[\"Java\",\"Go\"]}")));
+
+        assertNull(resumeVersionService.getVersion(1, 3));
+    }
+
+    private Resume resume(String content) {
+        Resume resume = new Resume();
+        resume.setId(1);
+        resume.setName("测试简历");
+        resume.setContent(content);
+        resume.setThemeId(1);
+        return resume;
+    }
+
+    private ResumeVersion version(int versionNo, String type, String content) {
+        ResumeVersion version = new ResumeVersion();
+        version.setResumeId(1);
+        version.setVersionNo(versionNo);
+        version.setType(type);
+        version.setName("测试简历");
+        version.setThemeId(1);
+        version.setContent(content);
+        return version;
+    }
+}
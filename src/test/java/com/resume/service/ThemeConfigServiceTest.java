@@ -0,0 +1,92 @@
+package com.resume.service;
+
+import com.resume.entity.ThemeConfig;
+import com.resume.mapper.ThemeConfigMapper;
+import com.resume.service.impl.ThemeConfigServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 主题服务测试
+ */
+@DisplayName("主题服务测试")
+class ThemeConfigServiceTest {
+
+    @Mock
+    private ThemeConfigMapper themeConfigMapper;
+
+    private ThemeConfigServiceImpl themeConfigService;
+
+    private ThemeConfig blue;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        themeConfigService = new ThemeConfigServiceImpl();
+        ReflectionTestUtils.setField(themeConfigService, "baseMapper", themeConfigMapper);
+        ReflectionTestUtils.setField(themeConfigService, "ttlSeconds", 300L);
+
+        blue = theme(1, "蓝色", "#409EFF");
+        when(themeConfigMapper.selectList(any())).thenReturn(new ArrayList<>(Arrays.asList(blue)));
+    }
+
+    @Test
+    @DisplayName("测试重复读取只查询一次数据库")
+    void testSnapshotCached() {
+        List<ThemeConfig> first = themeConfigService.getAllThemes();
+        List<ThemeConfig> second = themeConfigService.getAllThemes();
+
+        assertEquals(1, first.size());
+        assertSame(first, second);
+        assertSame(blue, themeConfigService.getThemeById(1));
+        assertThrows(UnsupportedOperationException.class, () -> first.add(blue));
+        verify(themeConfigMapper, times(1)).selectList(any());
+    }
+
+    @Test
+    @DisplayName("测试修改主题后刷新快照和ETag")
+    void testUpdateRefreshesSnapshot() {
+        String etag = themeConfigService.getThemesETag();
+        ThemeConfig updated = theme(1, "深蓝", "#1F3A93");
+        when(themeConfigMapper.updateById(updated)).thenReturn(1);
+        when(themeConfigMapper.selectList(any())).thenReturn(new ArrayList<>(Arrays.asList(updated)));
+
+        assertTrue(themeConfigService.updateTheme(updated));
+
+        assertEquals("深蓝", themeConfigService.getThemeById(1).getName());
+        assertNotEquals(etag, themeConfigService.getThemesETag());
+        verify(themeConfigMapper, times(2)).selectList(any());
+    }
+
+    @Test
+    @DisplayName("测试修改失败时不刷新快照")
+    void testUpdateFailedKeepsSnapshot() {
+        String etag = themeConfigService.getThemesETag();
+        when(themeConfigMapper.updateById(any(ThemeConfig.class))).thenReturn(0);
+
+        assertFalse(themeConfigService.updateTheme(theme(9, "不存在", "#000000")));
+
+        assertEquals(etag, themeConfigService.getThemesETag());
+        verify(themeConfigMapper, times(1)).selectList(any());
+    }
+
+    private ThemeConfig theme(Integer id, String name, String color) {
+        ThemeConfig theme = new ThemeConfig();
+        theme.setId(id);
+        theme.setName(name);
+        theme.setPrimaryColor(color);
+        return theme;
+    }
+}
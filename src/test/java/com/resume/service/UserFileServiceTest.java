@@ -0,0 +1,125 @@
+package com.resume.service;
+
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.resume.entity.UserFile;
+import com.resume.mapper.UserFileMapper;
+import com.resume.service.impl.UserFileServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 用户文件服务测试
+ */
+@DisplayName("用户文件服务测试")
+class UserFileServiceTest {
+
+    private static final String OLD_URL = "http://localhost:8080/oss/blobs/aa/bb/old.pdf";
+    private static final String NEW_URL = "http://localhost:8080/oss/blobs/cc/dd/new.pdf";
+    private static final String OTHER_URL = "http://localhost:8080/oss/blobs/ee/ff/other.pdf";
+
+    @Mock
+    private UserFileMapper userFileMapper;
+
+    @Mock
+    private LocalOssService localOssService;
+
+    @Mock
+    private UserFileTextService userFileTextService;
+
+    @InjectMocks
+    private UserFileServiceImpl userFileService;
+
+    private MockMultipartFile file;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(userFileService, "ossCleanupExecutor", new SyncTaskExecutor());
+        file = new MockMultipartFile("file", "简历.pdf", "application/pdf", "new".getBytes());
+        when(localOssService.uploadFile(file, "user-files")).thenReturn(NEW_URL);
+    }
+
+    @Test
+    @DisplayName("测试替换文件 - 先写新记录再释放旧文件")
+    void testReplaceUserFile() {
+        // 准备数据
+        UserFile previous = new UserFile(2, "旧简历.pdf", "旧简历.pdf", OLD_URL, 10L, ".pdf");
+        previous.setCreateTime(LocalDateTime.of(2025, 9, 1, 0, 0));
+        when(userFileMapper.selectOne(any(QueryWrapper.class))).thenReturn(previous);
+        when(userFileMapper.update(any(UserFile.class), any(Wrapper.class))).thenReturn(1);
+
+        // 执行测试
+        UserFile result = userFileService.replaceUserFile(2, file);
+
+        // 验证结果
+        assertEquals(NEW_URL, result.getFilePath());
+        assertEquals(".pdf", result.getFileType());
+        assertEquals(previous.getCreateTime(), result.getCreateTime());
+        InOrder inOrder = inOrder(localOssService, userFileMapper);
+        inOrder.verify(localOssService).uploadFile(file, "user-files");
+        inOrder.verify(userFileMapper).update(eq(result), any(Wrapper.class));
+        inOrder.verify(localOssService).deleteFile(OLD_URL);
+        verify(userFileMapper, never()).delete(any(QueryWrapper.class));
+        verify(userFileMapper, never()).insert(any(UserFile.class));
+        verify(userFileTextService).submit(NEW_URL, false);
+    }
+
+    @Test
+    @DisplayName("测试替换文件 - 写入记录失败时保留旧文件")
+    void testReplaceUserFileUpsertFailed() {
+        UserFile previous = new UserFile(2, "旧简历.pdf", "旧简历.pdf", OLD_URL, 10L, ".pdf");
+        when(userFileMapper.selectOne(any(QueryWrapper.class))).thenReturn(previous);
+        when(userFileMapper.update(any(UserFile.class), any(Wrapper.class))).thenThrow(new RuntimeException("db down"));
+
+        assertThrows(RuntimeException.class, () -> userFileService.replaceUserFile(2, file));
+
+        verify(localOssService).deleteFile(NEW_URL);
+        verify(localOssService, never()).deleteFile(OLD_URL);
+    }
+
+    @Test
+    @DisplayName("测试替换文件 - 记录已被其他实例替换时重试并只释放实际替换的文件")
+    void testReplaceUserFileConflict() {
+        // 准备数据：第一次按旧地址更新时记录已被其他实例改为OTHER_URL
+        UserFile stale = new UserFile(2, "旧简历.pdf", "旧简历.pdf", OLD_URL, 10L, ".pdf");
+        UserFile current = new UserFile(2, "其他.pdf", "其他.pdf", OTHER_URL, 10L, ".pdf");
+        when(userFileMapper.selectOne(any(QueryWrapper.class))).thenReturn(stale, current);
+        when(userFileMapper.update(any(UserFile.class), any(Wrapper.class))).thenReturn(0, 1);
+
+        // 执行测试
+        userFileService.replaceUserFile(2, file);
+
+        // 验证结果
+        verify(userFileMapper, times(2)).update(any(UserFile.class), any(Wrapper.class));
+        verify(localOssService).deleteFile(OTHER_URL);
+        verify(localOssService, never()).deleteFile(OLD_URL);
+        verify(localOssService, never()).deleteFile(NEW_URL);
+    }
+
+    @Test
+    @DisplayName("测试删除文件 - 只释放一次")
+    void testDeleteUserFile() {
+        UserFile existing = new UserFile(2, "旧简历.pdf", "旧简历.pdf", OLD_URL, 10L, ".pdf");
+        when(userFileMapper.selectOne(any(QueryWrapper.class))).thenReturn(existing);
+        when(userFileMapper.delete(any(QueryWrapper.class))).thenReturn(1);
+
+        assertTrue(userFileService.deleteUserFile(2));
+
+        verify(localOssService, times(1)).deleteFile(OLD_URL);
+    }
+}
@@ -0,0 +1,143 @@
+package com.resume.service;
+
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.itextpdf.text.Document;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.pdf.PdfWriter;
+import com.resume.entity.UserFileText;
+import com.resume.mapper.UserFileMapper;
+import com.resume.mapper.UserFileTextMapper;
+import com.resume.service.impl.UserFileTextServiceImpl;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * 上传文件文本提取测试
+ */
+@DisplayName("上传文件文本提取测试")
+class UserFileTextServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private UserFileTextMapper userFileTextMapper;
+
+    @Mock
+    private UserFileMapper userFileMapper;
+
+    @Mock
+    private LocalOssService localOssService;
+
+    @InjectMocks
+    private UserFileTextServiceImpl userFileTextService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(userFileTextService, "fileIngestExecutor", new SyncTaskExecutor());
+        ReflectionTestUtils.setField(userFileTextService, "maxChars", 100000);
+    }
+
+    @Test
+    @DisplayName("测试提取PDF文本和页数")
+    void testExtractPdf() throws Exception {
+        // 准备数据
+        Path pdf = tempDir.resolve("resume.pdf");
+        try (OutputStream out = Files.newOutputStream(pdf)) {
+            Document document = new Document();
+            PdfWriter.getInstance(document, out);
+            document.open();
+            document.add(new Paragraph("Java Developer"));
+            document.newPage();
+            document.add(new Paragraph("Spring Boot MySQL"));
+            document.close();
+        }
+        when(localOssService.getFilePath("url-pdf")).thenReturn(pdf);
+
+        // 执行测试
+        userFileTextService.extract("url-pdf");
+
+        // 验证结果
+        UserFileText saved = captureUpdate();
+        assertEquals(UserFileText.STATUS_DONE, saved.getStatus());
+        assertEquals(2, saved.getPageCount());
+        assertTrue(saved.getContent().contains("Java Developer"));
+        assertTrue(saved.getContent().contains("Spring Boot MySQL"));
+    }
+
+    @Test
+    @DisplayName("测试提取DOCX文本并按分页符估算页数")
+    void testExtractDocx() throws Exception {
+        Path docx = tempDir.resolve("resume.docx");
+        try (XWPFDocument document = new XWPFDocument(); OutputStream out = Files.newOutputStream(docx)) {
+            document.createParagraph().createRun().setText("张三 Java开发工程师");
+            document.createParagraph().setPageBreak(true);
+            document.getParagraphs().get(1).createRun().setText("项目经历");
+            document.write(out);
+        }
+        when(localOssService.getFilePath("url-docx")).thenReturn(docx);
+
+        userFileTextService.extract("url-docx");
+
+        UserFileText saved = captureUpdate();
+        assertEquals(UserFileText.STATUS_DONE, saved.getStatus());
+        assertEquals(2, saved.getPageCount());
+        assertTrue(saved.getContent().contains("张三 Java开发工程师"));
+        assertTrue(saved.getContent().contains("项目经历"));
+    }
+
+    @Test
+    @DisplayName("测试文件损坏时记录失败原因")
+    void testExtractFailed() throws Exception {
+        Path broken = tempDir.resolve("broken.pdf");
+        Files.write(broken, "not a pdf".getBytes());
+        when(localOssService.getFilePath("url-broken")).thenReturn(broken);
+
+        userFileTextService.extract("url-broken");
+
+        UserFileText saved = captureUpdate();
+        assertEquals(UserFileText.STATUS_FAILED, saved.getStatus());
+        assertNotNull(saved.getErrorMessage());
+    }
+
+    @Test
+    @DisplayName("测试相同内容已提取时不重复提取")
+    void testSubmitSkipsDone() {
+        UserFileText done = new UserFileText();
+        done.setStatus(UserFileText.STATUS_DONE);
+        when(userFileTextMapper.insertPending(anyString())).thenReturn(0);
+        when(userFileTextMapper.selectOne(any(QueryWrapper.class))).thenReturn(done);
+
+        userFileTextService.submit("url-pdf", false);
+
+        verify(localOssService, never()).getFilePath(anyString());
+        verify(userFileTextMapper, never()).update(any(UserFileText.class), any(Wrapper.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private UserFileText captureUpdate() {
+        ArgumentCaptor<UserFileText> captor = ArgumentCaptor.forClass(UserFileText.class);
+        verify(userFileTextMapper).update(captor.capture(), any(Wrapper.class));
+        return captor.getValue();
+    }
+}
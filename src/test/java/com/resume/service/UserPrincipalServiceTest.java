@@ -0,0 +1,127 @@
+package com.resume.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.resume.dto.UserPrincipal;
+import com.resume.entity.User;
+import com.resume.mapper.UserMapper;
+import com.resume.service.impl.UserPrincipalServiceImpl;
+import com.resume.util.JwtUtil;
+import io.jsonwebtoken.impl.DefaultClaims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 用户身份解析服务测试
+ */
+@DisplayName("用户身份解析服务测试")
+class UserPrincipalServiceTest {
+
+    @Mock
+    private UserMapper userMapper;
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @InjectMocks
+    private UserPrincipalServiceImpl userPrincipalService;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(userPrincipalService, "maxSize", 100);
+        ReflectionTestUtils.setField(userPrincipalService, "ttlSeconds", 300L);
+        userPrincipalService.init();
+
+        testUser = new User();
+        testUser.setId(1);
+        testUser.setUsername("testuser");
+        testUser.setRole("user");
+    }
+
+    @Test
+    @DisplayName("测试重复解析命中缓存")
+    void testResolveCached() {
+        when(userMapper.selectOne(any(QueryWrapper.class))).thenReturn(testUser);
+
+        UserPrincipal first = userPrincipalService.resolve("testuser");
+        UserPrincipal second = userPrincipalService.resolve("testuser");
+
+        assertEquals(1, first.getUserId());
+        assertEquals("user", first.getRole());
+        assertSame(first, second);
+        verify(userMapper, times(1)).selectOne(any(QueryWrapper.class));
+    }
+
+    @Test
+    @DisplayName("测试用户不存在时不缓存")
+    void testResolveNotFound() {
+        when(userMapper.selectOne(any(QueryWrapper.class))).thenReturn(null);
+
+        assertNull(userPrincipalService.resolve("nobody"));
+        assertNull(userPrincipalService.resolve("nobody"));
+
+        verify(userMapper, times(2)).selectOne(any(QueryWrapper.class));
+    }
+
+    @Test
+    @DisplayName("测试加载期间被失效时不缓存旧值")
+    void testInvalidateDuringLoad() {
+        // 准备数据：查询数据库后、写入缓存前用户被删除
+        when(userMapper.selectOne(any(QueryWrapper.class))).thenAnswer(invocation -> {
+            userPrincipalService.invalidate("testuser");
+            return testUser;
+        });
+
+        // 执行测试
+        UserPrincipal first = userPrincipalService.resolve("testuser");
+        userPrincipalService.resolve("testuser");
+
+        // 验证结果：本次请求使用加载结果，但不写入缓存，下一次重新查询
+        assertEquals(1, first.getUserId());
+        verify(userMapper, times(2)).selectOne(any(QueryWrapper.class));
+    }
+
+    @Test
+    @DisplayName("测试按用户ID失效缓存")
+    void testInvalidateUser() {
+        when(userMapper.selectOne(any(QueryWrapper.class))).thenReturn(testUser);
+
+        userPrincipalService.resolve("testuser");
+        userPrincipalService.invalidateUser(1);
+        userPrincipalService.resolve("testuser");
+
+        verify(userMapper, times(2)).selectOne(any(QueryWrapper.class));
+    }
+
+    @Test
+    @DisplayName("测试从请求获取当前用户ID")
+    void testGetCurrentUserId() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer user-token");
+        when(jwtUtil.getClaims(request, "user-token")).thenReturn(new DefaultClaims().setSubject("testuser"));
+        when(userMapper.selectOne(any(QueryWrapper.class))).thenReturn(testUser);
+
+        assertEquals(1, userPrincipalService.getCurrentUserId(request));
+    }
+
+    @Test
+    @DisplayName("测试未登录时抛出异常")
+    void testGetCurrentUserIdWithoutToken() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        assertThrows(RuntimeException.class, () -> userPrincipalService.getCurrentUserId(request));
+        verify(userMapper, never()).selectOne(any(QueryWrapper.class));
+    }
+}
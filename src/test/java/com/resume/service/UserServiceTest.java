@@ -0,0 +1,178 @@
+package com.resume.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.resume.dto.UserQueryDTO;
+import com.resume.entity.User;
+import com.resume.exception.BusinessException;
+import com.resume.mapper.ResumeMapper;
+import com.resume.mapper.UserFileMapper;
+import com.resume.mapper.UserMapper;
+import com.resume.service.impl.UserServiceImpl;
+import com.resume.vo.UserSummaryVO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * 用户服务测试
+ */
+@DisplayName("用户服务测试")
+class UserServiceTest {
+
+    @Mock
+    private UserMapper userMapper;
+
+    @Mock
+    private ResumeMapper resumeMapper;
+
+    @Mock
+    private UserFileMapper userFileMapper;
+
+    @Mock
+    private LocalOssService localOssService;
+
+    @Mock
+    private UserPrincipalService userPrincipalService;
+
+    @Mock
+    private ResumeService resumeService;
+
+    @Mock
+    private ResumeDraftService resumeDraftService;
+
+    @Mock
+    private UserFileTextService userFileTextService;
+
+    @InjectMocks
+    private UserServiceImpl userService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(userService, "baseMapper", userMapper);
+        ReflectionTestUtils.setField(userService, "ossCleanupExecutor", new SyncTaskExecutor());
+    }
+
+    @Test
+    @DisplayName("测试级联删除用户")
+    void testDeleteUserCascade() {
+        // 准备数据
+        when(resumeMapper.selectObjs(any(QueryWrapper.class))).thenReturn(Arrays.<Object>asList(10, 11));
+        when(userFileMapper.selectObjs(any(QueryWrapper.class)))
+                .thenReturn(Collections.<Object>singletonList("http://localhost:8080/oss/user-files/a.pdf"));
+        when(userMapper.deleteBatchIds(anyCollection())).thenReturn(1);
+
+        // 执行测试
+        boolean result = userService.deleteUserCascade(2);
+
+        // 验证结果
+        assertTrue(result);
+        verify(resumeMapper, times(1)).delete(any(QueryWrapper.class));
+        verify(userFileMapper, times(1)).delete(any(QueryWrapper.class));
+        verify(userPrincipalService).invalidateUser(2);
+        verify(resumeService).evictDeleted(10);
+        verify(resumeService).evictDeleted(11);
+        verify(resumeDraftService).discard(10);
+        verify(resumeDraftService).discard(11);
+        verify(localOssService).deleteFile("http://localhost:8080/oss/user-files/a.pdf");
+        verify(userFileTextService).removeIfUnreferenced("http://localhost:8080/oss/user-files/a.pdf");
+    }
+
+    @Test
+    @DisplayName("测试批量删除用户 - 每张表只执行一次删除")
+    void testDeleteUsersCascade() {
+        // 准备数据
+        when(resumeMapper.selectObjs(any(QueryWrapper.class))).thenReturn(new ArrayList<>());
+        when(userFileMapper.selectObjs(any(QueryWrapper.class))).thenReturn(new ArrayList<>());
+        when(userMapper.deleteBatchIds(anyCollection())).thenReturn(3);
+
+        // 执行测试
+        int deleted = userService.deleteUsersCascade(Arrays.asList(2, 3, 3, null, 4));
+
+        // 验证结果
+        assertEquals(3, deleted);
+        verify(userMapper, times(1)).deleteBatchIds(Arrays.asList(2, 3, 4));
+        verify(resumeMapper, never()).delete(any(QueryWrapper.class));
+        verify(userFileMapper, times(1)).delete(any(QueryWrapper.class));
+        verify(localOssService, never()).deleteFile(any());
+    }
+
+    @Test
+    @DisplayName("测试批量删除用户 - 超过上限")
+    void testDeleteUsersCascadeTooMany() {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 1; i <= 501; i++) {
+            ids.add(i);
+        }
+
+        assertThrows(BusinessException.class, () -> userService.deleteUsersCascade(ids));
+        verify(userMapper, never()).deleteBatchIds(anyCollection());
+    }
+
+    @Test
+    @DisplayName("测试分页查询用户 - 一次分组查询统计简历数")
+    void testGetUserSummaryPage() {
+        // 准备数据
+        User user = new User();
+        user.setId(2);
+        user.setUsername("testuser");
+        user.setPassword("secret");
+        user.setRole("user");
+        User other = new User();
+        other.setId(3);
+        other.setUsername("testuser2");
+        other.setRole("user");
+        when(userMapper.selectPage(any(Page.class), any(QueryWrapper.class))).thenAnswer(invocation -> {
+            Page<User> page = invocation.getArgument(0);
+            page.setRecords(Arrays.asList(user, other));
+            page.setTotal(2);
+            return page;
+        });
+        Map<String, Object> row = new HashMap<>();
+        row.put("user_id", 2);
+        row.put("resume_count", 5L);
+        when(resumeMapper.selectMaps(any(QueryWrapper.class))).thenReturn(Collections.singletonList(row));
+        UserQueryDTO query = new UserQueryDTO();
+        query.setUsername("test");
+        query.setWithResumeCount(true);
+
+        // 执行测试
+        IPage<UserSummaryVO> result = userService.getUserSummaryPage(query);
+
+        // 验证结果
+        assertEquals(2, result.getTotal());
+        assertEquals("testuser", result.getRecords().get(0).getUsername());
+        assertEquals(5L, result.getRecords().get(0).getResumeCount());
+        assertEquals(0L, result.getRecords().get(1).getResumeCount());
+        verify(resumeMapper, times(1)).selectMaps(any(QueryWrapper.class));
+    }
+
+    @Test
+    @DisplayName("测试分页查询用户 - 不支持的排序字段")
+    void testGetUserSummaryPageInvalidSort() {
+        UserQueryDTO query = new UserQueryDTO();
+        query.setSortField("password");
+
+        assertThrows(BusinessException.class, () -> userService.getUserSummaryPage(query));
+        verify(userMapper, never()).selectPage(any(Page.class), any(QueryWrapper.class));
+    }
+}
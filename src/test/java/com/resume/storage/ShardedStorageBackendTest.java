@@ -0,0 +1,126 @@
+package com.resume.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 多卷分片存储测试
+ */
+@DisplayName("多卷分片存储测试")
+class ShardedStorageBackendTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * 模拟剩余空间不足的卷
+     */
+    private final Set<Path> fullVolumes = new HashSet<>();
+
+    private ShardedStorageBackend storageBackend;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String volumes = tempDir.resolve("v1") + "," + tempDir.resolve("v2") + "," + tempDir.resolve("v3");
+        storageBackend = new ShardedStorageBackend(volumes, tempDir.resolve("legacy").toString(), 1024) {
+            @Override
+            protected long usableSpace(Path volume) {
+                return fullVolumes.contains(volume) ? 0 : Long.MAX_VALUE;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("测试按key分布到多个卷并可读回")
+    void testStoreAcrossVolumes() throws Exception {
+        // 准备数据
+        Set<Path> used = new HashSet<>();
+
+        // 执行测试
+        for (int i = 0; i < 60; i++) {
+            String key = "blobs/" + i + "/file-" + i + ".pdf";
+            assertTrue(storageBackend.store(tempFile("content-" + i), key));
+            Path path = storageBackend.resolve(key);
+            used.add(path.getParent().getParent().getParent());
+
+            // 验证结果
+            assertEquals("content-" + i, new String(Files.readAllBytes(path)));
+            assertTrue(storageBackend.exists(key));
+        }
+        assertEquals(3, used.size());
+    }
+
+    @Test
+    @DisplayName("测试相同key只保存一份")
+    void testStoreExisting() throws Exception {
+        assertTrue(storageBackend.store(tempFile("a"), "blobs/aa/bb/a.pdf"));
+        Path second = tempFile("a");
+
+        assertFalse(storageBackend.store(second, "blobs/aa/bb/a.pdf"));
+
+        assertFalse(Files.exists(second));
+    }
+
+    @Test
+    @DisplayName("测试删除文件时一并删除预览")
+    void testDeleteSidecar() throws Exception {
+        String key = "blobs/ee/ff/e.pdf";
+        storageBackend.store(tempFile("e"), key);
+        Path sidecar = Files.write(storageBackend.resolve(key).resolveSibling("e.pdf" + StorageBackend.SIDECAR_SUFFIX), "{}".getBytes());
+
+        assertTrue(storageBackend.delete(key));
+
+        assertFalse(Files.exists(sidecar));
+    }
+
+    @Test
+    @DisplayName("测试剩余空间不足的卷被跳过")
+    void testSkipFullVolume() throws Exception {
+        String key = "blobs/cc/dd/c.pdf";
+        Path preferred = storageBackend.resolve(key);
+        Path preferredVolume = tempDir.resolve(preferred.getName(tempDir.getNameCount()).toString());
+        fullVolumes.add(preferredVolume);
+
+        storageBackend.store(tempFile("c"), key);
+
+        // 文件写入了其他卷，读取时仍能找到
+        Path stored = storageBackend.resolve(key);
+        assertFalse(stored.startsWith(preferredVolume));
+        assertEquals("c", new String(Files.readAllBytes(stored)));
+
+        assertTrue(storageBackend.delete(key));
+        assertFalse(storageBackend.exists(key));
+    }
+
+    @Test
+    @DisplayName("测试迁移前根目录中的文件仍可读取")
+    void testLegacyRoot() throws Exception {
+        Path legacy = tempDir.resolve("legacy/user-files/2025/01/01/a.pdf");
+        Files.createDirectories(legacy.getParent());
+        Files.write(legacy, "old".getBytes());
+
+        assertEquals(legacy, storageBackend.resolve("user-files/2025/01/01/a.pdf"));
+        assertEquals(4, storageBackend.roots().size());
+    }
+
+    @Test
+    @DisplayName("测试拒绝跳出根目录的路径")
+    void testRejectTraversal() {
+        assertThrows(IllegalArgumentException.class, () -> storageBackend.resolve("../secret.txt"));
+    }
+
+    private Path tempFile(String content) throws Exception {
+        Path file = storageBackend.createTempFile();
+        Files.write(file, content.getBytes());
+        return file;
+    }
+}
@@ -0,0 +1,125 @@
+package com.resume.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 文件HTTP输出工具测试
+ */
+@DisplayName("文件HTTP输出工具测试")
+class HttpFileSenderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private HttpFileSender httpFileSender;
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        httpFileSender = new HttpFileSender();
+        file = tempDir.resolve("resume.pdf");
+        Files.write(file, "0123456789".getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    @DisplayName("测试完整输出")
+    void testSendFull() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/oss/resume.pdf");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        httpFileSender.send(file, "application/pdf", "inline; filename=\"resume.pdf\"", request, response);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("0123456789", response.getContentAsString());
+        assertEquals(10, response.getContentLengthLong());
+        assertEquals("bytes", response.getHeader("Accept-Ranges"));
+        assertNotNull(response.getHeader("ETag"));
+        assertNotNull(response.getHeader("Last-Modified"));
+    }
+
+    @Test
+    @DisplayName("测试Range请求返回206")
+    void testSendRange() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/oss/resume.pdf");
+        request.addHeader("Range", "bytes=2-5");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        httpFileSender.send(file, "application/pdf", null, request, response);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("2345", response.getContentAsString());
+        assertEquals("bytes 2-5/10", response.getHeader("Content-Range"));
+
+        // 后缀区间
+        MockHttpServletRequest suffix = new MockHttpServletRequest("GET", "/oss/resume.pdf");
+        suffix.addHeader("Range", "bytes=-3");
+        MockHttpServletResponse suffixResponse = new MockHttpServletResponse();
+        httpFileSender.send(file, "application/pdf", null, suffix, suffixResponse);
+        assertEquals("789", suffixResponse.getContentAsString());
+    }
+
+    @Test
+    @DisplayName("测试超出文件范围的Range返回416")
+    void testSendRangeNotSatisfiable() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/oss/resume.pdf");
+        request.addHeader("Range", "bytes=20-30");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        httpFileSender.send(file, "application/pdf", null, request, response);
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */10", response.getHeader("Content-Range"));
+    }
+
+    @Test
+    @DisplayName("测试ETag匹配时返回304")
+    void testNotModified() throws Exception {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        httpFileSender.send(file, "application/pdf", null, new MockHttpServletRequest("GET", "/oss/resume.pdf"), first);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/oss/resume.pdf");
+        request.addHeader("If-None-Match", first.getHeader("ETag"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        httpFileSender.send(file, "application/pdf", null, request, response);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    @DisplayName("测试If-Range不匹配时返回完整文件")
+    void testIfRangeMismatch() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/oss/resume.pdf");
+        request.addHeader("Range", "bytes=2-5");
+        request.addHeader("If-Range", "\"stale\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        httpFileSender.send(file, "application/pdf", null, request, response);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("0123456789", response.getContentAsString());
+    }
+
+    @Test
+    @DisplayName("测试文件不存在返回404")
+    void testFileNotFound() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        httpFileSender.send(tempDir.resolve("missing.pdf"), "application/pdf", null,
+                new MockHttpServletRequest("GET", "/oss/missing.pdf"), response);
+
+        assertEquals(404, response.getStatus());
+    }
+}
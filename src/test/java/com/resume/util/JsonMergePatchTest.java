@@ -0,0 +1,66 @@
+package com.resume.util;
+
+import com.alibaba.fastjson.JSON;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JSON合并补丁测试
+ */
+@DisplayName("JSON合并补丁测试")
+class JsonMergePatchTest {
+
+    private static final String SOURCE = "{\"personalInfo\":{\"name\":\"张三\",\"phone\":\"13800000001\",\"title\":\"Java开发\"},"
+            + "\"skills\":[\"Java\",\"MySQL\"],\"summary\":\"五年经验\"}";
+
+    @Test
+    @DisplayName("测试只记录变化的字段")
+    void testDiff() {
+        String target = "{\"personalInfo\":{\"name\":\"张三\",\"phone\":\"13800000001\",\"title\":\"架构师\"},"
+                + "\"skills\":[\"Java\",\"MySQL\",\"Redis\"]}";
+
+        String patch = JsonMergePatch.diff(SOURCE, target);
+
+        // 嵌套对象只包含变化的字段，删除的字段为null，数组整体替换
+        assertEquals("{\"summary\":null,\"personalInfo\":{\"title\":\"架构师\"},\"skills\":[\"Java\",\"MySQL\",\"Redis\"]}", patch);
+        assertEquals(JSON.parse(target), JSON.parse(JsonMergePatch.apply(SOURCE, patch)));
+    }
+
+    @Test
+    @DisplayName("测试内容相同时补丁为空")
+    void testDiffUnchanged() {
+        String reordered = "{\"summary\":\"五年经验\",\"skills\":[\"Java\",\"MySQL\"],"
+                + "\"personalInfo\":{\"title\":\"Java开发\",\"phone\":\"13800000001\",\"name\":\"张三\"}}";
+
+        String patch = JsonMergePatch.diff(SOURCE, reordered);
+
+        assertEquals("{}", patch);
+        assertTrue(JsonMergePatch.isEmpty(patch));
+    }
+
+    @Test
+    @DisplayName("测试类型变化和新增嵌套对象")
+    void testDiffTypeChange() {
+        String source = "{\"education\":\"复旦大学\",\"extra\":{\"a\":1}}";
+        String target = "{\"education\":{\"school\":\"复旦大学\"},\"extra\":{\"a\":1,\"b\":{}},\"awards\":{\"name\":\"一等奖\"}}";
+
+        String patch = JsonMergePatch.diff(source, target);
+
+        assertEquals(JSON.parse(target), JSON.parse(JsonMergePatch.apply(source, patch)));
+    }
+
+    @Test
+    @DisplayName("测试应用RFC 7386示例补丁")
+    void testApply() {
+        String source = "{\"title\":\"Goodbye!\",\"author\":{\"givenName\":\"John\",\"familyName\":\"Doe\"},"
+                + "\"tags\":[\"example\",\"sample\"],\"content\":\"This will be unchanged\"}";
+        String patch = "{\"title\":\"Hello!\",\"phoneNumber\":\"+01-123-456-7890\",\"author\":{\"familyName\":null},\"tags\":[\"example\"]}";
+
+        String result = JsonMergePatch.apply(source, patch);
+
+        assertEquals(JSON.parse("{\"title\":\"Hello!\",\"author\":{\"givenName\":\"John\"},\"tags\":[\"example\"],"
+                + "\"content\":\"This will be unchanged\",\"phoneNumber\":\"+01-123-456-7890\"}"), JSON.parse(result));
+    }
+}
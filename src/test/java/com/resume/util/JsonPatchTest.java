@@ -0,0 +1,69 @@
+package com.resume.util;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import com.resume.exception.BusinessException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JSON补丁测试
+ */
+@DisplayName("JSON补丁测试")
+class JsonPatchTest {
+
+    private static final String DOCUMENT = "{\"personalInfo\":{\"name\":\"张三\",\"title\":\"Java开发\"},"
+            + "\"skills\":[\"Java\",\"MySQL\"],\"summary\":\"五年经验\"}";
+
+    @Test
+    @DisplayName("测试add/remove/replace/move/copy/test")
+    void testApply() {
+        // 准备数据
+        Object document = JSON.parseObject(DOCUMENT);
+        String patch = "[{\"op\":\"test\",\"path\":\"/personalInfo/name\",\"value\":\"张三\"},"
+                + "{\"op\":\"replace\",\"path\":\"/personalInfo/title\",\"value\":\"架构师\"},"
+                + "{\"op\":\"add\",\"path\":\"/skills/1\",\"value\":\"Go\"},"
+                + "{\"op\":\"add\",\"path\":\"/skills/-\",\"value\":\"Redis\"},"
+                + "{\"op\":\"remove\",\"path\":\"/skills/0\"},"
+                + "{\"op\":\"move\",\"from\":\"/summary\",\"path\":\"/personalInfo/summary\"},"
+                + "{\"op\":\"copy\",\"from\":\"/personalInfo/name\",\"path\":\"/a~1b\"}]";
+
+        // 执行测试
+        Object result = JsonPatch.apply(document, JsonPatch.parse(patch));
+
+        // 验证结果
+        assertEquals(JSON.parseObject("{\"personalInfo\":{\"name\":\"张三\",\"title\":\"架构师\",\"summary\":\"五年经验\"},"
+                + "\"skills\":[\"Go\",\"MySQL\",\"Redis\"],\"a/b\":\"张三\"}"), result);
+        // 原文档不变
+        assertEquals(JSON.parseObject(DOCUMENT), document);
+    }
+
+    @Test
+    @DisplayName("测试任一操作失败时整个补丁不生效")
+    void testApplyAtomic() {
+        JSONObject document = JSON.parseObject(DOCUMENT);
+        String patch = "[{\"op\":\"replace\",\"path\":\"/summary\",\"value\":\"新简介\"},"
+                + "{\"op\":\"test\",\"path\":\"/personalInfo/name\",\"value\":\"李四\"}]";
+
+        assertThrows(BusinessException.class, () -> JsonPatch.apply(document, JsonPatch.parse(patch)));
+        assertEquals("五年经验", document.getString("summary"));
+    }
+
+    @Test
+    @DisplayName("测试无效的路径和操作")
+    void testInvalidPatch() {
+        Object document = JSON.parseObject(DOCUMENT);
+
+        assertThrows(BusinessException.class, () -> JsonPatch.parse("{\"op\":\"add\"}"));
+        assertThrows(BusinessException.class, () -> JsonPatch.apply(document,
+                JsonPatch.parse("[{\"op\":\"remove\",\"path\":\"/education/0\"}]")));
+        assertThrows(BusinessException.class, () -> JsonPatch.apply(document,
+                JsonPatch.parse("[{\"op\":\"add\",\"path\":\"/skills/5\",\"value\":\"Go\"}]")));
+        assertThrows(BusinessException.class, () -> JsonPatch.apply(document,
+                JsonPatch.parse("[{\"op\":\"move\",\"from\":\"/personalInfo\",\"path\":\"/personalInfo/child\"}]")));
+        assertThrows(BusinessException.class, () -> JsonPatch.apply(document,
+                JsonPatch.parse("[{\"op\":\"rename\",\"path\":\"/summary\"}]")));
+    }
+}
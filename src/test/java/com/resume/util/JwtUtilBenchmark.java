@@ -0,0 +1,84 @@
+package com.resume.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT解析性能基准测试
+ * 对比每个请求三次验签（拦截器取用户名、取角色，控制器再取用户名）与Claims缓存后的路径
+ *
+ * 运行方式：mvn test-compile 后执行 main 方法
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "benchmarksecretkeyforresumemanagementsystemjwttokengeneration";
+
+    private JwtUtil jwtUtil;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 604800L);
+        ReflectionTestUtils.setField(jwtUtil, "claimsCacheMaxSize", 10000);
+        jwtUtil.init();
+        token = jwtUtil.generateToken("benchuser", "user");
+    }
+
+    /**
+     * 原有路径：每次取值都重新解析并验签
+     */
+    @Benchmark
+    public void uncachedRequest(Blackhole bh) {
+        bh.consume(parse().getSubject());
+        bh.consume(parse().get("role"));
+        bh.consume(parse().getSubject());
+    }
+
+    /**
+     * 缓存路径：请求属性 + 摘要缓存
+     */
+    @Benchmark
+    public void cachedRequest(Blackhole bh) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        Claims claims = jwtUtil.getClaims(request, token);
+        bh.consume(claims.getSubject());
+        bh.consume(claims.get("role"));
+        bh.consume(jwtUtil.getClaims(request, token).getSubject());
+    }
+
+    /**
+     * 新请求首次访问缓存（不同请求间只命中摘要缓存）
+     */
+    @Benchmark
+    public void cachedParse(Blackhole bh) {
+        bh.consume(jwtUtil.parseClaims(token).getSubject());
+    }
+
+    private Claims parse() {
+        return Jwts.parser().setSigningKey(SECRET).parseClaimsJws(token).getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtUtilBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}